@@ -1880,6 +1880,24 @@ suite = {
       "jacoco" : "exclude",
     },
 
+    "org.graalvm.compiler.truffle.benchmark" : {
+      "subDir" : "src",
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "mx:JMH_1_21",
+        "org.graalvm.compiler.microbenchmarks",
+        "org.graalvm.compiler.truffle.compiler",
+        "org.graalvm.compiler.truffle.runtime",
+        "truffle:TRUFFLE_SL",
+      ],
+      "checkstyle" : "org.graalvm.compiler.graph",
+      "javaCompliance" : "8+",
+      "annotationProcessors" : ["mx:JMH_1_21"],
+      "spotbugsIgnoresGenerated" : True,
+      "workingSets" : "Graal,Truffle,Bench",
+      "testProject" : True,
+    },
+
     "org.graalvm.compiler.truffle.common.hotspot" : {
       "subDir" : "src",
       "sourceDirs" : ["src"],
@@ -2416,9 +2434,11 @@ suite = {
       "dependencies" : [
         "org.graalvm.compiler.virtual.bench",
         "org.graalvm.compiler.microbenchmarks",
+        "org.graalvm.compiler.truffle.benchmark",
       ],
       "distDependencies" : [
         "GRAAL_TEST",
+        "truffle:TRUFFLE_SL",
       ],
       "testDistribution" : True,
       "maven": False,
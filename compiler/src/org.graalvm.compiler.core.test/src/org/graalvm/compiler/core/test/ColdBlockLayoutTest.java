@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.core.test;
+
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.DebugOptions;
+import org.graalvm.compiler.lir.ColdBlockLayoutOptimizer;
+import org.graalvm.compiler.lir.phases.PostAllocationOptimizationStage;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Assert;
+import org.junit.Test;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+/**
+ * Compiles methods with cold blocks moved to the end of the code emitting order. A frequency
+ * threshold of 1.0 is used so that nearly every block that is not a loop header or loop end is
+ * moved.
+ */
+public class ColdBlockLayoutTest extends GraalCompilerTest {
+
+    /**
+     * Same name as the counter of {@link ColdBlockLayoutOptimizer}, so their values are shared.
+     */
+    private static final CounterKey ColdBlocksMoved = DebugContext.counter("ColdBlocksMoved");
+
+    public static int exceptionSnippet(int[] array, int index) {
+        try {
+            return array[index] * 2;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    public static int branchSnippet(int[] array, int limit) {
+        int sum = 0;
+        for (int i = 0; i < array.length; i++) {
+            int value = array[i];
+            if (value > limit) {
+                sum += value * 3;
+            } else if (value < 0) {
+                sum -= value;
+            } else {
+                sum ^= value;
+            }
+        }
+        return sum;
+    }
+
+    public static long switchSnippet(int value, long a) {
+        switch (value) {
+            case 0:
+                return a;
+            case 1:
+                return a * 7;
+            case 2:
+                return a - 11;
+            default:
+                return value;
+        }
+    }
+
+    private OptionValues coldLayoutOptions() {
+        return new OptionValues(getInitialOptions(), PostAllocationOptimizationStage.Options.LIROptColdBlockLayout, true,
+                        PostAllocationOptimizationStage.Options.LIROptColdBlockFrequency, 1.0);
+    }
+
+    /**
+     * Compiles {@code snippet} and checks that the layout optimizer moved at least one block.
+     */
+    private void assertBlocksMoved(String snippet) {
+        OptionValues options = new OptionValues(coldLayoutOptions(), DebugOptions.Counters, ColdBlocksMoved.getName());
+        ResolvedJavaMethod method = getResolvedJavaMethod(snippet);
+        StructuredGraph graph = parseEager(method, AllowAssumptions.YES, options);
+        getCode(method, graph, true, false, options);
+        Assert.assertNotEquals("no cold blocks moved in " + snippet, 0, ColdBlocksMoved.getCurrentValue(graph.getDebug()));
+    }
+
+    @Test
+    public void testException() {
+        assertBlocksMoved("exceptionSnippet");
+        OptionValues options = coldLayoutOptions();
+        test(options, "exceptionSnippet", new int[]{1, 2, 3}, 1);
+        test(options, "exceptionSnippet", new int[]{1, 2, 3}, 5);
+    }
+
+    @Test
+    public void testBranches() {
+        assertBlocksMoved("branchSnippet");
+        test(coldLayoutOptions(), "branchSnippet", new int[]{1, -2, 30, -4, 5, 60, 7}, 10);
+    }
+
+    @Test
+    public void testSwitch() {
+        assertBlocksMoved("switchSnippet");
+        OptionValues options = coldLayoutOptions();
+        for (int i = 0; i < 4; i++) {
+            test(options, "switchSnippet", i, 42L);
+        }
+    }
+}
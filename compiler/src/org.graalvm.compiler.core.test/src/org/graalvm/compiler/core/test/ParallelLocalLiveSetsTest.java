@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.core.test;
+
+import org.graalvm.compiler.debug.Assertions;
+import org.graalvm.compiler.lir.alloc.lsra.LinearScanLifetimeAnalysisPhase;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compiles methods with the local live sets of the linear scan register allocator computed in
+ * parallel for every block. With assertions enabled, the allocator recomputes the local live sets
+ * sequentially and fails the compilation if they differ from the parallel result.
+ */
+public class ParallelLocalLiveSetsTest extends GraalCompilerTest {
+
+    public static int loopSnippet(int[] array, int factor) {
+        int sum = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] > 0) {
+                sum += array[i] * factor;
+            } else {
+                sum -= array[i];
+            }
+        }
+        return sum;
+    }
+
+    public static long switchSnippet(int value, long a, long b, double c) {
+        long result;
+        switch (value) {
+            case 0:
+                result = a + b;
+                break;
+            case 1:
+                result = a * b;
+                break;
+            case 2:
+                result = (long) (c * a);
+                break;
+            case 3:
+                result = a - (long) c;
+                break;
+            default:
+                result = value;
+        }
+        for (int i = 0; i < value; i++) {
+            result = result * 31 + i;
+        }
+        return result;
+    }
+
+    @Before
+    public void checkAssertions() {
+        Assert.assertTrue("the parallel live sets are compared with the sequential ones by an assertion", Assertions.assertionsEnabled());
+    }
+
+    private OptionValues parallelOptions() {
+        return new OptionValues(getInitialOptions(), LinearScanLifetimeAnalysisPhase.Options.LIROptLSRAParallelLocalLiveSetsMinBlocks, 1);
+    }
+
+    @Test
+    public void testLoop() {
+        test(parallelOptions(), "loopSnippet", new int[]{1, -2, 3, -4, 5, 6, -7}, 3);
+    }
+
+    @Test
+    public void testSwitch() {
+        for (int i = 0; i < 6; i++) {
+            test(parallelOptions(), "switchSnippet", i, 17L, 5L, 2.5D);
+        }
+    }
+}
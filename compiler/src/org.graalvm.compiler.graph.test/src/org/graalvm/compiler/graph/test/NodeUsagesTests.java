@@ -31,6 +31,9 @@ import static org.graalvm.compiler.nodeinfo.NodeCycles.CYCLES_IGNORED;
 import static org.graalvm.compiler.nodeinfo.NodeSize.SIZE_IGNORED;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
 
 import org.junit.Test;
 
@@ -453,4 +456,41 @@ public class NodeUsagesTests extends GraphTest {
 
         assertThat(def1.usages(), isNotEmpty());
     }
+
+    @Test
+    public void testUsagesAfterCompression() throws ReflectiveOperationException {
+        OptionValues options = getOptions();
+        Graph graph = new Graph(options, getDebug(options));
+        Def def0 = graph.add(new Def());
+        Use[] uses = new Use[100];
+        for (int i = 0; i < uses.length; i++) {
+            uses[i] = graph.add(new Use(def0, null, null));
+        }
+        for (int i = 3; i < uses.length; i++) {
+            uses[i].safeDelete();
+        }
+        assertTrue(arrayLength(Graph.class, "nodes", graph) > uses.length);
+        assertTrue(arrayLength(Node.class, "extraUsages", def0) > uses.length / 2);
+
+        assertTrue(graph.maybeCompress());
+
+        assertTrue(arrayLength(Graph.class, "nodes", graph) < uses.length);
+        // two usages are stored inline, only the third one is in the extra usages
+        assertEquals(1, arrayLength(Node.class, "extraUsages", def0));
+        assertEquals(4, graph.getNodeCount());
+        assertEquals(3, def0.getUsageCount());
+        for (int i = 0; i < 3; i++) {
+            assertThat(def0.usages(), contains(uses[i]));
+        }
+
+        Use use = graph.add(new Use(null, def0, null));
+        assertEquals(4, def0.getUsageCount());
+        assertThat(def0.usages(), contains(use));
+    }
+
+    private static int arrayLength(Class<?> declaringClass, String fieldName, Object receiver) throws ReflectiveOperationException {
+        Field f = declaringClass.getDeclaredField(fieldName);
+        f.setAccessible(true);
+        return ((Object[]) f.get(receiver)).length;
+    }
 }
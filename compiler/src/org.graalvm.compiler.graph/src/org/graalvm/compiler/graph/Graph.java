@@ -894,7 +894,8 @@ public class Graph {
     /**
      * If the {@linkplain Options#GraphCompressionThreshold compression threshold} is met, the list
      * of nodes is compressed such that all non-null entries precede all null entries while
-     * preserving the ordering between the nodes within the list.
+     * preserving the ordering between the nodes within the list. The space taken by deleted nodes
+     * in the list and in the usage lists of the remaining nodes is released.
      */
     public boolean maybeCompress() {
         if (debug.isDumpEnabledForMethod() || debug.isLogEnabledForMethod()) {
@@ -912,6 +913,7 @@ public class Graph {
             Node n = nodes[i];
             if (n != null) {
                 assert n.id == i;
+                n.trimUsages();
                 if (i != nextId) {
                     assert n.id > nextId;
                     n.id = nextId;
@@ -926,6 +928,9 @@ public class Graph {
             Arrays.fill(nodeModCounts, 0);
             Arrays.fill(nodeUsageModCounts, 0);
         }
+        if (nodes.length > nextId * 2 + INITIAL_NODES_SIZE) {
+            nodes = Arrays.copyOf(nodes, nextId + (nextId >> 1) + INITIAL_NODES_SIZE);
+        }
         nodesSize = nextId;
         compressions++;
         nodesDeletedBeforeLastCompression += nodesDeletedSinceLastCompression;
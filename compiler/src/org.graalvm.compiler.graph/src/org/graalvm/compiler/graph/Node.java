@@ -475,6 +475,18 @@ public abstract class Node implements Cloneable, Formattable, NodeInterface {
         }
     }
 
+    /**
+     * Releases the unused part of {@link #extraUsages} if most of it is unused, for example after
+     * many usages were removed.
+     */
+    void trimUsages() {
+        if (extraUsagesCount == 0) {
+            extraUsages = NO_NODES;
+        } else if (extraUsages.length > extraUsagesCount * 2 + 4) {
+            extraUsages = Arrays.copyOf(extraUsages, extraUsagesCount);
+        }
+    }
+
     private void movUsageFromEndTo(int destIndex) {
         if (destIndex >= INLINE_USAGE_COUNT) {
             movUsageFromEndToExtraUsages(destIndex - INLINE_USAGE_COUNT);
@@ -184,7 +184,7 @@ public final class HotSpotGraalRuntimeMBean implements DynamicMBean {
                 System.out.printf("invoke: %s%s%n", actionName, Arrays.asList(params));
             }
             Object retvalue = null;
-            if ("dumpMethod".equals(actionName)) {
+            if ("dumpMethod".equals(actionName) || "dumpCompilationEventLog".equals(actionName)) {
                 retvalue = runtime.invokeManagementAction(actionName, params);
             } else {
                 boolean found = false;
@@ -249,6 +249,9 @@ public final class HotSpotGraalRuntimeMBean implements DynamicMBean {
                         new MBeanParameterInfo("host", "java.lang.String", "The host where the IGV tool is running at"),
                         new MBeanParameterInfo("port", "int", "The port where the IGV tool is listening at"),
         }, "void", MBeanOperationInfo.ACTION));
+        opts.add(new MBeanOperationInfo("dumpCompilationEventLog", "Write the compilation event log to a file in CSV format", new MBeanParameterInfo[]{
+                        new MBeanParameterInfo("file", "java.lang.String", "The file to write"),
+        }, "void", MBeanOperationInfo.ACTION));
 
         for (HotSpotMBeanOperationProvider p : GraalServices.load(HotSpotMBeanOperationProvider.class)) {
             p.registerOperations(MBeanOperationInfo.class, opts);
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.hotspot.CompilationEventLog;
+import org.graalvm.compiler.hotspot.CompilationEventLog.Event;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompilationEventLogTest extends GraalCompilerTest {
+
+    private static Event event(int id, String failureReason) {
+        return new Event(id, "Foo.bar" + id + "()", -1, System.currentTimeMillis(), 1000L * id, 100L * id, 10 * id, 20 * id, 30 * id, failureReason,
+                        Collections.singletonMap("PhaseTime_Test", 42L));
+    }
+
+    @Test
+    public void testWrapAround() {
+        CompilationEventLog log = new CompilationEventLog(4);
+        Assert.assertTrue(log.snapshot().isEmpty());
+        for (int i = 0; i < 10; i++) {
+            log.record(event(i, null));
+        }
+        List<Event> events = log.snapshot();
+        Assert.assertEquals(4, events.size());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(6 + i, events.get(i).getCompileId());
+        }
+    }
+
+    @Test
+    public void testDump() {
+        CompilationEventLog log = new CompilationEventLog(8);
+        log.record(event(1, null));
+        log.record(event(2, "bailout: unsupported bytecode"));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        log.dump(new PrintStream(baos));
+        String[] lines = baos.toString().split(System.lineSeparator());
+        Assert.assertEquals(3, lines.length);
+        Assert.assertTrue(lines[0], lines[0].startsWith("compileId"));
+        Assert.assertTrue(lines[1], lines[1].contains("Foo.bar1()") && lines[1].contains("PhaseTime_Test=42"));
+        Assert.assertTrue(lines[2], lines[2].contains("bailout: unsupported bytecode"));
+    }
+
+    @Test
+    public void testDumpToFile() throws IOException {
+        CompilationEventLog log = new CompilationEventLog(2);
+        for (int i = 0; i < 3; i++) {
+            log.record(event(i, null));
+        }
+        Path file = Files.createTempFile("CompilationEventLogTest", ".csv");
+        try {
+            log.dump(file.toString());
+            List<String> lines = Files.readAllLines(file);
+            Assert.assertEquals(3, lines.size());
+            Assert.assertTrue(lines.get(1), lines.get(1).contains("Foo.bar1()"));
+            Assert.assertTrue(lines.get(2), lines.get(2).contains("Foo.bar2()"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
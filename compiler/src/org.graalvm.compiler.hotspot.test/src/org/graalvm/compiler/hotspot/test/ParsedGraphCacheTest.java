@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot.test;
+
+import org.graalvm.compiler.hotspot.ParsedGraphCache;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Assert;
+import org.junit.Test;
+
+import jdk.vm.ci.meta.DefaultProfilingInfo;
+import jdk.vm.ci.meta.DeoptimizationReason;
+import jdk.vm.ci.meta.JavaMethodProfile;
+import jdk.vm.ci.meta.JavaTypeProfile;
+import jdk.vm.ci.meta.ProfilingInfo;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.TriState;
+
+public class ParsedGraphCacheTest extends HotSpotGraalCompilerTest {
+
+    public static int snippet(int[] array) {
+        int sum = 0;
+        for (int i = 0; i < array.length; i++) {
+            sum += array[i] * 31 + i;
+        }
+        return sum;
+    }
+
+    public static class AssumptionBase {
+        public int value() {
+            return 1;
+        }
+    }
+
+    /**
+     * Only loaded reflectively by {@link #testStaleAssumptions} so that parsing
+     * {@link #callValue} can assume {@link AssumptionBase#value()} has a unique implementation.
+     */
+    public static class AssumptionSub extends AssumptionBase {
+        @Override
+        public int value() {
+            return 2;
+        }
+    }
+
+    public static int callValue(AssumptionBase base) {
+        return base.value();
+    }
+
+    private StructuredGraph emptyGraph(ResolvedJavaMethod method, OptionValues options) {
+        return new StructuredGraph.Builder(options, getDebugContext(options, null, method), AllowAssumptions.YES).method(method).build();
+    }
+
+    @Test
+    public void testDecodeAfterStore() {
+        ResolvedJavaMethod method = getResolvedJavaMethod("snippet");
+        OptionValues options = new OptionValues(getInitialOptions(), ParsedGraphCache.Options.UseParsedGraphCache, true);
+        ParsedGraphCache cache = new ParsedGraphCache(getTarget().arch, options);
+        ProfilingInfo profilingInfo = method.getProfilingInfo();
+
+        StructuredGraph parsed = emptyGraph(method, options);
+        Assert.assertFalse(cache.decode(parsed, profilingInfo, 0));
+        cache.withCachingPhase(getDefaultGraphBuilderSuite(), profilingInfo, 0).apply(parsed, getDefaultHighTierContext());
+
+        StructuredGraph decoded = emptyGraph(method, options);
+        Assert.assertTrue(cache.decode(decoded, profilingInfo, 0));
+        Assert.assertEquals(parsed.getNodeCount(), decoded.getNodeCount());
+        Assert.assertEquals(parsed.getMethods(), decoded.getMethods());
+    }
+
+    @Test
+    public void testMismatchAndEviction() {
+        ResolvedJavaMethod method = getResolvedJavaMethod("snippet");
+        OptionValues options = new OptionValues(getInitialOptions(), ParsedGraphCache.Options.UseParsedGraphCache, true);
+        ParsedGraphCache cache = new ParsedGraphCache(getTarget().arch, options);
+        ProfilingInfo profilingInfo = method.getProfilingInfo();
+
+        StructuredGraph parsed = emptyGraph(method, options);
+        cache.withCachingPhase(getDefaultGraphBuilderSuite(), profilingInfo, 0).apply(parsed, getDefaultHighTierContext());
+
+        // A different graph builder configuration must not reuse the cached graph.
+        Assert.assertFalse(cache.decode(emptyGraph(method, options), profilingInfo, ParsedGraphCache.RETAIN_LOCAL_VARIABLES));
+
+        // Neither must a different set of options.
+        OptionValues otherOptions = new OptionValues(options, ParsedGraphCache.Options.ParsedGraphCacheSize, 1);
+        Assert.assertFalse(cache.decode(emptyGraph(method, otherOptions), profilingInfo, 0));
+
+        cache.evict(method);
+        Assert.assertFalse(cache.decode(emptyGraph(method, options), profilingInfo, 0));
+    }
+
+    @Test
+    public void testStaleAssumptions() throws ClassNotFoundException {
+        ResolvedJavaMethod method = getResolvedJavaMethod("callValue");
+        OptionValues options = new OptionValues(getInitialOptions(), ParsedGraphCache.Options.UseParsedGraphCache, true);
+        ParsedGraphCache cache = new ParsedGraphCache(getTarget().arch, options);
+        ProfilingInfo profilingInfo = method.getProfilingInfo();
+
+        StructuredGraph parsed = emptyGraph(method, options);
+        cache.withCachingPhase(getDefaultGraphBuilderSuite(), profilingInfo, 0).apply(parsed, getDefaultHighTierContext());
+        Assert.assertFalse("devirtualizing the call must record an assumption", parsed.getAssumptions().isEmpty());
+        Assert.assertTrue(cache.decode(emptyGraph(method, options), profilingInfo, 0));
+
+        // Loading an overriding class invalidates the unique concrete method assumption.
+        Class.forName(AssumptionSub.class.getName(), true, AssumptionSub.class.getClassLoader());
+        Assert.assertFalse(cache.decode(emptyGraph(method, options), profilingInfo, 0));
+    }
+
+    /**
+     * A profile without any information that reports a deoptimization for one reason.
+     */
+    private static final class DeoptimizedProfilingInfo implements ProfilingInfo {
+        private final ProfilingInfo delegate = DefaultProfilingInfo.get(TriState.UNKNOWN);
+        private final DeoptimizationReason reason;
+
+        DeoptimizedProfilingInfo(DeoptimizationReason reason) {
+            this.reason = reason;
+        }
+
+        @Override
+        public int getCodeSize() {
+            return delegate.getCodeSize();
+        }
+
+        @Override
+        public double getBranchTakenProbability(int bci) {
+            return delegate.getBranchTakenProbability(bci);
+        }
+
+        @Override
+        public double[] getSwitchProbabilities(int bci) {
+            return delegate.getSwitchProbabilities(bci);
+        }
+
+        @Override
+        public JavaTypeProfile getTypeProfile(int bci) {
+            return delegate.getTypeProfile(bci);
+        }
+
+        @Override
+        public JavaMethodProfile getMethodProfile(int bci) {
+            return delegate.getMethodProfile(bci);
+        }
+
+        @Override
+        public TriState getExceptionSeen(int bci) {
+            return delegate.getExceptionSeen(bci);
+        }
+
+        @Override
+        public TriState getNullSeen(int bci) {
+            return delegate.getNullSeen(bci);
+        }
+
+        @Override
+        public int getExecutionCount(int bci) {
+            return delegate.getExecutionCount(bci);
+        }
+
+        @Override
+        public int getDeoptimizationCount(DeoptimizationReason r) {
+            return r == reason ? 1 : 0;
+        }
+
+        @Override
+        public boolean setCompilerIRSize(Class<?> irType, int irSize) {
+            return false;
+        }
+
+        @Override
+        public int getCompilerIRSize(Class<?> irType) {
+            return -1;
+        }
+
+        @Override
+        public boolean isMature() {
+            return delegate.isMature();
+        }
+
+        @Override
+        public void setMature() {
+        }
+    }
+
+    @Test
+    public void testProfileChange() {
+        ResolvedJavaMethod method = getResolvedJavaMethod("snippet");
+        OptionValues options = new OptionValues(getInitialOptions(), ParsedGraphCache.Options.UseParsedGraphCache, true);
+        ParsedGraphCache cache = new ParsedGraphCache(getTarget().arch, options);
+        int flags = ParsedGraphCache.USE_PROFILING_INFO;
+        ProfilingInfo oldProfile = DefaultProfilingInfo.get(TriState.UNKNOWN);
+
+        StructuredGraph parsed = emptyGraph(method, options);
+        cache.withCachingPhase(getDefaultGraphBuilderSuite(), oldProfile, flags).apply(parsed, getDefaultHighTierContext());
+        Assert.assertTrue(cache.decode(emptyGraph(method, options), oldProfile, flags));
+
+        // Other profile information than deoptimization counts and maturity is not compared.
+        Assert.assertTrue(cache.decode(emptyGraph(method, options), DefaultProfilingInfo.get(TriState.TRUE), flags));
+
+        // A graph parsed with the old profile must not be reused once the method deoptimized.
+        Assert.assertFalse(cache.decode(emptyGraph(method, options), new DeoptimizedProfilingInfo(DeoptimizationReason.BoundsCheckException), flags));
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.graalvm.compiler.debug.CSVUtil;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.MetricKey;
+import org.graalvm.compiler.debug.TTY;
+import org.graalvm.compiler.debug.TimerKey;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.options.OptionValues;
+
+/**
+ * A fixed size ring buffer of {@linkplain Event events} describing the most recent compilations.
+ * Recording an event is cheap enough to be enabled in production so that latency spikes can be
+ * correlated with the compilations that happened at the same time. The buffer can be
+ * {@linkplain #snapshot() read} or {@linkplain #dump(String) exported} at any time (e.g. with the
+ * {@code dumpCompilationEventLog} management operation) and is written to
+ * {@link Options#CompilationEventLogFile} at shutdown.
+ *
+ * Per-phase times are only available for the {@linkplain TimerKey timers} enabled with the
+ * {@code Time} or {@code Timers} options since other timers are not collected by the
+ * {@link DebugContext} of a compilation. The other fields of an {@link Event} are always recorded.
+ */
+public final class CompilationEventLog {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Number of most recent compilations for which an event is kept in the compilation " +
+                       "event log (a value of 0 disables the log).", type = OptionType.Expert)
+        public static final OptionKey<Integer> CompilationEventLogSize = new OptionKey<>(0);
+
+        @Option(help = "File to which the compilation event log is written at shutdown.", type = OptionType.Expert)
+        public static final OptionKey<String> CompilationEventLogFile = new OptionKey<>(null);
+        // @formatter:on
+    }
+
+    /**
+     * Describes a single compilation.
+     */
+    public static final class Event {
+        private final int compileId;
+        private final String method;
+        private final int entryBCI;
+        private final long startTimeMillis;
+        private final long durationNanos;
+        private final long allocatedBytes;
+        private final int bytecodeSize;
+        private final int graphNodeCount;
+        private final int codeSize;
+        private final String failureReason;
+        private final Map<String, Long> phaseTimes;
+
+        public Event(int compileId, String method, int entryBCI, long startTimeMillis, long durationNanos, long allocatedBytes, int bytecodeSize, int graphNodeCount, int codeSize, String failureReason,
+                        Map<String, Long> phaseTimes) {
+            this.compileId = compileId;
+            this.method = method;
+            this.entryBCI = entryBCI;
+            this.startTimeMillis = startTimeMillis;
+            this.durationNanos = durationNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.bytecodeSize = bytecodeSize;
+            this.graphNodeCount = graphNodeCount;
+            this.codeSize = codeSize;
+            this.failureReason = failureReason;
+            this.phaseTimes = phaseTimes;
+        }
+
+        /**
+         * Gets the HotSpot id of the compilation.
+         */
+        public int getCompileId() {
+            return compileId;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * Gets the bytecode index at which an OSR compilation was entered or -1 for a normal
+         * compilation.
+         */
+        public int getEntryBCI() {
+            return entryBCI;
+        }
+
+        /**
+         * Gets the wall clock time in milliseconds at which the compilation started.
+         */
+        public long getStartTimeMillis() {
+            return startTimeMillis;
+        }
+
+        /**
+         * Gets the time spent in compilation and code installation.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Gets the number of bytes allocated by the compiler thread during the compilation or -1
+         * if this is not supported by the platform.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * Gets the number of bytecodes compiled including inlined methods.
+         */
+        public int getBytecodeSize() {
+            return bytecodeSize;
+        }
+
+        /**
+         * Gets the number of nodes in the graph at the end of the compilation or 0 if no graph was
+         * built.
+         */
+        public int getGraphNodeCount() {
+            return graphNodeCount;
+        }
+
+        /**
+         * Gets the size of the installed code or 0 if no code was installed.
+         */
+        public int getCodeSize() {
+            return codeSize;
+        }
+
+        /**
+         * Gets the reason the compilation failed or bailed out or {@code null} if it succeeded.
+         */
+        public String getFailureReason() {
+            return failureReason;
+        }
+
+        /**
+         * Gets the time in nanoseconds recorded by each enabled timer during the compilation.
+         */
+        public Map<String, Long> getPhaseTimes() {
+            return phaseTimes;
+        }
+    }
+
+    /**
+     * An event together with its position in the sequence of all recorded events.
+     */
+    private static final class Slot {
+        final long index;
+        final Event event;
+
+        Slot(long index, Event event) {
+            this.index = index;
+            this.event = event;
+        }
+    }
+
+    private final AtomicReferenceArray<Slot> events;
+    private final AtomicLong nextIndex = new AtomicLong();
+
+    /**
+     * @param size the maximum number of events kept in the log
+     */
+    public CompilationEventLog(int size) {
+        assert size > 0;
+        this.events = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Collects the {@linkplain TimerKey timer} values recorded in {@code debug}.
+     */
+    static Map<String, Long> phaseTimes(DebugContext debug) {
+        if (!debug.areMetricsEnabled()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> times = new TreeMap<>();
+        for (Map.Entry<MetricKey, Long> e : debug.getMetricsSnapshot().entrySet()) {
+            if (e.getKey() instanceof TimerKey) {
+                TimerKey timer = (TimerKey) e.getKey();
+                times.put(timer.getName(), timer.getTimeUnit().toNanos(e.getValue()));
+            }
+        }
+        return times;
+    }
+
+    /**
+     * Adds {@code event} to this log, overwriting the oldest event if the log is full.
+     */
+    public void record(Event event) {
+        long index = nextIndex.getAndIncrement();
+        int slotIndex = (int) (index % events.length());
+        Slot slot = new Slot(index, event);
+        while (true) {
+            Slot current = events.get(slotIndex);
+            if (current != null && current.index > index) {
+                // A more recent event already wrapped around to this slot.
+                return;
+            }
+            if (events.compareAndSet(slotIndex, current, slot)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the events currently in this log ordered from oldest to most recent.
+     */
+    public List<Event> snapshot() {
+        int length = events.length();
+        long end = nextIndex.get();
+        long start = Math.max(0, end - length);
+        List<Event> result = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            Slot slot = events.get((int) (i % length));
+            // Skip slots that have been claimed but not yet written.
+            if (slot != null && slot.index == i) {
+                result.add(slot.event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the events currently in this log to {@code out} in CSV format.
+     */
+    public void dump(PrintStream out) {
+        String format = CSVUtil.buildFormatString("%s", 11);
+        CSVUtil.Escape.println(out, format, "compileId", "method", "entryBCI", "startTimeMillis", "durationNanos", "allocatedBytes", "bytecodeSize", "graphNodeCount", "codeSize",
+                        "failureReason", "phaseTimes");
+        for (Event event : snapshot()) {
+            StringBuilder phases = new StringBuilder();
+            for (Map.Entry<String, Long> e : event.phaseTimes.entrySet()) {
+                if (phases.length() != 0) {
+                    phases.append(' ');
+                }
+                phases.append(e.getKey()).append('=').append(e.getValue());
+            }
+            CSVUtil.Escape.println(out, format, event.compileId, event.method, event.entryBCI, event.startTimeMillis, event.durationNanos, event.allocatedBytes, event.bytecodeSize,
+                            event.graphNodeCount, event.codeSize, event.failureReason == null ? "" : event.failureReason, phases.toString());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the events currently in this log to {@code file} in CSV format.
+     */
+    public void dump(String file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(Paths.get(file)))) {
+            dump(out);
+        }
+    }
+
+    /**
+     * Writes this log to {@link Options#CompilationEventLogFile} if it is set.
+     */
+    void shutdown(OptionValues options) {
+        String file = Options.CompilationEventLogFile.getValue(options);
+        if (file != null) {
+            try {
+                dump(file);
+            } catch (IOException e) {
+                TTY.printf("Error writing compilation event log to %s: %s%n", file, e);
+            }
+        }
+    }
+}
@@ -47,9 +47,12 @@ import org.graalvm.compiler.debug.DebugContext.Description;
 import org.graalvm.compiler.debug.DebugDumpScope;
 import org.graalvm.compiler.debug.DebugHandlersFactory;
 import org.graalvm.compiler.debug.TimerKey;
+import org.graalvm.compiler.lir.asm.CompilationResultBuilderFactory;
+import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.options.OptionKey;
 import org.graalvm.compiler.options.OptionValues;
 import org.graalvm.compiler.printer.GraalDebugHandlersFactory;
+import org.graalvm.compiler.serviceprovider.GraalServices;
 
 import jdk.vm.ci.code.BailoutException;
 import jdk.vm.ci.code.CodeCacheProvider;
@@ -83,6 +86,11 @@ public class CompilationTask {
     final class HotSpotCompilationWrapper extends CompilationWrapper<HotSpotCompilationRequestResult> {
         CompilationResult result;
 
+        /**
+         * The number of nodes in the graph at the end of the last compilation attempt.
+         */
+        int graphNodeCount;
+
         HotSpotCompilationWrapper() {
             super(compiler.getGraalRuntime().getOutputDirectory(), compiler.getGraalRuntime().getCompilationProblemsPerAction());
         }
@@ -107,6 +115,7 @@ public class CompilationTask {
 
         @Override
         protected HotSpotCompilationRequestResult handleException(Throwable t) {
+            compiler.evictParsedGraph(getMethod());
             if (t instanceof BailoutException) {
                 BailoutException bailout = (BailoutException) t;
                 /*
@@ -166,7 +175,10 @@ public class CompilationTask {
             final CompilationPrinter printer = CompilationPrinter.begin(debug.getOptions(), compilationId, method, entryBCI);
 
             try (DebugContext.Scope s = debug.scope("Compiling", new DebugDumpScope(getIdString(), true))) {
-                result = compiler.compile(method, entryBCI, useProfilingInfo, shouldRetainLocalVariables, compilationId, debug);
+                StructuredGraph graph = compiler.createGraph(method, entryBCI, useProfilingInfo, compilationId, debug.getOptions(), debug);
+                result = compiler.compileHelper(CompilationResultBuilderFactory.Default, new CompilationResult(compilationId), graph, method, entryBCI, useProfilingInfo,
+                                shouldRetainLocalVariables, debug.getOptions());
+                graphNodeCount = graph.getNodeCount();
             } catch (Throwable e) {
                 throw debug.handle(e);
             }
@@ -329,8 +341,19 @@ public class CompilationTask {
         }
 
         HotSpotCompilationWrapper compilation = new HotSpotCompilationWrapper();
+        CompilationEventLog eventLog = graalRuntime.getCompilationEventLog();
+        long startTimeMillis = 0;
+        long startTime = 0;
+        long allocatedBytesBefore = -1;
+        if (eventLog != null) {
+            startTimeMillis = System.currentTimeMillis();
+            startTime = System.nanoTime();
+            allocatedBytesBefore = GraalServices.isThreadAllocatedMemorySupported() ? GraalServices.getCurrentThreadAllocatedBytes() : -1;
+        }
+        HotSpotCompilationRequestResult r = null;
         try (DebugCloseable a = CompilationTime.start(debug)) {
-            return compilation.run(debug);
+            r = compilation.run(debug);
+            return r;
         } finally {
             try {
                 int compiledBytecodes = 0;
@@ -345,6 +368,13 @@ public class CompilationTask {
                         InstalledCodeSize.add(debug, codeSize);
                     }
                 }
+                if (eventLog != null) {
+                    long duration = System.nanoTime() - startTime;
+                    long allocatedBytes = allocatedBytesBefore == -1 ? -1 : GraalServices.getCurrentThreadAllocatedBytes() - allocatedBytesBefore;
+                    String failureReason = r == null ? "compilation did not complete" : r.getFailureMessage();
+                    eventLog.record(new CompilationEventLog.Event(getId(), method.format("%H.%n(%p)"), entryBCI, startTimeMillis, duration, allocatedBytes, compiledBytecodes,
+                                    compilation.graphNodeCount, codeSize, failureReason, CompilationEventLog.phaseTimes(debug)));
+                }
             } catch (Throwable t) {
                 return compilation.handleException(t);
             }
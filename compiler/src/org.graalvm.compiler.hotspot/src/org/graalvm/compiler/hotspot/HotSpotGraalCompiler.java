@@ -82,6 +82,7 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
     private final HotSpotGraalRuntimeProvider graalRuntime;
     private final CompilationCounters compilationCounters;
     private final BootstrapWatchDog bootstrapWatchDog;
+    private final ParsedGraphCache parsedGraphCache;
     private List<DebugHandlersFactory> factories;
 
     HotSpotGraalCompiler(HotSpotJVMCIRuntime jvmciRuntime, HotSpotGraalRuntimeProvider graalRuntime, OptionValues options) {
@@ -90,6 +91,7 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
         // It is sufficient to have one compilation counter object per compiler object.
         this.compilationCounters = Options.CompilationCountLimit.getValue(options) > 0 ? new CompilationCounters(options) : null;
         this.bootstrapWatchDog = graalRuntime.isBootstrapping() && !DebugOptions.BootstrapInitializeOnly.getValue(options) ? BootstrapWatchDog.maybeCreate(graalRuntime) : null;
+        this.parsedGraphCache = ParsedGraphCache.Options.UseParsedGraphCache.getValue(options) ? new ParsedGraphCache(graalRuntime.getTarget().arch, options) : null;
     }
 
     public List<DebugHandlersFactory> getDebugHandlersFactories() {
@@ -167,6 +169,16 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
         return false;
     }
 
+    /**
+     * Removes any {@linkplain ParsedGraphCache cached parsed graph} for {@code method} so that the
+     * next compilation of it parses its bytecodes again.
+     */
+    void evictParsedGraph(ResolvedJavaMethod method) {
+        if (parsedGraphCache != null) {
+            parsedGraphCache.evict(method);
+        }
+    }
+
     @Override
     public boolean isCancelled() {
         return graalRuntime.isShutdown();
@@ -224,6 +236,14 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
         result.setEntryBCI(entryBCI);
         boolean shouldDebugNonSafepoints = providers.getCodeCache().shouldDebugNonSafepoints();
         PhaseSuite<HighTierContext> graphBuilderSuite = configGraphBuilderSuite(providers.getSuites().getDefaultGraphBuilderSuite(), shouldDebugNonSafepoints, shouldRetainLocalVariables, isOSR);
+        if (parsedGraphCache != null && !isOSR && graph.start().next() == null) {
+            int flags = (shouldDebugNonSafepoints ? ParsedGraphCache.TRACK_NODE_SOURCE_POSITION : 0) |
+                            (shouldRetainLocalVariables ? ParsedGraphCache.RETAIN_LOCAL_VARIABLES : 0) |
+                            (useProfilingInfo ? ParsedGraphCache.USE_PROFILING_INFO : 0);
+            if (!parsedGraphCache.decode(graph, profilingInfo, flags)) {
+                graphBuilderSuite = parsedGraphCache.withCachingPhase(graphBuilderSuite, profilingInfo, flags);
+            }
+        }
         GraalCompiler.compileGraph(graph, method, providers, backend, graphBuilderSuite, optimisticOpts, profilingInfo, suites, lirSuites, result, crbf, true);
 
         if (!isOSR && useProfilingInfo) {
@@ -146,6 +146,7 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
 
     private final DiagnosticsOutputDirectory outputDirectory;
     private final Map<ExceptionAction, Integer> compilationProblemsPerAction;
+    private final CompilationEventLog compilationEventLog;
 
     private final CompilerProfiler compilerProfiler;
 
@@ -172,6 +173,8 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
 
         outputDirectory = new DiagnosticsOutputDirectory(options);
         compilationProblemsPerAction = new EnumMap<>(ExceptionAction.class);
+        int eventLogSize = CompilationEventLog.Options.CompilationEventLogSize.getValue(options);
+        compilationEventLog = eventLogSize > 0 ? new CompilationEventLog(eventLogSize) : null;
         snippetCounterGroups = GraalOptions.SnippetCounters.getValue(options) ? new ArrayList<>() : null;
         CompilerConfiguration compilerConfiguration = compilerConfigurationFactory.createCompilerConfiguration();
         compilerConfigurationName = compilerConfigurationFactory.getName();
@@ -456,6 +459,10 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
         }
         BenchmarkCounters.shutdown(runtime(), optionsRef.get(), runtimeStartTime);
 
+        if (compilationEventLog != null) {
+            compilationEventLog.shutdown(optionsRef.get());
+        }
+
         outputDirectory.close();
 
         shutdownLibGraal();
@@ -500,6 +507,11 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
         return compilationProblemsPerAction;
     }
 
+    @Override
+    public CompilationEventLog getCompilationEventLog() {
+        return compilationEventLog;
+    }
+
     // ------- Management interface ---------
 
     private HotSpotGraalManagementRegistration management;
@@ -673,6 +685,12 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
                 Number port = param(params, 4, "port", Number.class, 4445);
                 dumpMethod(className, methodName, filter, host, port.intValue());
             }
+        } else if ("dumpCompilationEventLog".equals(actionName)) {
+            String file = param(params, 0, "file", String.class, null);
+            if (compilationEventLog == null) {
+                throw new IllegalStateException("The compilation event log is disabled (see " + CompilationEventLog.Options.CompilationEventLogSize.getName() + ")");
+            }
+            compilationEventLog.dump(file);
         }
         return null;
     }
@@ -102,6 +102,12 @@ public interface HotSpotGraalRuntimeProvider extends GraalRuntime, RuntimeProvid
      */
     Map<ExceptionAction, Integer> getCompilationProblemsPerAction();
 
+    /**
+     * Gets the log of recent compilations or {@code null} if
+     * {@link CompilationEventLog.Options#CompilationEventLogSize} is 0.
+     */
+    CompilationEventLog getCompilationEventLog();
+
     /**
      * Returns the unique compiler configuration name that is in use. Useful for users to find out
      * which configuration is in use.
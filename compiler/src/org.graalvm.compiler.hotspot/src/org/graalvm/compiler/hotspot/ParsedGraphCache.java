@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.graalvm.collections.UnmodifiableEconomicMap;
+import org.graalvm.collections.UnmodifiableMapCursor;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.nodes.EncodedGraph;
+import org.graalvm.compiler.nodes.GraphDecoder;
+import org.graalvm.compiler.nodes.GraphEncoder;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.BasePhase;
+import org.graalvm.compiler.phases.PhaseSuite;
+import org.graalvm.compiler.phases.tiers.HighTierContext;
+
+import jdk.vm.ci.code.Architecture;
+import jdk.vm.ci.meta.Assumptions;
+import jdk.vm.ci.meta.Assumptions.Assumption;
+import jdk.vm.ci.meta.Assumptions.AssumptionResult;
+import jdk.vm.ci.meta.Assumptions.ConcreteMethod;
+import jdk.vm.ci.meta.Assumptions.ConcreteSubtype;
+import jdk.vm.ci.meta.Assumptions.LeafType;
+import jdk.vm.ci.meta.DeoptimizationReason;
+import jdk.vm.ci.meta.ProfilingInfo;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.ResolvedJavaType;
+import jdk.vm.ci.meta.SpeculationLog;
+
+/**
+ * A cache of {@linkplain EncodedGraph encoded} graphs as produced by the graph builder suite.
+ * When a method is compiled again and nothing that influenced parsing has changed, the cached
+ * graph is decoded instead of re-parsing the bytecodes of the method and all methods inlined
+ * during parsing.
+ *
+ * An entry is only reused if the bytecodes of the root method and of all inlined methods, the
+ * option values and the graph builder configuration are equal to the ones used for parsing. If
+ * profiles were used while parsing, the maturity of the root profile and the deoptimization counts
+ * of the root method and of all inlined methods must be unchanged as well. Branch probabilities and
+ * type profiles are deliberately not compared: they change with almost every execution, and a graph
+ * parsed with older ones is still correct. A speculation on them that fails deoptimizes and thereby
+ * changes the deoptimization counts. Graphs that contain
+ * {@linkplain SpeculationLog.Speculation speculations} are never cached since speculations are
+ * bound to the speculation log of the compilation that created them.
+ *
+ * Only graphs whose {@linkplain Assumptions assumptions} can be checked without installing code
+ * are cached. The assumptions of an entry are checked again before it is reused, and the entry is
+ * dropped once one of them no longer holds. An entry is also
+ * {@linkplain #evict(ResolvedJavaMethod) evicted} if a compilation using it fails.
+ *
+ * The cache exists only for the lifetime of the VM since encoded graphs reference JVMCI objects.
+ * It does not prevent these objects from being reclaimed: methods are referenced weakly and
+ * encoded graphs softly.
+ */
+public final class ParsedGraphCache {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Cache the graphs produced by bytecode parsing and reuse them when a method is " +
+                       "recompiled with unchanged bytecodes, options and deoptimization profile.", type = OptionType.Expert)
+        public static final OptionKey<Boolean> UseParsedGraphCache = new OptionKey<>(false);
+
+        @Option(help = "Maximum number of methods for which a parsed graph is kept in the cache.", type = OptionType.Expert)
+        public static final OptionKey<Integer> ParsedGraphCacheSize = new OptionKey<>(1024);
+        // @formatter:on
+    }
+
+    private static final CounterKey ParsedGraphCacheHits = DebugContext.counter("ParsedGraphCacheHits");
+    private static final CounterKey ParsedGraphCacheMisses = DebugContext.counter("ParsedGraphCacheMisses");
+    private static final CounterKey ParsedGraphCacheStores = DebugContext.counter("ParsedGraphCacheStores");
+
+    /**
+     * Flag denoting that node source positions are tracked in the parsed graph.
+     */
+    public static final int TRACK_NODE_SOURCE_POSITION = 1;
+
+    /**
+     * Flag denoting that local variables are retained in the parsed graph.
+     */
+    public static final int RETAIN_LOCAL_VARIABLES = 2;
+
+    /**
+     * Flag denoting that profiling information was used while parsing.
+     */
+    public static final int USE_PROFILING_INFO = 4;
+
+    private static final class Entry {
+        final EncodedGraph encodedGraph;
+        /**
+         * The bytecodes of the root method followed by those of the
+         * {@linkplain EncodedGraph#getInlinedMethods() inlined methods}.
+         */
+        final byte[][] code;
+        final OptionValues options;
+        final int flags;
+        /**
+         * The deoptimization counts of the root method followed by those of the inlined methods, or
+         * {@code null} if no profiles were used while parsing.
+         */
+        final int[] deoptimizationCounts;
+        final boolean mature;
+
+        Entry(EncodedGraph encodedGraph, byte[][] code, OptionValues options, int flags, int[] deoptimizationCounts, boolean mature) {
+            this.encodedGraph = encodedGraph;
+            this.code = code;
+            this.options = options;
+            this.flags = flags;
+            this.deoptimizationCounts = deoptimizationCounts;
+            this.mature = mature;
+        }
+    }
+
+    /**
+     * Weakly references a method so that the cache does not keep its class from being unloaded.
+     */
+    private static final class MethodKey extends WeakReference<ResolvedJavaMethod> {
+        private final int hash;
+
+        MethodKey(ResolvedJavaMethod method) {
+            super(method);
+            this.hash = method.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof MethodKey) {
+                ResolvedJavaMethod method = get();
+                return method != null && method.equals(((MethodKey) obj).get());
+            }
+            return false;
+        }
+    }
+
+    private static final class LRUCache<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+        private final int maxCacheSize;
+
+        LRUCache(int initialCapacity, int maxCacheSize) {
+            super(initialCapacity, 0.75F, true);
+            this.maxCacheSize = maxCacheSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(java.util.Map.Entry<K, V> eldest) {
+            return size() > maxCacheSize;
+        }
+    }
+
+    private final Architecture architecture;
+    private final Map<MethodKey, SoftReference<Entry>> entries;
+
+    public ParsedGraphCache(Architecture architecture, OptionValues options) {
+        this.architecture = architecture;
+        int size = Options.ParsedGraphCacheSize.getValue(options);
+        this.entries = Collections.synchronizedMap(new LRUCache<>(Math.min(size, 64), size));
+    }
+
+    /**
+     * Decodes the cached parsed graph for the root method of {@code graph} into {@code graph} if
+     * there is a valid entry for it.
+     *
+     * @param graph an empty graph for a non-OSR compilation
+     * @param flags the graph builder configuration used for {@code graph}
+     * @return {@code true} if {@code graph} was filled from the cache, {@code false} if it still
+     *         needs to be parsed
+     */
+    public boolean decode(StructuredGraph graph, ProfilingInfo profilingInfo, int flags) {
+        assert graph.start().next() == null : "graph must be empty";
+        DebugContext debug = graph.getDebug();
+        ResolvedJavaMethod method = graph.method();
+        MethodKey key = new MethodKey(method);
+        SoftReference<Entry> ref = entries.get(key);
+        Entry entry = ref == null ? null : ref.get();
+        if (entry == null || !isValid(entry, graph, profilingInfo, flags)) {
+            if (ref != null) {
+                entries.remove(key);
+            }
+            ParsedGraphCacheMisses.increment(debug);
+            return false;
+        }
+        EncodedGraph encodedGraph = entry.encodedGraph;
+        Assumptions assumptions = encodedGraph.getAssumptions();
+        if (assumptions != null && !assumptions.isEmpty()) {
+            if (graph.getAssumptions() == null) {
+                ParsedGraphCacheMisses.increment(debug);
+                return false;
+            }
+            if (!stillHold(assumptions)) {
+                entries.remove(key);
+                ParsedGraphCacheMisses.increment(debug);
+                return false;
+            }
+            graph.getAssumptions().record(assumptions);
+        }
+        new GraphDecoder(architecture, graph).decode(encodedGraph);
+        for (ResolvedJavaMethod inlined : encodedGraph.getInlinedMethods()) {
+            graph.recordMethod(inlined);
+        }
+        if (encodedGraph.hasUnsafeAccess()) {
+            graph.markUnsafeAccess();
+        }
+        ParsedGraphCacheHits.increment(debug);
+        debug.dump(DebugContext.BASIC_LEVEL, graph, "Decoded from parsed graph cache");
+        return true;
+    }
+
+    /**
+     * Appends a phase to {@code graphBuilderSuite} that stores the parsed graph in this cache.
+     */
+    public PhaseSuite<HighTierContext> withCachingPhase(PhaseSuite<HighTierContext> graphBuilderSuite, ProfilingInfo profilingInfo, int flags) {
+        PhaseSuite<HighTierContext> newGbs = graphBuilderSuite.copy();
+        newGbs.appendPhase(new BasePhase<HighTierContext>() {
+            @Override
+            protected void run(StructuredGraph graph, HighTierContext context) {
+                store(graph, profilingInfo, flags);
+            }
+
+            @Override
+            protected CharSequence getName() {
+                return "StoreParsedGraph";
+            }
+        });
+        return newGbs;
+    }
+
+    /**
+     * Removes the cached graph for {@code method}, e.g. because a compilation based on it failed.
+     */
+    public void evict(ResolvedJavaMethod method) {
+        entries.remove(new MethodKey(method));
+    }
+
+    private void store(StructuredGraph graph, ProfilingInfo profilingInfo, int flags) {
+        GraphEncoder encoder = new GraphEncoder(architecture, graph.getDebug());
+        encoder.prepare(graph);
+        encoder.finishPrepare();
+        int startOffset = encoder.encode(graph);
+        for (Object object : encoder.getObjects()) {
+            if (object instanceof SpeculationLog.Speculation && !SpeculationLog.NO_SPECULATION.equals(object)) {
+                return;
+            }
+        }
+        /*
+         * The assumptions and inlined methods of the graph continue to grow during the remaining
+         * compilation so they must be copied at this point.
+         */
+        Assumptions assumptions = null;
+        if (graph.getAssumptions() != null) {
+            if (!canRecheck(graph.getAssumptions())) {
+                return;
+            }
+            assumptions = new Assumptions();
+            assumptions.record(graph.getAssumptions());
+        }
+        EncodedGraph encodedGraph = new EncodedGraph(encoder.getEncoding(), startOffset, encoder.getObjects(), encoder.getNodeClasses(), assumptions, new ArrayList<>(graph.getMethods()),
+                        null, graph.hasUnsafeAccess(), graph.trackNodeSourcePosition());
+        ResolvedJavaMethod method = graph.method();
+        boolean useProfiles = (flags & USE_PROFILING_INFO) != 0;
+        Entry entry = new Entry(encodedGraph, code(method, encodedGraph), graph.getOptions(), flags, useProfiles ? deoptimizationCounts(profilingInfo, encodedGraph) : null,
+                        useProfiles && profilingInfo.isMature());
+        entries.put(new MethodKey(method), new SoftReference<>(entry));
+        ParsedGraphCacheStores.increment(graph.getDebug());
+    }
+
+    private static boolean isValid(Entry entry, StructuredGraph graph, ProfilingInfo profilingInfo, int flags) {
+        if (entry.flags != flags || !sameOptions(entry.options, graph.getOptions()) || !sameCode(entry.code, graph.method(), entry.encodedGraph)) {
+            return false;
+        }
+        if ((flags & USE_PROFILING_INFO) == 0) {
+            return true;
+        }
+        return entry.mature == profilingInfo.isMature() && Arrays.equals(entry.deoptimizationCounts, deoptimizationCounts(profilingInfo, entry.encodedGraph));
+    }
+
+    private static boolean canRecheck(Assumptions assumptions) {
+        for (Assumption a : assumptions) {
+            if (!(a instanceof ConcreteMethod || a instanceof ConcreteSubtype || a instanceof LeafType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if the assumptions made while parsing a cached graph are still valid, e.g. that
+     * no class was loaded in the meantime that overrides a method assumed to be unique.
+     */
+    private static boolean stillHold(Assumptions assumptions) {
+        for (Assumption a : assumptions) {
+            if (a instanceof ConcreteMethod) {
+                ConcreteMethod cm = (ConcreteMethod) a;
+                AssumptionResult<ResolvedJavaMethod> result = cm.context.findUniqueConcreteMethod(cm.method);
+                if (result == null || !cm.impl.equals(result.getResult())) {
+                    return false;
+                }
+            } else if (a instanceof ConcreteSubtype) {
+                ConcreteSubtype cs = (ConcreteSubtype) a;
+                AssumptionResult<ResolvedJavaType> result = cs.context.findLeafConcreteSubtype();
+                if (result == null || !cs.subtype.equals(result.getResult())) {
+                    return false;
+                }
+            } else if (a instanceof LeafType) {
+                LeafType lt = (LeafType) a;
+                AssumptionResult<ResolvedJavaType> result = lt.context.findLeafConcreteSubtype();
+                if (result == null || !lt.context.equals(result.getResult())) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[][] code(ResolvedJavaMethod method, EncodedGraph encodedGraph) {
+        List<ResolvedJavaMethod> inlinedMethods = encodedGraph.getInlinedMethods();
+        byte[][] code = new byte[1 + inlinedMethods.size()][];
+        code[0] = method.getCode();
+        for (int i = 0; i < inlinedMethods.size(); i++) {
+            code[i + 1] = inlinedMethods.get(i).getCode();
+        }
+        return code;
+    }
+
+    private static boolean sameCode(byte[][] code, ResolvedJavaMethod method, EncodedGraph encodedGraph) {
+        List<ResolvedJavaMethod> inlinedMethods = encodedGraph.getInlinedMethods();
+        if (!Arrays.equals(code[0], method.getCode())) {
+            return false;
+        }
+        for (int i = 0; i < inlinedMethods.size(); i++) {
+            if (!Arrays.equals(code[i + 1], inlinedMethods.get(i).getCode())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameOptions(OptionValues cached, OptionValues current) {
+        if (cached == current) {
+            return true;
+        }
+        UnmodifiableEconomicMap<OptionKey<?>, Object> cachedMap = cached.getMap();
+        UnmodifiableEconomicMap<OptionKey<?>, Object> currentMap = current.getMap();
+        if (cachedMap.size() != currentMap.size()) {
+            return false;
+        }
+        UnmodifiableMapCursor<OptionKey<?>, Object> cursor = cachedMap.getEntries();
+        while (cursor.advance()) {
+            if (!currentMap.containsKey(cursor.getKey()) || !Objects.equals(cursor.getValue(), currentMap.get(cursor.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] deoptimizationCounts(ProfilingInfo profilingInfo, EncodedGraph encodedGraph) {
+        List<ResolvedJavaMethod> inlinedMethods = encodedGraph.getInlinedMethods();
+        DeoptimizationReason[] reasons = DeoptimizationReason.values();
+        int[] counts = new int[(1 + inlinedMethods.size()) * reasons.length];
+        int index = 0;
+        for (DeoptimizationReason reason : reasons) {
+            counts[index++] = profilingInfo.getDeoptimizationCount(reason);
+        }
+        for (ResolvedJavaMethod inlined : inlinedMethods) {
+            ProfilingInfo inlinedProfile = inlined.getProfilingInfo();
+            for (DeoptimizationReason reason : reasons) {
+                counts[index++] = inlinedProfile.getDeoptimizationCount(reason);
+            }
+        }
+        return counts;
+    }
+}
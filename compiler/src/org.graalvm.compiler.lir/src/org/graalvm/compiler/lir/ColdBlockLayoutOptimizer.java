@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.lir;
+
+import static org.graalvm.compiler.lir.LIR.verifyBlocks;
+
+import org.graalvm.compiler.core.common.cfg.AbstractBlockBase;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.lir.gen.LIRGenerationResult;
+import org.graalvm.compiler.lir.phases.PostAllocationOptimizationPhase;
+import org.graalvm.compiler.lir.phases.PostAllocationOptimizationStage;
+
+import jdk.vm.ci.code.TargetDescription;
+
+/**
+ * Moves cold blocks to the end of the {@linkplain LIR#codeEmittingOrder() code emitting order} so
+ * that the hot part of a method is emitted contiguously. A block is considered cold if its
+ * {@linkplain AbstractBlockBase#getRelativeFrequency() relative frequency} is below
+ * {@link PostAllocationOptimizationStage.Options#LIROptColdBlockFrequency} or if it is an
+ * {@linkplain AbstractBlockBase#isExceptionEntry() exception handler}. The start block, loop
+ * headers and loop ends are never moved so that the loop layout computed by
+ * {@code ComputeBlockOrder} is preserved. The relative order of the hot and of the cold blocks is
+ * kept.
+ *
+ * Moving blocks is safe since the branch emitted at the end of a block only falls through if its
+ * target is the next block in the final order.
+ */
+public final class ColdBlockLayoutOptimizer extends PostAllocationOptimizationPhase {
+
+    private static final CounterKey BLOCKS_MOVED = DebugContext.counter("ColdBlocksMoved");
+
+    @Override
+    protected void run(TargetDescription target, LIRGenerationResult lirGenRes, PostAllocationOptimizationContext context) {
+        LIR lir = lirGenRes.getLIR();
+        double threshold = PostAllocationOptimizationStage.Options.LIROptColdBlockFrequency.getValue(lir.getOptions());
+        moveColdBlocks(lir, lir.codeEmittingOrder(), threshold);
+    }
+
+    private static void moveColdBlocks(LIR lir, AbstractBlockBase<?>[] blocks, double threshold) {
+        assert verifyBlocks(lir, blocks);
+        AbstractBlockBase<?>[] cold = new AbstractBlockBase<?>[blocks.length];
+        int coldCount = 0;
+        int hotCount = 0;
+        for (int i = 0; i < blocks.length; i++) {
+            AbstractBlockBase<?> block = blocks[i];
+            if (i > 0 && isCold(block, threshold)) {
+                cold[coldCount++] = block;
+            } else {
+                blocks[hotCount++] = block;
+            }
+        }
+        if (coldCount == 0) {
+            return;
+        }
+        System.arraycopy(cold, 0, blocks, hotCount, coldCount);
+        BLOCKS_MOVED.add(lir.getDebug(), coldCount);
+        assert verifyBlocks(lir, blocks);
+    }
+
+    private static boolean isCold(AbstractBlockBase<?> block, double threshold) {
+        if (block == null || block.isLoopHeader() || block.isLoopEnd()) {
+            return false;
+        }
+        return block.isExceptionEntry() || block.getRelativeFrequency() < threshold;
+    }
+}
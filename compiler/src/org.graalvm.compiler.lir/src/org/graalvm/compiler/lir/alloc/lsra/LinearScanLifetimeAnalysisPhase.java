@@ -36,6 +36,10 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import org.graalvm.collections.EconomicSet;
 import org.graalvm.collections.Equivalence;
@@ -62,6 +66,9 @@ import org.graalvm.compiler.lir.alloc.lsra.LinearScan.BlockData;
 import org.graalvm.compiler.lir.gen.LIRGenerationResult;
 import org.graalvm.compiler.lir.phases.AllocationPhase.AllocationContext;
 import org.graalvm.compiler.lir.util.IndexedValueMap;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
 
 import jdk.vm.ci.code.Register;
 import jdk.vm.ci.code.RegisterArray;
@@ -75,6 +82,19 @@ import jdk.vm.ci.meta.ValueKind;
 
 public class LinearScanLifetimeAnalysisPhase extends LinearScanAllocationPhase {
 
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Minimum number of blocks for which the local live sets are computed in parallel (0 = never).", type = OptionType.Expert)
+        public static final OptionKey<Integer> LIROptLSRAParallelLocalLiveSetsMinBlocks = new OptionKey<>(0);
+        // @formatter:on
+    }
+
+    /**
+     * Pool for computing local live sets in parallel. It is owned by the compiler instead of using
+     * the common pool so that compilations neither compete with nor wait for application tasks.
+     */
+    private static volatile ForkJoinPool liveSetsPool;
+
     protected final LinearScan allocator;
     protected final DebugContext debug;
 
@@ -157,7 +177,6 @@ public class LinearScanLifetimeAnalysisPhase extends LinearScanAllocationPhase {
      * Computes local live sets (i.e. {@link BlockData#liveGen} and {@link BlockData#liveKill})
      * separately for each block.
      */
-    @SuppressWarnings("try")
     void computeLocalLiveSets() {
         int liveSize = allocator.liveSetSize();
         int variables = allocator.operandSize();
@@ -173,102 +192,219 @@ public class LinearScanLifetimeAnalysisPhase extends LinearScanAllocationPhase {
         }
 
         try {
-            final BitSet liveGenScratch = new BitSet(liveSize);
-            final BitSet liveKillScratch = new BitSet(liveSize);
-            // iterate all blocks
-            for (final AbstractBlockBase<?> block : allocator.sortedBlocks()) {
-                try (Indent indent = debug.logAndIndent("compute local live sets for block %s", block)) {
+            AbstractBlockBase<?>[] blocks = allocator.sortedBlocks();
+            int minBlocks = Options.LIROptLSRAParallelLocalLiveSetsMinBlocks.getValue(allocator.getOptions());
+            if (minBlocks > 0 && blocks.length >= minBlocks && !debug.isLogEnabled() && !allocator.detailedAsserts) {
+                computeLocalLiveSetsInParallel(blocks, liveSize);
+            } else {
+                final BitSet liveGenScratch = new BitSet(liveSize);
+                final BitSet liveKillScratch = new BitSet(liveSize);
+                final BitSet loopOperands = new BitSet();
+                // iterate all blocks
+                for (final AbstractBlockBase<?> block : blocks) {
+                    computeLocalLiveSets(block, liveGenScratch, liveKillScratch, loopOperands);
+                    storeLocalLiveSets(block, liveGenScratch, liveKillScratch);
+                    recordIntervalInLoop(intervalInLoop, block, loopOperands);
+                }
+            }
+        } catch (OutOfMemoryError oom) {
+            throw new PermanentBailoutException(oom, "Out-of-memory during live set allocation of size %d", liveSize);
+        }
+    }
 
-                    liveGenScratch.clear();
-                    liveKillScratch.clear();
+    private static ForkJoinPool getLiveSetsPool() {
+        ForkJoinPool pool = liveSetsPool;
+        if (pool == null) {
+            synchronized (LinearScanLifetimeAnalysisPhase.class) {
+                pool = liveSetsPool;
+                if (pool == null) {
+                    int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+                    pool = new ForkJoinPool(parallelism, p -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                        thread.setName("LSRALiveSetsWorker-" + thread.getPoolIndex());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, null, false);
+                    liveSetsPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
 
-                    ArrayList<LIRInstruction> instructions = allocator.getLIR().getLIRforBlock(block);
-                    int numInst = instructions.size();
+    /**
+     * Computes the local live sets of disjoint ranges of {@code blocks} in parallel. The compiler
+     * thread computes the first range itself and the other ranges are computed by the
+     * {@linkplain #getLiveSetsPool() live sets pool}. The only state shared between blocks is
+     * {@link #intervalInLoop}, which is filled in block order after all ranges are done so that
+     * the result is the same as for the sequential computation.
+     */
+    private void computeLocalLiveSetsInParallel(AbstractBlockBase<?>[] blocks, int liveSize) {
+        ForkJoinPool pool = getLiveSetsPool();
+        BitSet[] loopOperands = new BitSet[blocks.length];
+        int ranges = Math.min(blocks.length, (pool.getParallelism() + 1) * 4);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(ranges);
+        for (int i = 1; i < ranges; i++) {
+            int from = (int) ((long) blocks.length * i / ranges);
+            int to = (int) ((long) blocks.length * (i + 1) / ranges);
+            tasks.add(pool.submit(() -> computeLocalLiveSetsRange(blocks, from, to, liveSize, loopOperands)));
+        }
+        computeLocalLiveSetsRange(blocks, 0, blocks.length / ranges, liveSize, loopOperands);
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        for (int i = 0; i < blocks.length; i++) {
+            recordIntervalInLoop(intervalInLoop, blocks[i], loopOperands[i]);
+        }
+        assert verifyLocalLiveSets(blocks, liveSize);
+    }
 
-                    ValueConsumer useConsumer = (operand, mode, flags) -> {
-                        if (isVariable(operand)) {
-                            int operandNum = getOperandNumber(operand);
-                            if (!liveKillScratch.get(operandNum)) {
-                                liveGenScratch.set(operandNum);
-                                if (debug.isLogEnabled()) {
-                                    debug.log("liveGen for operand %d(%s)", operandNum, operand);
-                                }
-                            }
-                            if (block.getLoop() != null) {
-                                intervalInLoop.setBit(operandNum, block.getLoop().getIndex());
-                            }
-                        }
+    private void computeLocalLiveSetsRange(AbstractBlockBase<?>[] blocks, int from, int to, int liveSize, BitSet[] loopOperands) {
+        BitSet liveGenScratch = new BitSet(liveSize);
+        BitSet liveKillScratch = new BitSet(liveSize);
+        for (int j = from; j < to; j++) {
+            loopOperands[j] = new BitSet();
+            computeLocalLiveSets(blocks[j], liveGenScratch, liveKillScratch, loopOperands[j]);
+            storeLocalLiveSets(blocks[j], liveGenScratch, liveKillScratch);
+        }
+    }
 
-                        if (allocator.detailedAsserts) {
-                            verifyInput(block, liveKillScratch, operand);
-                        }
-                    };
-                    ValueConsumer stateConsumer = (operand, mode, flags) -> {
-                        if (LinearScan.isVariableOrRegister(operand)) {
-                            int operandNum = getOperandNumber(operand);
-                            if (!liveKillScratch.get(operandNum)) {
-                                liveGenScratch.set(operandNum);
-                                if (debug.isLogEnabled()) {
-                                    debug.log("liveGen in state for operand %d(%s)", operandNum, operand);
-                                }
-                            }
-                        }
-                    };
-                    ValueConsumer defConsumer = (operand, mode, flags) -> {
-                        if (isVariable(operand)) {
-                            int varNum = getOperandNumber(operand);
-                            liveKillScratch.set(varNum);
-                            if (debug.isLogEnabled()) {
-                                debug.log("liveKill for operand %d(%s)", varNum, operand);
-                            }
-                            if (block.getLoop() != null) {
-                                intervalInLoop.setBit(varNum, block.getLoop().getIndex());
-                            }
-                        }
+    /**
+     * Checks that the local live sets computed in parallel are the same as the ones computed
+     * sequentially.
+     */
+    private boolean verifyLocalLiveSets(AbstractBlockBase<?>[] blocks, int liveSize) {
+        BitSet liveGenScratch = new BitSet(liveSize);
+        BitSet liveKillScratch = new BitSet(liveSize);
+        BitSet loopOperands = new BitSet();
+        BitMap2D expectedIntervalInLoop = new BitMap2D(allocator.operandSize(), allocator.numLoops());
+        for (AbstractBlockBase<?> block : blocks) {
+            computeLocalLiveSets(block, liveGenScratch, liveKillScratch, loopOperands);
+            BlockData blockSets = allocator.getBlockData(block);
+            assert liveGenScratch.equals(blockSets.liveGen) : "liveGen of " + block + " differs: " + liveGenScratch + " != " + blockSets.liveGen;
+            assert liveKillScratch.equals(blockSets.liveKill) : "liveKill of " + block + " differs: " + liveKillScratch + " != " + blockSets.liveKill;
+            recordIntervalInLoop(expectedIntervalInLoop, block, loopOperands);
+        }
+        for (int operandNum = 0; operandNum < allocator.operandSize(); operandNum++) {
+            for (int loopIndex = 0; loopIndex < allocator.numLoops(); loopIndex++) {
+                assert expectedIntervalInLoop.at(operandNum, loopIndex) == intervalInLoop.at(operandNum, loopIndex) : "intervalInLoop differs for operand " + operandNum + " in loop " + loopIndex;
+            }
+        }
+        return true;
+    }
 
-                        if (allocator.detailedAsserts) {
-                            /*
-                             * Fixed intervals are never live at block boundaries, so they need not
-                             * be processed in live sets. Process them only in debug mode so that
-                             * this can be checked
-                             */
-                            verifyTemp(liveKillScratch, operand);
-                        }
-                    };
+    private static void recordIntervalInLoop(BitMap2D map, AbstractBlockBase<?> block, BitSet loopOperands) {
+        if (block.getLoop() != null) {
+            int loopIndex = block.getLoop().getIndex();
+            for (int operandNum = loopOperands.nextSetBit(0); operandNum >= 0; operandNum = loopOperands.nextSetBit(operandNum + 1)) {
+                map.setBit(operandNum, loopIndex);
+            }
+        }
+    }
 
-                    // iterate all instructions of the block
-                    for (int j = 0; j < numInst; j++) {
-                        final LIRInstruction op = instructions.get(j);
+    /**
+     * Computes the local live sets of {@code block} into the scratch sets. No shared state is
+     * modified so this can be done for different blocks concurrently.
+     *
+     * @param loopOperands receives the variables used or defined in {@code block} if it is part of
+     *            a loop
+     */
+    @SuppressWarnings("try")
+    private void computeLocalLiveSets(AbstractBlockBase<?> block, BitSet liveGenScratch, BitSet liveKillScratch, BitSet loopOperands) {
+        try (Indent indent = debug.logAndIndent("compute local live sets for block %s", block)) {
 
-                        try (Indent indent2 = debug.logAndIndent("handle op %d: %s", op.id(), op)) {
-                            op.visitEachInput(useConsumer);
-                            op.visitEachAlive(useConsumer);
-                            /*
-                             * Add uses of live locals from interpreter's point of view for proper
-                             * debug information generation.
-                             */
-                            op.visitEachState(stateConsumer);
-                            op.visitEachTemp(defConsumer);
-                            op.visitEachOutput(defConsumer);
-                        }
-                    } // end of instruction iteration
+            liveGenScratch.clear();
+            liveKillScratch.clear();
+            loopOperands.clear();
 
-                    BlockData blockSets = allocator.getBlockData(block);
-                    blockSets.liveGen = trimClone(liveGenScratch);
-                    blockSets.liveKill = trimClone(liveKillScratch);
-                    // sticky size, will get non-sticky in computeGlobalLiveSets
-                    blockSets.liveIn = new BitSet(0);
-                    blockSets.liveOut = new BitSet(0);
+            ArrayList<LIRInstruction> instructions = allocator.getLIR().getLIRforBlock(block);
+            int numInst = instructions.size();
+
+            ValueConsumer useConsumer = (operand, mode, flags) -> {
+                if (isVariable(operand)) {
+                    int operandNum = getOperandNumber(operand);
+                    if (!liveKillScratch.get(operandNum)) {
+                        liveGenScratch.set(operandNum);
+                        if (debug.isLogEnabled()) {
+                            debug.log("liveGen for operand %d(%s)", operandNum, operand);
+                        }
+                    }
+                    if (block.getLoop() != null) {
+                        loopOperands.set(operandNum);
+                    }
+                }
 
+                if (allocator.detailedAsserts) {
+                    verifyInput(block, liveKillScratch, operand);
+                }
+            };
+            ValueConsumer stateConsumer = (operand, mode, flags) -> {
+                if (LinearScan.isVariableOrRegister(operand)) {
+                    int operandNum = getOperandNumber(operand);
+                    if (!liveKillScratch.get(operandNum)) {
+                        liveGenScratch.set(operandNum);
+                        if (debug.isLogEnabled()) {
+                            debug.log("liveGen in state for operand %d(%s)", operandNum, operand);
+                        }
+                    }
+                }
+            };
+            ValueConsumer defConsumer = (operand, mode, flags) -> {
+                if (isVariable(operand)) {
+                    int varNum = getOperandNumber(operand);
+                    liveKillScratch.set(varNum);
                     if (debug.isLogEnabled()) {
-                        debug.log("liveGen  B%d %s", block.getId(), blockSets.liveGen);
-                        debug.log("liveKill B%d %s", block.getId(), blockSets.liveKill);
+                        debug.log("liveKill for operand %d(%s)", varNum, operand);
                     }
+                    if (block.getLoop() != null) {
+                        loopOperands.set(varNum);
+                    }
+                }
 
+                if (allocator.detailedAsserts) {
+                    /*
+                     * Fixed intervals are never live at block boundaries, so they need not be
+                     * processed in live sets. Process them only in debug mode so that this can be
+                     * checked
+                     */
+                    verifyTemp(liveKillScratch, operand);
                 }
-            } // end of block iteration
-        } catch (OutOfMemoryError oom) {
-            throw new PermanentBailoutException(oom, "Out-of-memory during live set allocation of size %d", liveSize);
+            };
+
+            // iterate all instructions of the block
+            for (int j = 0; j < numInst; j++) {
+                final LIRInstruction op = instructions.get(j);
+
+                try (Indent indent2 = debug.logAndIndent("handle op %d: %s", op.id(), op)) {
+                    op.visitEachInput(useConsumer);
+                    op.visitEachAlive(useConsumer);
+                    /*
+                     * Add uses of live locals from interpreter's point of view for proper debug
+                     * information generation.
+                     */
+                    op.visitEachState(stateConsumer);
+                    op.visitEachTemp(defConsumer);
+                    op.visitEachOutput(defConsumer);
+                }
+            } // end of instruction iteration
+        }
+    }
+
+    /**
+     * Stores the local live sets of {@code block}. Only the {@link BlockData} of {@code block} is
+     * modified.
+     */
+    private void storeLocalLiveSets(AbstractBlockBase<?> block, BitSet liveGenScratch, BitSet liveKillScratch) {
+        BlockData blockSets = allocator.getBlockData(block);
+        blockSets.liveGen = trimClone(liveGenScratch);
+        blockSets.liveKill = trimClone(liveKillScratch);
+        // sticky size, will get non-sticky in computeGlobalLiveSets
+        blockSets.liveIn = new BitSet(0);
+        blockSets.liveOut = new BitSet(0);
+
+        if (debug.isLogEnabled()) {
+            debug.log("liveGen  B%d %s", block.getId(), blockSets.liveGen);
+            debug.log("liveKill B%d %s", block.getId(), blockSets.liveKill);
         }
     }
 
@@ -26,6 +26,7 @@ package org.graalvm.compiler.lir.phases;
 
 import static org.graalvm.compiler.lir.phases.LIRPhase.Options.LIROptimization;
 
+import org.graalvm.compiler.lir.ColdBlockLayoutOptimizer;
 import org.graalvm.compiler.lir.ControlFlowOptimizer;
 import org.graalvm.compiler.lir.EdgeMoveOptimizer;
 import org.graalvm.compiler.lir.NullCheckOptimizer;
@@ -50,6 +51,11 @@ public class PostAllocationOptimizationStage extends LIRPhaseSuite<PostAllocatio
         public static final NestedBooleanOptionKey LIROptRedundantMoveElimination = new NestedBooleanOptionKey(LIROptimization, true);
         @Option(help = "", type = OptionType.Debug)
         public static final NestedBooleanOptionKey LIROptNullCheckOptimizer = new NestedBooleanOptionKey(LIROptimization, true);
+        @Option(help = "Moves cold blocks such as exception handlers and deoptimization paths " +
+                       "to the end of the code emitting order.", type = OptionType.Expert)
+        public static final NestedBooleanOptionKey LIROptColdBlockLayout = new NestedBooleanOptionKey(LIROptimization, false);
+        @Option(help = "Blocks with a relative frequency below this value are considered cold by LIROptColdBlockLayout.", type = OptionType.Expert)
+        public static final OptionKey<Double> LIROptColdBlockFrequency = new OptionKey<>(1.0E-3);
         @Option(help = "Enables profiling of move types on LIR level. " +
                        "Move types are for example stores (register to stack), " +
                        "constant loads (constant to register) or copies (register to register).", type = OptionType.Debug)
@@ -66,6 +72,9 @@ public class PostAllocationOptimizationStage extends LIRPhaseSuite<PostAllocatio
         if (Options.LIROptControlFlowOptimizer.getValue(options)) {
             appendPhase(new ControlFlowOptimizer());
         }
+        if (Options.LIROptColdBlockLayout.getValue(options)) {
+            appendPhase(new ColdBlockLayoutOptimizer());
+        }
         if (Options.LIROptRedundantMoveElimination.getValue(options)) {
             appendPhase(new RedundantMoveElimination());
         }
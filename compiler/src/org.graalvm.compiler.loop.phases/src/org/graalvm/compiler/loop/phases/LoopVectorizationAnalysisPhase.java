@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.phases;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.loop.CountedLoopInfo;
+import org.graalvm.compiler.loop.DerivedOffsetInductionVariable;
+import org.graalvm.compiler.loop.InductionVariable;
+import org.graalvm.compiler.loop.InductionVariable.Direction;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.nodes.ArithmeticOperation;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.LogicNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.LoopExitNode;
+import org.graalvm.compiler.nodes.PhiNode;
+import org.graalvm.compiler.nodes.ProxyNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.VirtualState;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.java.AbstractNewArrayNode;
+import org.graalvm.compiler.nodes.java.AccessIndexedNode;
+import org.graalvm.compiler.nodes.java.ArrayLengthNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
+import org.graalvm.compiler.nodes.java.StoreIndexedNode;
+import org.graalvm.compiler.nodes.util.GraphUtil;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.phases.Phase;
+
+import jdk.vm.ci.meta.JavaKind;
+
+/**
+ * Identifies counted loops that a superword style vectorizer could turn into SIMD code. A
+ * candidate is an innermost loop with a unit stride counter whose only side effects are loads and
+ * stores of primitive array elements indexed by an induction variable of the loop and whose
+ * remaining computation consists of element-wise arithmetic on values of a single element kind.
+ * A store must not access the same element as another access in a different iteration, so arrays
+ * that may alias must be indexed with the same offset from the counter.
+ *
+ * This phase does not modify the graph. It reports candidates and the reason why other loops were
+ * rejected through the debug log and counters.
+ */
+public class LoopVectorizationAnalysisPhase extends Phase {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Report counted loops that are candidates for vectorization.", type = OptionType.Debug)
+        public static final OptionKey<Boolean> AnalyzeLoopVectorization = new OptionKey<>(false);
+        // @formatter:on
+    }
+
+    private static final CounterKey VectorizationCandidates = DebugContext.counter("VectorizationCandidates");
+    private static final CounterKey VectorizationRejected = DebugContext.counter("VectorizationRejected");
+
+    /**
+     * The result of {@linkplain LoopVectorizationAnalysisPhase#analyze analyzing} a single loop.
+     */
+    public static final class Analysis {
+        private final LoopEx loop;
+        private final List<AccessIndexedNode> accesses = new ArrayList<>();
+        private String rejection;
+        private JavaKind elementKind;
+        private int loads;
+        private int stores;
+        private int operations;
+
+        Analysis(LoopEx loop) {
+            this.loop = loop;
+        }
+
+        Analysis reject(String reason) {
+            if (rejection == null) {
+                rejection = reason;
+            }
+            return this;
+        }
+
+        public boolean isCandidate() {
+            return rejection == null;
+        }
+
+        /**
+         * Gets the reason why the loop is not a candidate or {@code null} if it is one.
+         */
+        public String getRejection() {
+            return rejection;
+        }
+
+        /**
+         * Gets the kind of the array elements accessed in the loop.
+         */
+        public JavaKind getElementKind() {
+            return elementKind;
+        }
+
+        public int getLoads() {
+            return loads;
+        }
+
+        public int getStores() {
+            return stores;
+        }
+
+        /**
+         * Gets the number of element-wise arithmetic operations in the loop body.
+         */
+        public int getOperations() {
+            return operations;
+        }
+
+        @Override
+        public String toString() {
+            if (!isCandidate()) {
+                return loop + " rejected: " + rejection;
+            }
+            return loop + " " + elementKind.getJavaName() + "[] loads=" + loads + " stores=" + stores + " ops=" + operations;
+        }
+    }
+
+    @Override
+    protected void run(StructuredGraph graph) {
+        if (!graph.hasLoops()) {
+            return;
+        }
+        DebugContext debug = graph.getDebug();
+        LoopsData data = new LoopsData(graph);
+        data.detectedCountedLoops();
+        for (LoopEx loop : data.loops()) {
+            Analysis analysis = analyze(loop);
+            if (analysis.isCandidate()) {
+                VectorizationCandidates.increment(debug);
+            } else {
+                VectorizationRejected.increment(debug);
+            }
+            debug.log(DebugContext.BASIC_LEVEL, "Vectorization analysis: %s", analysis);
+        }
+        data.deleteUnusedNodes();
+    }
+
+    /**
+     * Determines whether {@code loop} is a vectorization candidate. Counted loop detection must
+     * already have been performed on the {@link LoopsData} of {@code loop}.
+     */
+    public static Analysis analyze(LoopEx loop) {
+        Analysis analysis = new Analysis(loop);
+        if (!loop.isCounted()) {
+            return analysis.reject("not counted");
+        }
+        if (!loop.loop().getChildren().isEmpty()) {
+            return analysis.reject("not innermost");
+        }
+        CountedLoopInfo counted = loop.counted();
+        if (!counted.isExactTripCount()) {
+            return analysis.reject("multiple exits");
+        }
+        InductionVariable counter = counted.getCounter();
+        if (counted.getDirection() != Direction.Up || !isUnitStride(counter)) {
+            return analysis.reject("counter is not incremented by one");
+        }
+        for (Node node : loop.inside().nodes()) {
+            if (node instanceof FixedNode) {
+                analyzeFixedNode(loop, counted, (FixedNode) node, analysis);
+            } else if (node instanceof PhiNode) {
+                if (node != counter.valueNode() && !loop.getInductionVariables().containsKey(node)) {
+                    analysis.reject("loop carried value " + node);
+                }
+            } else if (node instanceof ArithmeticOperation) {
+                if (!loop.getInductionVariables().containsKey(node) && !isLimitTestInput(counted, node)) {
+                    analysis.operations++;
+                }
+            } else if (!(node instanceof VirtualState || node instanceof ConstantNode || node instanceof LogicNode || node instanceof ProxyNode)) {
+                analysis.reject("unsupported node " + node);
+            }
+            if (!analysis.isCandidate()) {
+                return analysis;
+            }
+        }
+        if (analysis.stores == 0) {
+            return analysis.reject("no array stores");
+        }
+        analyzeDependences(loop, analysis);
+        return analysis;
+    }
+
+    /**
+     * Rejects the loop if a store may write an element that another access in the loop reads or
+     * writes in a different iteration. Without alias information, different arrays are assumed to
+     * overlap unless one of them is allocated in this method.
+     */
+    private static void analyzeDependences(LoopEx loop, Analysis analysis) {
+        for (AccessIndexedNode store : analysis.accesses) {
+            if (!(store instanceof StoreIndexedNode)) {
+                continue;
+            }
+            for (AccessIndexedNode other : analysis.accesses) {
+                if (other == store || !mayAlias(store.array(), other.array())) {
+                    continue;
+                }
+                Long distance = indexDistance(loop, store, other);
+                if (distance == null) {
+                    analysis.reject("unknown dependence distance between " + store + " and " + other);
+                } else if (distance != 0) {
+                    analysis.reject("loop carried dependence of distance " + distance + " between " + store + " and " + other);
+                }
+                if (!analysis.isCandidate()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean mayAlias(ValueNode array1, ValueNode array2) {
+        ValueNode a1 = GraphUtil.unproxify(array1);
+        ValueNode a2 = GraphUtil.unproxify(array2);
+        if (a1 == a2) {
+            return true;
+        }
+        return !(a1 instanceof AbstractNewArrayNode || a2 instanceof AbstractNewArrayNode);
+    }
+
+    /**
+     * Gets the difference between the indices of two accesses in the same iteration or
+     * {@code null} if it is not a known constant.
+     */
+    private static Long indexDistance(LoopEx loop, AccessIndexedNode access1, AccessIndexedNode access2) {
+        InductionVariable iv1 = loop.getInductionVariables().get(access1.index());
+        InductionVariable iv2 = loop.getInductionVariables().get(access2.index());
+        long offset1 = 0;
+        while (iv1 instanceof DerivedOffsetInductionVariable && constantOffset((DerivedOffsetInductionVariable) iv1) != null) {
+            offset1 += constantOffset((DerivedOffsetInductionVariable) iv1);
+            iv1 = ((DerivedOffsetInductionVariable) iv1).getBase();
+        }
+        long offset2 = 0;
+        while (iv2 instanceof DerivedOffsetInductionVariable && constantOffset((DerivedOffsetInductionVariable) iv2) != null) {
+            offset2 += constantOffset((DerivedOffsetInductionVariable) iv2);
+            iv2 = ((DerivedOffsetInductionVariable) iv2).getBase();
+        }
+        if (iv1 == null || iv2 == null || iv1.valueNode() != iv2.valueNode()) {
+            return null;
+        }
+        return offset1 - offset2;
+    }
+
+    /**
+     * Gets the constant added to the base of {@code iv} or {@code null} if there is none.
+     */
+    private static Long constantOffset(DerivedOffsetInductionVariable iv) {
+        ValueNode value = iv.valueNode();
+        if (!iv.getOffset().isJavaConstant() || !iv.getOffset().asJavaConstant().getJavaKind().isNumericInteger()) {
+            return null;
+        }
+        long offset = iv.getOffset().asJavaConstant().asLong();
+        if (value instanceof AddNode) {
+            return offset;
+        } else if (value instanceof SubNode && ((SubNode) value).getX() == iv.getBase().valueNode()) {
+            return -offset;
+        }
+        return null;
+    }
+
+    private static void analyzeFixedNode(LoopEx loop, CountedLoopInfo counted, FixedNode node, Analysis analysis) {
+        if (node == loop.loopBegin() || node == counted.getLimitTest() || node == counted.getBody() || node instanceof LoopEndNode || node instanceof LoopExitNode) {
+            return;
+        }
+        if (node instanceof LoadIndexedNode || node instanceof StoreIndexedNode) {
+            AccessIndexedNode access = (AccessIndexedNode) node;
+            JavaKind kind = access.elementKind();
+            if (!kind.isPrimitive()) {
+                analysis.reject("access to " + kind.getJavaName() + " array");
+            } else if (analysis.elementKind != null && analysis.elementKind != kind) {
+                analysis.reject("mixed element kinds " + analysis.elementKind.getJavaName() + " and " + kind.getJavaName());
+            } else if (!loop.isOutsideLoop(access.array())) {
+                analysis.reject("array is not loop invariant");
+            } else {
+                InductionVariable index = loop.getInductionVariables().get(access.index());
+                if (index == null || !isUnitStride(index)) {
+                    analysis.reject("index is not a unit stride induction variable");
+                }
+            }
+            analysis.elementKind = kind;
+            analysis.accesses.add(access);
+            if (node instanceof LoadIndexedNode) {
+                analysis.loads++;
+            } else {
+                analysis.stores++;
+            }
+            return;
+        }
+        if (node instanceof ArrayLengthNode && loop.isOutsideLoop(((ArrayLengthNode) node).array())) {
+            // Typically the loop limit, which a vectorizer would hoist out of the loop.
+            return;
+        }
+        analysis.reject("unsupported fixed node " + node);
+    }
+
+    private static boolean isUnitStride(InductionVariable iv) {
+        return iv.isConstantStride() && iv.constantStride() == 1;
+    }
+
+    private static boolean isLimitTestInput(CountedLoopInfo counted, Node node) {
+        return counted.getLimitTest().condition().inputs().contains(node);
+    }
+}
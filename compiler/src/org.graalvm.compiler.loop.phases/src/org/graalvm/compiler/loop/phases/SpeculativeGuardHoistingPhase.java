@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.phases;
+
+import org.graalvm.compiler.core.common.cfg.Loop;
+import org.graalvm.compiler.core.common.type.IntegerStamp;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.loop.BasicInductionVariable;
+import org.graalvm.compiler.loop.CountedLoopInfo;
+import org.graalvm.compiler.loop.InductionVariable;
+import org.graalvm.compiler.loop.InductionVariable.Direction;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.nodes.AbstractBeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.GuardNode;
+import org.graalvm.compiler.nodes.LogicNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.IntegerBelowNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.cfg.Block;
+import org.graalvm.compiler.nodes.cfg.ControlFlowGraph;
+import org.graalvm.compiler.nodes.extended.AnchoringNode;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.phases.Phase;
+import org.graalvm.compiler.serviceprovider.SpeculationReasonGroup;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.SpeculationLog;
+import jdk.vm.ci.meta.SpeculationLog.Speculation;
+import jdk.vm.ci.meta.SpeculationLog.SpeculationReason;
+
+/**
+ * Speculatively moves {@linkplain GuardNode guards} out of loops so that they are checked once
+ * before the loop instead of in every iteration. Two kinds of guards are moved:
+ * <ul>
+ * <li>Guards whose condition is loop invariant, such as type checks and null checks of values
+ * defined outside the loop. They are re-anchored before the loop.</li>
+ * <li>Range checks of the form {@code iv |<| length} where {@code iv} is a basic induction variable
+ * counting up in a counted loop and {@code length} is loop invariant. They are replaced by the check
+ * {@code 0 <= init && exit <= length} before the loop, where {@code init} and {@code exit} are the
+ * initial and exit values of {@code iv}. The exit value of an induction variable other than the
+ * loop counter is computed in 64 bit so that it cannot overflow.</li>
+ * </ul>
+ * A moved guard may fail where the original guard would not have, e.g. if the guarded code is only
+ * executed on some iterations or if the loop is left early. Moved guards therefore carry a
+ * speculation for their loop. Once such a guard fails, the next compilation keeps all guards of
+ * that loop in place. Loops are processed outermost first so that a guard is moved out of as many
+ * loops as possible.
+ *
+ * This phase must run while guards are floating.
+ */
+public class SpeculativeGuardHoistingPhase extends Phase {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Speculatively move loop invariant guards and range checks of counted loops " +
+                       "before the loop.", type = OptionType.Expert)
+        public static final OptionKey<Boolean> SpeculativeGuardHoisting = new OptionKey<>(false);
+        // @formatter:on
+    }
+
+    private static final CounterKey HoistedInvariantGuards = DebugContext.counter("HoistedInvariantGuards");
+    private static final CounterKey HoistedRangeChecks = DebugContext.counter("HoistedRangeChecks");
+
+    private static final int WIDE_BITS = 64;
+
+    private static final SpeculationReasonGroup GUARD_HOISTING_SPECULATIONS = new SpeculationReasonGroup("GuardHoisting", ResolvedJavaMethod.class, int.class);
+
+    @Override
+    protected void run(StructuredGraph graph) {
+        SpeculationLog speculationLog = graph.getSpeculationLog();
+        if (speculationLog == null || !graph.hasLoops() || !graph.getGuardsStage().allowsFloatingGuards()) {
+            return;
+        }
+        LoopsData data = new LoopsData(graph);
+        data.detectedCountedLoops();
+        for (LoopEx loop : data.outerFirst()) {
+            hoistGuards(graph, data.getCFG(), loop, speculationLog);
+        }
+    }
+
+    private static void hoistGuards(StructuredGraph graph, ControlFlowGraph cfg, LoopEx loop, SpeculationLog speculationLog) {
+        FrameState state = loop.loopBegin().stateAfter();
+        if (state == null || state.getMethod() == null) {
+            return;
+        }
+        SpeculationReason reason = GUARD_HOISTING_SPECULATIONS.createSpeculationReason(state.getMethod(), state.bci);
+        if (!speculationLog.maySpeculate(reason)) {
+            return;
+        }
+        AnchoringNode anchor = AbstractBeginNode.prevBegin(loop.entryPoint());
+        Speculation speculation = null;
+        for (GuardNode guard : graph.getNodes(GuardNode.TYPE)) {
+            if (!SpeculationLog.NO_SPECULATION.equals(guard.getSpeculation()) || !guard.getAction().doesInvalidateCompilation() || !isInLoop(cfg, guard.getAnchor(), loop)) {
+                continue;
+            }
+            if (loop.isOutsideLoop(guard.getCondition())) {
+                if (speculation == null) {
+                    speculation = speculationLog.speculate(reason);
+                }
+                guard.setAnchor(anchor);
+                guard.setSpeculation(speculation);
+                HoistedInvariantGuards.increment(graph.getDebug());
+            } else {
+                LogicNode rangeCheck = hoistedRangeCheck(graph, loop, guard);
+                if (rangeCheck != null) {
+                    if (speculation == null) {
+                        speculation = speculationLog.speculate(reason);
+                    }
+                    guard.setCondition(rangeCheck, false);
+                    guard.setAnchor(anchor);
+                    guard.setSpeculation(speculation);
+                    HoistedRangeChecks.increment(graph.getDebug());
+                }
+            }
+        }
+        if (speculation != null) {
+            loop.invalidateFragments();
+            graph.getDebug().dump(DebugContext.DETAILED_LEVEL, graph, "After hoisting guards of %s", loop);
+        }
+    }
+
+    /**
+     * Determines if {@code anchor} is in a block of {@code loop} or of one of its inner loops.
+     */
+    private static boolean isInLoop(ControlFlowGraph cfg, AnchoringNode anchor, LoopEx loop) {
+        if (!(anchor instanceof AbstractBeginNode)) {
+            return false;
+        }
+        Block block = cfg.blockFor(anchor.asNode());
+        if (block == null) {
+            return false;
+        }
+        for (Loop<Block> l = block.getLoop(); l != null; l = l.getParent()) {
+            if (l == loop.loop()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the loop invariant replacement for the condition of {@code guard} if it is a range
+     * check of a basic induction variable counting up.
+     *
+     * @return {@code null} if {@code guard} is not such a range check
+     */
+    private static LogicNode hoistedRangeCheck(StructuredGraph graph, LoopEx loop, GuardNode guard) {
+        if (guard.isNegated() || !loop.isCounted() || !(guard.getCondition() instanceof IntegerBelowNode)) {
+            return null;
+        }
+        CountedLoopInfo counted = loop.counted();
+        if (counted.isUnsignedCheck() || !(counted.counterNeverOverflows() || counted.getOverFlowGuard() != null)) {
+            return null;
+        }
+        IntegerBelowNode below = (IntegerBelowNode) guard.getCondition();
+        ValueNode index = below.getX();
+        ValueNode length = below.getY();
+        InductionVariable iv = loop.getInductionVariables().get(index);
+        if (!(iv instanceof BasicInductionVariable) || iv.direction() != Direction.Up || !loop.isOutsideLoop(length)) {
+            return null;
+        }
+        Stamp indexStamp = index.stamp(NodeView.DEFAULT);
+        Stamp lengthStamp = length.stamp(NodeView.DEFAULT);
+        if (!(indexStamp instanceof IntegerStamp) || !indexStamp.isCompatible(lengthStamp)) {
+            return null;
+        }
+        /*
+         * The induction variable takes values in [init, exit - stride] with a positive stride and
+         * does not overflow, so 0 <= init && exit <= length implies 0 <= iv < length.
+         */
+        ValueNode init = iv.initNode();
+        ValueNode exit;
+        if (iv == counted.getCounter()) {
+            // the overflow check above covers the counter
+            exit = iv.exitValueNode();
+        } else {
+            exit = wideExitValue(graph, counted, iv, (IntegerStamp) indexStamp);
+            if (exit == null) {
+                return null;
+            }
+            length = SignExtendNode.create(length, WIDE_BITS, NodeView.DEFAULT);
+        }
+        ConstantNode zero = ConstantNode.forIntegerStamp(indexStamp, 0, graph);
+        LogicNode initNegative = graph.addOrUniqueWithInputs(IntegerLessThanNode.create(init, zero, NodeView.DEFAULT));
+        LogicNode exitAboveLength = graph.addOrUniqueWithInputs(IntegerLessThanNode.create(length, exit, NodeView.DEFAULT));
+        return LogicNode.and(initNegative, true, exitAboveLength, true, 0.5);
+    }
+
+    /**
+     * Computes the exit value of an induction variable other than the counter in 64 bit, where it
+     * cannot overflow. Nothing bounds the exit value of such a variable in its own width, e.g.
+     * {@code j += 0x40000000} wraps after a few iterations although the counter does not.
+     *
+     * The stride is positive and below 2^31, the maximum trip count is below 2^32 when treated as
+     * unsigned, so {@code init + stride * maxTripCount} is below 2^63.
+     *
+     * @return {@code null} if the induction variable or the counter is wider than 32 bit
+     */
+    private static ValueNode wideExitValue(StructuredGraph graph, CountedLoopInfo counted, InductionVariable iv, IntegerStamp stamp) {
+        if (stamp.getBits() > 32 || counted.getStamp().getBits() > 32) {
+            return null;
+        }
+        ValueNode init = SignExtendNode.create(iv.initNode(), WIDE_BITS, NodeView.DEFAULT);
+        ValueNode stride = SignExtendNode.create(iv.strideNode(), WIDE_BITS, NodeView.DEFAULT);
+        ValueNode maxTripCount = ZeroExtendNode.create(counted.maxTripCountNode(), WIDE_BITS, NodeView.DEFAULT);
+        return graph.addOrUniqueWithInputs(AddNode.create(MulNode.create(stride, maxTripCount, NodeView.DEFAULT), init, NodeView.DEFAULT));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.test;
+
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.loop.phases.LoopVectorizationAnalysisPhase;
+import org.graalvm.compiler.loop.phases.LoopVectorizationAnalysisPhase.Analysis;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import jdk.vm.ci.meta.JavaKind;
+
+public class LoopVectorizationAnalysisTest extends GraalCompilerTest {
+
+    public static void addSnippet(int[] a, int[] b, int[] c) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] = b[i] + c[i];
+        }
+    }
+
+    public static float[] offsetSnippet(float[] b, int n) {
+        float[] a = new float[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = b[i + 1] * 2.0f;
+        }
+        return a;
+    }
+
+    public static void scaleSnippet(double[] a) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] = a[i] * 2.0;
+        }
+    }
+
+    public static void carriedDependenceSnippet(int[] a, int n) {
+        for (int i = 0; i < n; i++) {
+            a[i + 1] = a[i];
+        }
+    }
+
+    public static void mayAliasSnippet(float[] a, float[] b, int n) {
+        for (int i = 0; i < n; i++) {
+            a[i] = b[i + 1] * 2.0f;
+        }
+    }
+
+    public static long reductionSnippet(long[] a) {
+        long sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public static void stridedSnippet(int[] a, int n) {
+        for (int i = 0; i < n; i++) {
+            a[2 * i] = i;
+        }
+    }
+
+    public static void mixedKindsSnippet(int[] a, byte[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] = b[i];
+        }
+    }
+
+    public static void objectSnippet(Object[] a, Object[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] = b[i];
+        }
+    }
+
+    private Analysis analyze(String snippet) {
+        StructuredGraph graph = parseEager(snippet, StructuredGraph.AllowAssumptions.NO);
+        createCanonicalizerPhase().apply(graph, getProviders());
+        LoopsData data = new LoopsData(graph);
+        data.detectedCountedLoops();
+        Assert.assertEquals(1, data.loops().size());
+        LoopEx loop = data.loops().get(0);
+        return LoopVectorizationAnalysisPhase.analyze(loop);
+    }
+
+    @Test
+    public void testAdd() {
+        Analysis analysis = analyze("addSnippet");
+        Assert.assertTrue(analysis.toString(), analysis.isCandidate());
+        Assert.assertEquals(JavaKind.Int, analysis.getElementKind());
+        Assert.assertEquals(2, analysis.getLoads());
+        Assert.assertEquals(1, analysis.getStores());
+        Assert.assertEquals(1, analysis.getOperations());
+    }
+
+    @Test
+    public void testOffset() {
+        Analysis analysis = analyze("offsetSnippet");
+        Assert.assertTrue(analysis.toString(), analysis.isCandidate());
+        Assert.assertEquals(JavaKind.Float, analysis.getElementKind());
+    }
+
+    @Test
+    public void testSameElement() {
+        Analysis analysis = analyze("scaleSnippet");
+        Assert.assertTrue(analysis.toString(), analysis.isCandidate());
+        Assert.assertEquals(JavaKind.Double, analysis.getElementKind());
+    }
+
+    @Test
+    public void testCarriedDependence() {
+        Analysis analysis = analyze("carriedDependenceSnippet");
+        Assert.assertFalse(analysis.isCandidate());
+        Assert.assertTrue(analysis.getRejection(), analysis.getRejection().startsWith("loop carried dependence"));
+    }
+
+    @Test
+    public void testMayAlias() {
+        Analysis analysis = analyze("mayAliasSnippet");
+        Assert.assertFalse(analysis.isCandidate());
+        Assert.assertTrue(analysis.getRejection(), analysis.getRejection().startsWith("loop carried dependence"));
+    }
+
+    @Test
+    public void testReduction() {
+        Assert.assertFalse(analyze("reductionSnippet").isCandidate());
+    }
+
+    @Test
+    public void testStrided() {
+        Assert.assertFalse(analyze("stridedSnippet").isCandidate());
+    }
+
+    @Test
+    public void testMixedKinds() {
+        Assert.assertFalse(analyze("mixedKindsSnippet").isCandidate());
+    }
+
+    @Test
+    public void testObjectArray() {
+        Assert.assertFalse(analyze("objectSnippet").isCandidate());
+    }
+}
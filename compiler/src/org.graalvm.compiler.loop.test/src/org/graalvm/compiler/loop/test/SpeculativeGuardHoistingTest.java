@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.test;
+
+import org.graalvm.compiler.code.CompilationResult;
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.DebugOptions;
+import org.graalvm.compiler.loop.phases.SpeculativeGuardHoistingPhase;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Assert;
+import org.junit.Test;
+
+import jdk.vm.ci.code.InstalledCode;
+import jdk.vm.ci.code.InvalidInstalledCodeException;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.SpeculationLog;
+
+public class SpeculativeGuardHoistingTest extends GraalCompilerTest {
+
+    /**
+     * Same names as the counters of {@link SpeculativeGuardHoistingPhase}, so their values are
+     * shared.
+     */
+    private static final CounterKey HoistedInvariantGuards = DebugContext.counter("HoistedInvariantGuards");
+    private static final CounterKey HoistedRangeChecks = DebugContext.counter("HoistedRangeChecks");
+
+    private final SpeculationLog speculationLog;
+
+    public SpeculativeGuardHoistingTest() {
+        speculationLog = getCodeCache().createSpeculationLog();
+    }
+
+    public static int sumSnippet(int[] a, int n) {
+        int sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public static int sumUntilNegativeSnippet(int[] a, int n) {
+        int sum = 0;
+        for (int i = 0; i < n; i++) {
+            if (a[i] < 0) {
+                break;
+            }
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public static int wrappingIndexSnippet(int[] a, int n) {
+        int sum = 0;
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            sum += a[j];
+            j += 0x40000000;
+        }
+        return sum;
+    }
+
+    public static int invariantTypeSnippet(Object o, int n) {
+        int sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += ((String) o).length() + i;
+        }
+        return sum;
+    }
+
+    private OptionValues hoistingOptions() {
+        return new OptionValues(getInitialOptions(), SpeculativeGuardHoistingPhase.Options.SpeculativeGuardHoisting, true);
+    }
+
+    /**
+     * Compiles {@code snippet} with {@code counter} enabled and returns the value of the counter.
+     */
+    private long compileAndCount(String snippet, CounterKey counter) {
+        OptionValues options = new OptionValues(hoistingOptions(), DebugOptions.Counters, counter.getName());
+        ResolvedJavaMethod method = getResolvedJavaMethod(snippet);
+        StructuredGraph graph = parseEager(method, AllowAssumptions.YES, options);
+        getCode(method, graph, true, false, options);
+        return counter.getCurrentValue(graph.getDebug());
+    }
+
+    @Test
+    public void testRangeCheckHoisted() {
+        Assert.assertNotEquals(0, compileAndCount("sumSnippet", HoistedRangeChecks));
+    }
+
+    @Test
+    public void testInvariantGuardHoisted() {
+        Assert.assertNotEquals(0, compileAndCount("invariantTypeSnippet", HoistedInvariantGuards));
+    }
+
+    @Test
+    public void testSum() {
+        OptionValues options = hoistingOptions();
+        test(options, "sumSnippet", new int[]{1, 2, 3, 4}, 4);
+        test(options, "sumSnippet", new int[]{1, 2, 3, 4}, 0);
+        test(options, "sumSnippet", new int[]{1, 2, 3, 4}, 5);
+    }
+
+    /**
+     * The exit value of {@code j} wraps around to 0 in 32 bit after 4 iterations, although the
+     * loop counter does not overflow. The hoisted range check must still fail.
+     */
+    @Test
+    public void testWrappingIndex() {
+        OptionValues options = hoistingOptions();
+        test(options, "wrappingIndexSnippet", new int[]{1, 2, 3, 4}, 1);
+        test(options, "wrappingIndexSnippet", new int[]{1, 2, 3, 4}, 4);
+        test(options, "wrappingIndexSnippet", new int[]{1, 2, 3, 4}, 8);
+    }
+
+    @Test
+    public void testInvariantType() {
+        OptionValues options = hoistingOptions();
+        test(options, "invariantTypeSnippet", "abc", 10);
+        test(options, "invariantTypeSnippet", 42, 10);
+        test(options, "invariantTypeSnippet", 42, 0);
+    }
+
+    /**
+     * The loop is left before the out of bounds access so the hoisted range check fails although
+     * the original one would not have. The recompiled code must keep the range check in the loop.
+     */
+    @Test
+    public void testFailedSpeculation() throws InvalidInstalledCodeException {
+        OptionValues options = hoistingOptions();
+        ResolvedJavaMethod method = getResolvedJavaMethod("sumUntilNegativeSnippet");
+        int[] array = {1, 2, -3, 4};
+        InstalledCode code = getCode(method, null, true, false, options);
+        Assert.assertEquals(3, code.executeVarargs(array, 10));
+        if (!code.isValid()) {
+            code = getCode(method, null, true, false, options);
+            Assert.assertEquals(3, code.executeVarargs(array, 10));
+            Assert.assertTrue(code.isValid());
+        }
+    }
+
+    @Override
+    protected SpeculationLog getSpeculationLog() {
+        speculationLog.collectFailedSpeculations();
+        return speculationLog;
+    }
+
+    @Override
+    protected InstalledCode addMethod(DebugContext debug, final ResolvedJavaMethod method, final CompilationResult compilationResult) {
+        assert speculationLog == compilationResult.getSpeculationLog();
+        return getBackend().createInstalledCode(debug, method, compilationResult, null, false);
+    }
+}
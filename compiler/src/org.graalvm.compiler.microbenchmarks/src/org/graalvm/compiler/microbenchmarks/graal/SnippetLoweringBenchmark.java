@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.microbenchmarks.graal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.compiler.microbenchmarks.graal.util.MethodSpec;
+import org.graalvm.compiler.microbenchmarks.graal.util.SnippetLoweringState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time spent lowering allocations, type checks and monitors by instantiating snippet
+ * templates.
+ */
+@Warmup(iterations = 15)
+public class SnippetLoweringBenchmark extends GraalBenchmark {
+
+    static class Point {
+        int x;
+        int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public static Object allocateAndCheck(Object o, int n) {
+        List<Object> result = new ArrayList<>();
+        synchronized (result) {
+            for (int i = 0; i < n; i++) {
+                if (o instanceof String) {
+                    result.add(new Point(i, ((String) o).length()));
+                } else if (o instanceof Point) {
+                    result.add(new int[i]);
+                } else if (o instanceof Object[]) {
+                    result.add(new Object[]{o, result});
+                }
+            }
+        }
+        return result;
+    }
+
+    @MethodSpec(declaringClass = SnippetLoweringBenchmark.class, name = "allocateAndCheck")
+    public static class AllocateAndCheck extends SnippetLoweringState {
+    }
+
+    @Benchmark
+    public void lowerAllocateAndCheck(AllocateAndCheck s) {
+        s.lowering.apply(s.graph, s.providers);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.microbenchmarks.graal.util;
+
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.spi.LoweringTool;
+import org.graalvm.compiler.phases.OptimisticOptimizations;
+import org.graalvm.compiler.phases.common.CanonicalizerPhase;
+import org.graalvm.compiler.phases.common.LoweringPhase;
+import org.graalvm.compiler.phases.tiers.HighTierContext;
+import org.graalvm.compiler.phases.tiers.MidTierContext;
+import org.graalvm.compiler.phases.tiers.Suites;
+import org.graalvm.compiler.phases.util.Providers;
+
+/**
+ * State providing a graph that has been processed by the high and mid tier so that the low tier
+ * {@link LoweringPhase} lowers allocations, type checks and monitors with snippets.
+ */
+public class SnippetLoweringState extends GraphState {
+
+    public LoweringPhase lowering;
+    public Providers providers;
+
+    @Override
+    protected StructuredGraph preprocessOriginal(StructuredGraph structuredGraph) {
+        StructuredGraph g = super.preprocessOriginal(structuredGraph);
+        GraalState graal = new GraalState();
+        Suites suites = graal.backend.getSuites().getDefaultSuites(graal.options);
+        suites.getHighTier().apply(g, new HighTierContext(graal.providers, graal.backend.getSuites().getDefaultGraphBuilderSuite(), OptimisticOptimizations.ALL));
+        suites.getMidTier().apply(g, new MidTierContext(graal.providers, graal.backend, OptimisticOptimizations.ALL, g.getProfilingInfo()));
+        return g;
+    }
+
+    @Override
+    public void beforeInvocation() {
+        lowering = new LoweringPhase(CanonicalizerPhase.create(), LoweringTool.StandardLoweringStage.LOW_TIER);
+        providers = new GraalState().providers;
+        super.beforeInvocation();
+    }
+}
@@ -1071,6 +1071,16 @@ public class SnippetTemplate {
                 }
             }
 
+            ArrayList<PhiNode> curParameterPhis = new ArrayList<>();
+            for (ParameterNode paramNode : snippet.getNodes(ParameterNode.TYPE)) {
+                for (Node usage : paramNode.usages()) {
+                    if (usage instanceof PhiNode && !curParameterPhis.contains(usage)) {
+                        curParameterPhis.add((PhiNode) usage);
+                    }
+                }
+            }
+            this.parameterPhis = curParameterPhis;
+
             if (debug.areMetricsEnabled()) {
                 DebugContext.counter("SnippetTemplateNodeCount[%#s]", args).add(debug, nodes.size());
             }
@@ -1219,13 +1229,19 @@ public class SnippetTemplate {
      */
     private final ArrayList<Node> nodes;
 
+    /**
+     * The phis that have a {@link ParameterNode} as input. Their stamps may change when the
+     * parameters are bound during instantiation.
+     */
+    private final ArrayList<PhiNode> parameterPhis;
+
     /**
      * Gets the instantiation-time bindings to this template's parameters.
      *
      * @return the map that will be used to bind arguments to parameters when inlining this template
      */
     private EconomicMap<Node, Node> bind(StructuredGraph replaceeGraph, MetaAccessProvider metaAccess, Arguments args) {
-        EconomicMap<Node, Node> replacements = EconomicMap.create(Equivalence.IDENTITY);
+        EconomicMap<Node, Node> replacements = EconomicMap.create(Equivalence.IDENTITY, parameters.length + 1);
         assert args.info.getParameterCount() == parameters.length : "number of args (" + args.info.getParameterCount() + ") != number of parameters (" + parameters.length + ")";
         for (int i = 0; i < parameters.length; i++) {
             Object parameter = parameters[i];
@@ -1643,10 +1659,10 @@ public class SnippetTemplate {
                 dup.setStamp(replaceeStamp);
             }
         }
-        for (ParameterNode paramNode : snippet.getNodes(ParameterNode.TYPE)) {
-            for (Node usage : paramNode.usages()) {
-                Node usageDup = duplicates.get(usage);
-                propagateStamp(usageDup);
+        for (PhiNode phi : parameterPhis) {
+            Node phiDup = duplicates.get(phi);
+            if (phiDup != null) {
+                propagateStamp(phiDup);
             }
         }
     }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.truffle.benchmark;
+
+import static org.graalvm.compiler.core.common.CompilationRequestIdentifier.asCompilationRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.compiler.code.CompilationResult;
+import org.graalvm.compiler.core.common.CompilationIdentifier;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.microbenchmarks.graal.GraalBenchmark;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.truffle.compiler.PartialEvaluator;
+import org.graalvm.compiler.truffle.compiler.TruffleCompilerOptions;
+import org.graalvm.compiler.truffle.runtime.CancellableCompileTask;
+import org.graalvm.compiler.truffle.runtime.DefaultInliningPolicy;
+import org.graalvm.compiler.truffle.runtime.OptimizedCallTarget;
+import org.graalvm.compiler.truffle.runtime.TruffleInlining;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import jdk.vm.ci.meta.SpeculationLog;
+
+/**
+ * Benchmarks the stages of a Truffle compilation of the call target provided by
+ * {@link TruffleCompilationState}: building the {@link TruffleInlining inlining plan}, partial
+ * evaluation and the complete compilation including code installation. The size of the graph after
+ * partial evaluation and the size of the generated code are reported as secondary results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PartialEvaluationBenchmark extends GraalBenchmark {
+
+    /**
+     * Sizes accumulated over all invocations of an iteration. JMH reports event counters as totals,
+     * so the size of a single compilation is the reported value divided by {@link #compilations}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long compilations;
+        public long graphNodeCount;
+        public long codeSize;
+    }
+
+    @Benchmark
+    public TruffleInlining inlining(TruffleCompilationState s) {
+        return new TruffleInlining(s.callTarget, new DefaultInliningPolicy());
+    }
+
+    @Benchmark
+    @SuppressWarnings("try")
+    public StructuredGraph partialEvaluation(TruffleCompilationState s, Sizes sizes) {
+        try (DebugContext debug = new DebugContext.Builder(TruffleCompilerOptions.getOptions()).build()) {
+            StructuredGraph graph = partialEvaluation(s, debug, s.compiler.createCompilationIdentifier(s.callTarget));
+            sizes.compilations++;
+            sizes.graphNodeCount += graph.getNodeCount();
+            return graph;
+        }
+    }
+
+    /**
+     * Compiles and installs the call target. Every invocation installs new code for the same call
+     * target, which invalidates the previously installed code. Invalidated code is only reclaimed
+     * by the code cache sweeper, so long iterations can measure the effects of a filling code
+     * cache. Use the {@link #partialEvaluation} benchmark to measure without code installation.
+     */
+    @Benchmark
+    @SuppressWarnings("try")
+    public CompilationResult compilation(TruffleCompilationState s, Sizes sizes) {
+        try (DebugContext debug = new DebugContext.Builder(TruffleCompilerOptions.getOptions()).build()) {
+            CompilationIdentifier compilationId = s.compiler.createCompilationIdentifier(s.callTarget);
+            StructuredGraph graph = partialEvaluation(s, debug, compilationId);
+            sizes.compilations++;
+            sizes.graphNodeCount += graph.getNodeCount();
+            CompilationResult result = s.compiler.compilePEGraph(graph, s.callTarget.toString(), s.compiler.createGraphBuilderSuite(), s.callTarget, asCompilationRequest(compilationId), null,
+                            new CancellableCompileTask(true));
+            sizes.codeSize += result.getTargetCodeSize();
+            return result;
+        }
+    }
+
+    private static StructuredGraph partialEvaluation(TruffleCompilationState s, DebugContext debug, CompilationIdentifier compilationId) {
+        OptimizedCallTarget callTarget = s.callTarget;
+        TruffleInlining inlining = new TruffleInlining(callTarget, new DefaultInliningPolicy());
+        SpeculationLog speculationLog = callTarget.getCompilationSpeculationLog();
+        if (speculationLog != null) {
+            speculationLog.collectFailedSpeculations();
+        }
+        PartialEvaluator partialEvaluator = s.compiler.getPartialEvaluator();
+        PartialEvaluator.Request request = partialEvaluator.new Request(callTarget.getOptionValues(), debug, callTarget, partialEvaluator.rootForCallTarget(callTarget), inlining,
+                        compilationId, speculationLog, null);
+        return partialEvaluator.evaluate(request);
+    }
+}
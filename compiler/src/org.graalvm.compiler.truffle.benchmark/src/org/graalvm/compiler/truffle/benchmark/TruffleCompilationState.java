@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.truffle.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.graalvm.compiler.truffle.common.TruffleCompiler;
+import org.graalvm.compiler.truffle.common.TruffleCompilerListener.CompilationResultInfo;
+import org.graalvm.compiler.truffle.common.TruffleCompilerListener.GraphInfo;
+import org.graalvm.compiler.truffle.compiler.TruffleCompilerImpl;
+import org.graalvm.compiler.truffle.runtime.GraalTruffleRuntime;
+import org.graalvm.compiler.truffle.runtime.GraalTruffleRuntimeListener;
+import org.graalvm.compiler.truffle.runtime.OptimizedCallTarget;
+import org.graalvm.compiler.truffle.runtime.TruffleInlining;
+import org.graalvm.compiler.truffle.runtime.TruffleRuntimeOptions;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * State providing a warmed up {@link OptimizedCallTarget} of a guest language program and a
+ * whitebox {@link TruffleCompilerImpl} to compile it.
+ *
+ * The {@link #program} is either the name of one of the built-in SimpleLanguage
+ * {@linkplain Program programs} prefixed by {@code sl:} or a path prefixed by {@code file:}. The
+ * language of a file is derived from its name, so for example WebAssembly binaries can be
+ * benchmarked with {@code -p program=file:/path/to/program.wasm} if the {@code wasm} language is on
+ * the class path. The {@link #entry} member of the language bindings is executed until the call
+ * targets of the program are compiled. A {@code .} in {@link #entry} separates nested members.
+ */
+@State(Scope.Benchmark)
+public class TruffleCompilationState {
+
+    /**
+     * Built-in SimpleLanguage programs. Each program defines a {@code main} function and the name
+     * of the root whose call target is benchmarked.
+     */
+    enum Program {
+        FIBONACCI("fib", "" +
+                        "function fib(n) {\n" +
+                        "  if (n < 2) {\n" +
+                        "    return 1;\n" +
+                        "  }\n" +
+                        "  return fib(n - 1) + fib(n - 2);\n" +
+                        "}\n" +
+                        "function main() {\n" +
+                        "  return fib(20);\n" +
+                        "}\n"),
+        LOOP("loop", "" +
+                        "function loop(n) {\n" +
+                        "  i = 0;\n" +
+                        "  sum = 0;\n" +
+                        "  while (i < n) {\n" +
+                        "    sum = sum + i;\n" +
+                        "    i = i + 1;\n" +
+                        "  }\n" +
+                        "  return sum;\n" +
+                        "}\n" +
+                        "function main() {\n" +
+                        "  i = 0;\n" +
+                        "  while (i < 100) {\n" +
+                        "    loop(1000);\n" +
+                        "    i = i + 1;\n" +
+                        "  }\n" +
+                        "}\n"),
+        OBJECTS("update", "" +
+                        "function update(point, dx, dy) {\n" +
+                        "  point.x = point.x + dx;\n" +
+                        "  point.y = point.y + dy;\n" +
+                        "  return point.x * point.y;\n" +
+                        "}\n" +
+                        "function main() {\n" +
+                        "  point = new();\n" +
+                        "  point.x = 0;\n" +
+                        "  point.y = 0;\n" +
+                        "  i = 0;\n" +
+                        "  while (i < 1000) {\n" +
+                        "    update(point, 1, 2);\n" +
+                        "    i = i + 1;\n" +
+                        "  }\n" +
+                        "}\n");
+
+        final String rootName;
+        final String code;
+
+        Program(String rootName, String code) {
+            this.rootName = rootName;
+            this.code = code;
+        }
+    }
+
+    private static final String SL_PREFIX = "sl:";
+    private static final String FILE_PREFIX = "file:";
+
+    /**
+     * Number of times the {@link #entry} is executed before the call target is selected.
+     */
+    private static final int WARMUP_RUNS = 100;
+
+    @Param({"sl:fibonacci", "sl:loop", "sl:objects"}) public String program;
+
+    @Param({"main"}) public String entry;
+
+    /**
+     * The call target that is compiled by the benchmarks.
+     */
+    public OptimizedCallTarget callTarget;
+
+    public TruffleCompilerImpl compiler;
+
+    private Context context;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        GraalTruffleRuntime runtime = GraalTruffleRuntime.getRuntime();
+        TruffleCompiler truffleCompiler = runtime.newTruffleCompiler();
+        if (!(truffleCompiler instanceof TruffleCompilerImpl)) {
+            throw new IllegalStateException("cannot get whitebox interface to Truffle compiler: " + truffleCompiler);
+        }
+        compiler = (TruffleCompilerImpl) truffleCompiler;
+
+        Source source;
+        String rootName;
+        if (program.startsWith(SL_PREFIX)) {
+            Program builtin = Program.valueOf(program.substring(SL_PREFIX.length()).toUpperCase(Locale.ROOT));
+            source = Source.newBuilder("sl", builtin.code, builtin.name().toLowerCase(Locale.ROOT) + ".sl").build();
+            rootName = builtin.rootName;
+        } else if (program.startsWith(FILE_PREFIX)) {
+            File file = new File(program.substring(FILE_PREFIX.length()));
+            source = Source.newBuilder(Source.findLanguage(file), file).build();
+            rootName = null;
+        } else {
+            throw new IllegalArgumentException("program must start with " + SL_PREFIX + " or " + FILE_PREFIX + ": " + program);
+        }
+
+        List<OptimizedCallTarget> compiled = new ArrayList<>();
+        GraalTruffleRuntimeListener listener = new GraalTruffleRuntimeListener() {
+            @Override
+            public void onCompilationSuccess(OptimizedCallTarget target, TruffleInlining inliningDecision, GraphInfo graph, CompilationResultInfo result) {
+                synchronized (compiled) {
+                    compiled.add(target);
+                }
+            }
+        };
+        context = Context.newBuilder().allowAllAccess(true).allowExperimentalOptions(true).option("engine.BackgroundCompilation", "false").build();
+        runtime.addListener(listener);
+        try {
+            context.eval(source);
+            Value entryPoint = context.getBindings(source.getLanguage());
+            for (String member : entry.split("\\.")) {
+                entryPoint = entryPoint.getMember(member);
+                if (entryPoint == null) {
+                    throw new IllegalArgumentException("entry " + entry + " not found in " + program);
+                }
+            }
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                entryPoint.execute();
+            }
+        } finally {
+            runtime.removeListener(listener);
+        }
+        callTarget = select(compiled, rootName);
+        compiler.initialize(TruffleRuntimeOptions.getOptionsForCompiler(callTarget));
+    }
+
+    /**
+     * Selects the compiled call target with the given root name or, if {@code rootName} is
+     * {@code null}, the one with the highest call and loop count.
+     */
+    private OptimizedCallTarget select(List<OptimizedCallTarget> compiled, String rootName) {
+        OptimizedCallTarget selected = null;
+        for (OptimizedCallTarget target : compiled) {
+            if (rootName != null) {
+                if (rootName.equals(target.getRootNode().getName())) {
+                    return target;
+                }
+            } else if (selected == null || target.getCallAndLoopCount() > selected.getCallAndLoopCount()) {
+                selected = target;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("no call target " + (rootName == null ? "" : "for " + rootName + " ") + "was compiled while running " + program);
+        }
+        return selected;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -217,6 +217,12 @@ public final class PolyglotCompilerOptions {
     @Option(help = "Manually set the number of compiler threads", category = OptionCategory.EXPERT)
     public static final OptionKey<Integer> CompilerThreads = new OptionKey<>(0);
 
+    @Option(help = "Pick queued compilations by the current call and loop counts of their call targets instead of in FIFO order and drop queued compilations of call targets that went cold.", category = OptionCategory.EXPERT)
+    public static final OptionKey<Boolean> TraversingCompilationQueue = new OptionKey<>(false);
+
+    @Option(help = "Time in milliseconds after which a queued compilation is dropped if its call target was neither called nor looped since it was queued (0 = never drop). Only used with the traversing compilation queue.", category = OptionCategory.EXPERT)
+    public static final OptionKey<Integer> CompilationQueueColdDelay = new OptionKey<>(1000);
+
     @Option(help = "Minimum number of invocations or loop iterations needed to compile a guest language root.",
                     category = OptionCategory.EXPERT)
     public static final OptionKey<Integer> CompilationThreshold = new OptionKey<>(1000);
@@ -25,6 +25,13 @@
 package org.graalvm.compiler.truffle.runtime;
 
 import java.lang.ref.WeakReference;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.FutureTask;
@@ -35,6 +42,8 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.graalvm.compiler.truffle.common.TruffleCompilationTask;
 import org.graalvm.compiler.truffle.options.PolyglotCompilerOptions;
@@ -48,6 +57,12 @@ import org.graalvm.compiler.truffle.options.PolyglotCompilerOptions;
  * (first-in-first-out).
  *
  * Note that all the compilation requests are second tier when the multi-tier option is turned off.
+ *
+ * If {@link PolyglotCompilerOptions#TraversingCompilationQueue} is enabled, each tier is kept in a
+ * separate queue and the request taken from a tier is the one whose call target is currently the
+ * hottest, weighted by the time the request has been waiting. Requests whose call target was
+ * neither called nor looped for {@link PolyglotCompilerOptions#CompilationQueueColdDelay} since
+ * they were queued are dropped.
  */
 public class BackgroundCompileQueue {
 
@@ -84,8 +99,16 @@ public class BackgroundCompileQueue {
 
             ThreadFactory factory = newThreadFactory("TruffleCompilerThread", callTarget);
 
+            BlockingQueue<Runnable> queue;
+            if (callTarget.getOptionValue(PolyglotCompilerOptions.TraversingCompilationQueue)) {
+                long coldDelay = TimeUnit.MILLISECONDS.toNanos(callTarget.getOptionValue(PolyglotCompilerOptions.CompilationQueueColdDelay));
+                queue = new TraversingBlockingQueue(coldDelay);
+            } else {
+                queue = new PriorityBlockingQueue<>();
+            }
+
             return compilationExecutorService = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
-                            new PriorityBlockingQueue<>(), factory) {
+                            queue, factory) {
                 @Override
                 protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
                     return new RequestFutureTask<>((RequestImpl<T>) callable);
@@ -153,6 +176,15 @@ public class BackgroundCompileQueue {
 
     public abstract static class Request {
 
+        private long queueTime;
+
+        /**
+         * Gets the time in nanoseconds this request spent in the queue before it was executed.
+         */
+        protected final long getQueueTime() {
+            return queueTime;
+        }
+
         protected abstract void execute(TruffleCompilationTask task, WeakReference<OptimizedCallTarget> targetRef);
 
     }
@@ -164,6 +196,8 @@ public class BackgroundCompileQueue {
         private final TruffleCompilationTask task;
         private final WeakReference<OptimizedCallTarget> targetRef;
         private final Request request;
+        private final long queuedTime;
+        private final int queuedHotness;
 
         RequestImpl(long id, Priority priority, OptimizedCallTarget callTarget, TruffleCompilationTask task, Request request) {
             this.id = id;
@@ -171,6 +205,16 @@ public class BackgroundCompileQueue {
             this.targetRef = new WeakReference<>(callTarget);
             this.task = task;
             this.request = request;
+            this.queuedTime = System.nanoTime();
+            this.queuedHotness = hotness(callTarget);
+        }
+
+        /**
+         * Gets the counter that grows while {@code callTarget} runs in the tier this request
+         * compiles from. Code compiled in the first tier only counts calls.
+         */
+        int hotness(OptimizedCallTarget callTarget) {
+            return priority == Priority.LAST_TIER ? callTarget.getCallCount() : callTarget.getCallAndLoopCount();
         }
 
         @Override
@@ -185,6 +229,7 @@ public class BackgroundCompileQueue {
         @SuppressWarnings("try")
         @Override
         public V call() {
+            request.queueTime = System.nanoTime() - queuedTime;
             request.execute(task, targetRef);
             return null;
         }
@@ -197,6 +242,7 @@ public class BackgroundCompileQueue {
 
     private static class RequestFutureTask<V> extends FutureTask<V> implements Comparable<RequestFutureTask<?>> {
         private final RequestImpl<V> request;
+        private boolean cold;
 
         RequestFutureTask(RequestImpl<V> callable) {
             super(callable);
@@ -214,6 +260,294 @@ public class BackgroundCompileQueue {
         }
     }
 
+    /**
+     * A queue with a separate list of requests for each {@link Priority}. Requests of a lower
+     * priority value are always taken first. Within a priority, the request whose call target has
+     * the highest {@linkplain RequestImpl#hotness hotness}, scaled up by the time the request has
+     * been waiting, is taken. Requests of collected call targets and cancelled requests are handed
+     * out immediately since executing them only resets the compilation state of their call target.
+     *
+     * Hotness changes while a request is queued, so it cannot be kept ordered in a heap. Instead
+     * only the {@link #TRAVERSAL_LIMIT oldest requests} of a tier are traversed, which bounds the
+     * time a dequeue holds the lock. Younger requests are considered once older ones were taken.
+     */
+    private static final class TraversingBlockingQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+        /**
+         * The waiting time after which the weight of a request is doubled.
+         */
+        private static final long AGING_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+        /**
+         * The maximum number of requests of a tier that are traversed to find the next request.
+         */
+        static final int TRAVERSAL_LIMIT = 64;
+
+        private final long coldDelay;
+        private final List<LinkedList<RequestFutureTask<?>>> tiers;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private int count;
+
+        TraversingBlockingQueue(long coldDelay) {
+            this.coldDelay = coldDelay;
+            this.tiers = new ArrayList<>();
+            for (int i = 0; i < Priority.values().length; i++) {
+                tiers.add(new LinkedList<>());
+            }
+        }
+
+        @Override
+        public boolean offer(Runnable e) {
+            RequestFutureTask<?> task = (RequestFutureTask<?>) e;
+            lock.lock();
+            try {
+                tiers.get(task.request.priority.ordinal()).add(task);
+                count++;
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+            return true;
+        }
+
+        @Override
+        public void put(Runnable e) {
+            offer(e);
+        }
+
+        @Override
+        public boolean offer(Runnable e, long timeout, TimeUnit unit) {
+            return offer(e);
+        }
+
+        @Override
+        public Runnable poll() {
+            RequestFutureTask<?> task;
+            lock.lock();
+            try {
+                task = dequeue();
+            } finally {
+                lock.unlock();
+            }
+            return dropIfCold(task);
+        }
+
+        @Override
+        public Runnable take() throws InterruptedException {
+            RequestFutureTask<?> task;
+            lock.lockInterruptibly();
+            try {
+                while (count == 0) {
+                    notEmpty.await();
+                }
+                task = dequeue();
+            } finally {
+                lock.unlock();
+            }
+            return dropIfCold(task);
+        }
+
+        @Override
+        public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            RequestFutureTask<?> task;
+            lock.lockInterruptibly();
+            try {
+                while (count == 0 && nanos > 0) {
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                task = dequeue();
+            } finally {
+                lock.unlock();
+            }
+            return dropIfCold(task);
+        }
+
+        private RequestFutureTask<?> dequeue() {
+            return select(true);
+        }
+
+        /**
+         * Finds the request that is taken next and removes it if {@code remove} is true. Must be
+         * called with {@link #lock} held.
+         */
+        private RequestFutureTask<?> select(boolean remove) {
+            long now = System.nanoTime();
+            for (LinkedList<RequestFutureTask<?>> tier : tiers) {
+                RequestFutureTask<?> max = null;
+                double maxWeight = -1;
+                int traversed = 0;
+                for (Iterator<RequestFutureTask<?>> iterator = tier.iterator(); iterator.hasNext() && traversed < TRAVERSAL_LIMIT; traversed++) {
+                    RequestFutureTask<?> task = iterator.next();
+                    RequestImpl<?> request = task.request;
+                    OptimizedCallTarget callTarget = request.targetRef.get();
+                    if (callTarget == null || request.task.isCancelled() || request.priority == Priority.INITIALIZATION) {
+                        if (remove) {
+                            iterator.remove();
+                            count--;
+                        }
+                        return task;
+                    }
+                    int hotness = request.hotness(callTarget);
+                    long age = now - request.queuedTime;
+                    if (coldDelay > 0 && age > coldDelay && hotness <= request.queuedHotness && hotness != Integer.MAX_VALUE) {
+                        if (remove) {
+                            iterator.remove();
+                            count--;
+                            task.cold = true;
+                        }
+                        return task;
+                    }
+                    double weight = hotness * (1.0D + (double) age / AGING_PERIOD);
+                    if (weight > maxWeight) {
+                        max = task;
+                        maxWeight = weight;
+                    }
+                }
+                if (max != null) {
+                    if (remove) {
+                        tier.remove(max);
+                        count--;
+                    }
+                    return max;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Cancels the compilation of a request that went cold. The request is still executed so
+         * that its call target can be queued again once it gets hot.
+         */
+        private static Runnable dropIfCold(RequestFutureTask<?> task) {
+            if (task != null && task.cold) {
+                OptimizedCallTarget callTarget = task.request.targetRef.get();
+                if (callTarget != null) {
+                    callTarget.cancelInstalledTask(null, "Call target went cold in the compilation queue.");
+                }
+            }
+            return task;
+        }
+
+        @Override
+        public Runnable peek() {
+            lock.lock();
+            try {
+                return select(false);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            lock.lock();
+            try {
+                for (LinkedList<RequestFutureTask<?>> tier : tiers) {
+                    if (tier.remove(o)) {
+                        count--;
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void clear() {
+            lock.lock();
+            try {
+                for (LinkedList<RequestFutureTask<?>> tier : tiers) {
+                    tier.clear();
+                }
+                count = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int size() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public int drainTo(Collection<? super Runnable> c) {
+            return drainTo(c, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int drainTo(Collection<? super Runnable> c, int maxElements) {
+            lock.lock();
+            try {
+                int drained = 0;
+                for (LinkedList<RequestFutureTask<?>> tier : tiers) {
+                    while (drained < maxElements && !tier.isEmpty()) {
+                        c.add(tier.removeFirst());
+                        count--;
+                        drained++;
+                    }
+                }
+                return drained;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns an iterator over a snapshot of the queued requests.
+         */
+        @Override
+        public Iterator<Runnable> iterator() {
+            List<Runnable> snapshot = new ArrayList<>();
+            lock.lock();
+            try {
+                for (LinkedList<RequestFutureTask<?>> tier : tiers) {
+                    snapshot.addAll(tier);
+                }
+            } finally {
+                lock.unlock();
+            }
+            Iterator<Runnable> iterator = snapshot.iterator();
+            return new Iterator<Runnable>() {
+                private Runnable last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Runnable next() {
+                    last = iterator.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    TraversingBlockingQueue.this.remove(last);
+                    last = null;
+                }
+            };
+        }
+    }
+
     private static final class TruffleCompilerThreadFactory implements ThreadFactory {
         private final String namePrefix;
 
@@ -145,6 +145,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return unsafeGetObject(getLocals(), Unsafe.ARRAY_OBJECT_BASE_OFFSET + slotIndex * (long) Unsafe.ARRAY_OBJECT_INDEX_SCALE, condition, slot);
     }
 
+    @Override
+    public Object getObjectStatic(FrameSlot slot) {
+        int slotIndex = getFrameSlotIndex(slot);
+        checkSlotIndex(slotIndex);
+        return getObjectUnsafe(slotIndex, slot, true);
+    }
+
     @Override
     public void setObject(FrameSlot slot, Object value) {
         int slotIndex = getFrameSlotIndex(slot);
@@ -168,6 +175,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return (byte) unsafeGetInt(getPrimitiveLocals(), offset, condition, slot);
     }
 
+    @Override
+    public byte getByteStatic(FrameSlot slot) {
+        int slotIndex = getFrameSlotIndex(slot);
+        checkSlotIndex(slotIndex);
+        return getByteUnsafe(slotIndex, slot, true);
+    }
+
     @Override
     public void setByte(FrameSlot slot, byte value) {
         int slotIndex = getFrameSlotIndex(slot);
@@ -192,6 +206,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return unsafeGetInt(getPrimitiveLocals(), offset, condition, slot) != 0;
     }
 
+    @Override
+    public boolean getBooleanStatic(FrameSlot slot) {
+        int slotIndex = getFrameSlotIndex(slot);
+        checkSlotIndex(slotIndex);
+        return getBooleanUnsafe(slotIndex, slot, true);
+    }
+
     @Override
     public void setBoolean(FrameSlot slot, boolean value) {
         int slotIndex = getFrameSlotIndex(slot);
@@ -216,6 +237,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return unsafeGetFloat(getPrimitiveLocals(), offset, condition, slot);
     }
 
+    @Override
+    public float getFloatStatic(FrameSlot slot) {
+        int slotIndex = getFrameSlotIndex(slot);
+        checkSlotIndex(slotIndex);
+        return getFloatUnsafe(slotIndex, slot, true);
+    }
+
     @Override
     public void setFloat(FrameSlot slot, float value) {
         int slotIndex = getFrameSlotIndex(slot);
@@ -240,6 +268,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return unsafeGetLong(getPrimitiveLocals(), offset, condition, slot);
     }
 
+    @Override
+    public long getLongStatic(FrameSlot slot) {
+        int slotIndex = getFrameSlotIndex(slot);
+        checkSlotIndex(slotIndex);
+        return getLongUnsafe(slotIndex, slot, true);
+    }
+
     @Override
     public void setLong(FrameSlot slot, long value) {
         int slotIndex = getFrameSlotIndex(slot);
@@ -264,6 +299,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return unsafeGetInt(getPrimitiveLocals(), offset, condition, slot);
     }
 
+    @Override
+    public int getIntStatic(FrameSlot slot) {
+        int slotIndex = getFrameSlotIndex(slot);
+        checkSlotIndex(slotIndex);
+        return getIntUnsafe(slotIndex, slot, true);
+    }
+
     @Override
     public void setInt(FrameSlot slot, int value) {
         int slotIndex = getFrameSlotIndex(slot);
@@ -288,6 +330,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return unsafeGetDouble(getPrimitiveLocals(), offset, condition, slot);
     }
 
+    @Override
+    public double getDoubleStatic(FrameSlot slot) {
+        int slotIndex = getFrameSlotIndex(slot);
+        checkSlotIndex(slotIndex);
+        return getDoubleUnsafe(slotIndex, slot, true);
+    }
+
     @Override
     public void setDouble(FrameSlot slot, double value) {
         int slotIndex = getFrameSlotIndex(slot);
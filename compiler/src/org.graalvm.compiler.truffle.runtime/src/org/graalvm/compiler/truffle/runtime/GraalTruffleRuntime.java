@@ -801,6 +801,7 @@ public abstract class GraalTruffleRuntime implements TruffleRuntime, TruffleComp
                 if (callTarget != null) {
                     try {
                         if (!task.isCancelled()) {
+                            getListener().onCompilationPolled(callTarget, task.isLastTier(), getQueueTime());
                             doCompile(callTarget, task);
                         }
                     } finally {
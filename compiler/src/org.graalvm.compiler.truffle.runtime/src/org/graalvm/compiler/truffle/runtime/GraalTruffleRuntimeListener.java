@@ -39,7 +39,7 @@ import com.oracle.truffle.api.nodes.Node;
  * described using the following deterministic automata: * <code>
  * <pre>
  * ( (split | (queue . unqueue))*
- *    . queue . started
+ *    . queue . polled . started
  *    . (truffleTierFinished . graalTierFinished . success)
  *      | ([truffleTierFinished] . [graalTierFinished] . failed)
  *    . invalidate )*
@@ -92,6 +92,17 @@ public interface GraalTruffleRuntimeListener {
     default void onCompilationDequeued(OptimizedCallTarget target, Object source, CharSequence reason) {
     }
 
+    /**
+     * Notifies this object when a compiler thread takes the compilation of {@code target} from the
+     * compilation queue.
+     *
+     * @param target the call target that is about to be compiled
+     * @param lastTier whether the compilation is a last tier compilation
+     * @param queueTime the time in nanoseconds the compilation spent in the queue
+     */
+    default void onCompilationPolled(OptimizedCallTarget target, boolean lastTier, long queueTime) {
+    }
+
     /**
      * Notifies this object when compilation of {@code target} is about to start.
      *
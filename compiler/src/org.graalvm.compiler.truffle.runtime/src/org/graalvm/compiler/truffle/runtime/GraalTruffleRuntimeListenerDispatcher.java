@@ -75,6 +75,13 @@ final class GraalTruffleRuntimeListenerDispatcher extends CopyOnWriteArrayList<G
         }
     }
 
+    @Override
+    public void onCompilationPolled(OptimizedCallTarget target, boolean lastTier, long queueTime) {
+        for (GraalTruffleRuntimeListener l : this) {
+            l.onCompilationPolled(target, lastTier, queueTime);
+        }
+    }
+
     @Override
     public void onCompilationFailed(OptimizedCallTarget target, String reason, boolean bailout, boolean permanent) {
         for (GraalTruffleRuntimeListener l : this) {
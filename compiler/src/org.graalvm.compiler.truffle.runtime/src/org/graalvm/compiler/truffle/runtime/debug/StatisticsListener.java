@@ -68,6 +68,8 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
 
     private final LongSummaryStatistics timeToQueue = new LongSummaryStatistics();
     private final LongSummaryStatistics timeToCompilation = new LongSummaryStatistics();
+    private final LongSummaryStatistics timeInQueueFirstTier = new LongSummaryStatistics();
+    private final LongSummaryStatistics timeInQueueLastTier = new LongSummaryStatistics();
 
     private final IntSummaryStatistics nodeCount = new IntSummaryStatistics();
     private final IntSummaryStatistics nodeCountTrivial = new IntSummaryStatistics();
@@ -143,6 +145,15 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
         dequeues++;
     }
 
+    @Override
+    public synchronized void onCompilationPolled(OptimizedCallTarget target, boolean lastTier, long queueTime) {
+        if (lastTier) {
+            timeInQueueLastTier.accept(queueTime);
+        } else {
+            timeInQueueFirstTier.accept(queueTime);
+        }
+    }
+
     @Override
     public synchronized void onCompilationInvalidated(OptimizedCallTarget target, Object source, CharSequence reason) {
         invalidations++;
@@ -260,6 +271,8 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
 
         printStatisticTime(rt, "Time to queue", timeToQueue);
         printStatisticTime(rt, "Time to compilation", timeToCompilation);
+        printStatisticTime(rt, "Time in compilation queue (first tier)", timeInQueueFirstTier);
+        printStatisticTime(rt, "Time in compilation queue (last tier)", timeInQueueLastTier);
 
         printStatisticTime(rt, "Compilation time", compilationTime);
         printStatisticTime(rt, "  Truffle Tier", compilationTimeTruffleTier);
@@ -494,6 +507,14 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
             }
         }
 
+        @Override
+        public void onCompilationPolled(OptimizedCallTarget target, boolean lastTier, long queueTime) {
+            StatisticsListener listener = target.engine.statisticsListener;
+            if (listener != null) {
+                listener.onCompilationPolled(target, lastTier, queueTime);
+            }
+        }
+
         @Override
         public void onCompilationStarted(OptimizedCallTarget target) {
             StatisticsListener listener = target.engine.statisticsListener;
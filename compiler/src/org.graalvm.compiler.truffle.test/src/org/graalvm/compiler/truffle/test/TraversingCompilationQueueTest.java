@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.truffle.test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.compiler.truffle.common.TruffleCompilationTask;
+import org.graalvm.compiler.truffle.runtime.BackgroundCompileQueue;
+import org.graalvm.compiler.truffle.runtime.BackgroundCompileQueue.Priority;
+import org.graalvm.compiler.truffle.runtime.OptimizedCallTarget;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.nodes.RootNode;
+
+public class TraversingCompilationQueueTest extends TestWithPolyglotOptions {
+
+    private static final class RecordingRequest extends BackgroundCompileQueue.Request {
+        private final String name;
+        private final List<String> executed;
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        RecordingRequest(String name, List<String> executed, CountDownLatch started, CountDownLatch release) {
+            this.name = name;
+            this.executed = executed;
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        protected void execute(TruffleCompilationTask task, WeakReference<OptimizedCallTarget> targetRef) {
+            executed.add(name);
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static OptimizedCallTarget createTarget(int calls) {
+        OptimizedCallTarget target = (OptimizedCallTarget) Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(calls));
+        for (int i = 0; i < calls; i++) {
+            target.call();
+        }
+        return target;
+    }
+
+    @Test
+    public void testHottestFirstTierFirst() throws InterruptedException {
+        setupContext("engine.TraversingCompilationQueue", "true", "engine.CompilationQueueColdDelay", "0", "engine.CompilerThreads", "1");
+        BackgroundCompileQueue queue = new BackgroundCompileQueue();
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch released = new CountDownLatch(0);
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch blockerRelease = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        try {
+            // Occupy the single compiler thread so that the following requests are queued.
+            queue.submitTask(Priority.FIRST_TIER, createTarget(0), new RecordingRequest("blocker", executed, blockerStarted, blockerRelease));
+            Assert.assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+
+            queue.submitTask(Priority.LAST_TIER, createTarget(90), new RecordingRequest("lastTier", executed, done, released));
+            queue.submitTask(Priority.FIRST_TIER, createTarget(10), new RecordingRequest("warm", executed, done, released));
+            queue.submitTask(Priority.FIRST_TIER, createTarget(50), new RecordingRequest("hot", executed, done, released));
+            queue.submitTask(Priority.FIRST_TIER, createTarget(30), new RecordingRequest("medium", executed, done, released));
+            Assert.assertEquals(4, queue.getQueueSize());
+
+            blockerRelease.countDown();
+            Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(Arrays.asList("blocker", "hot", "medium", "warm", "lastTier"), executed);
+        } finally {
+            blockerRelease.countDown();
+            queue.shutdownAndAwaitTermination(10000);
+        }
+    }
+}
@@ -321,6 +321,282 @@ public final class Value {
         return impl.getArraySize(receiver);
     }
 
+    /**
+     * Copies {@code length} array elements starting at {@code index} into {@code destination}
+     * starting at {@code destinationOffset}. Every element must {@link #fitsInByte() fit} into a
+     * <code>byte</code>. The result is the same as calling {@link #getArrayElement(long)} and
+     * {@link #asByte()} for every element, but the guest language is entered only once and may
+     * copy the elements in bulk. If an exception is thrown some of the destination elements may
+     * already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the destination.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             readable.
+     * @throws ClassCastException if an element does not fit into a <code>byte</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void getArrayElements(long index, byte[] destination, int destinationOffset, int length) {
+        checkRange(destination.length, destinationOffset, length);
+        impl.getArrayElements(receiver, index, destination, destinationOffset, length);
+    }
+
+    /**
+     * Copies {@code length} array elements starting at {@code index} into {@code destination}
+     * starting at {@code destinationOffset}. Every element must {@link #fitsInShort() fit} into a
+     * <code>short</code>. The result is the same as calling {@link #getArrayElement(long)} and
+     * {@link #asShort()} for every element, but the guest language is entered only once and may
+     * copy the elements in bulk. If an exception is thrown some of the destination elements may
+     * already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the destination.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             readable.
+     * @throws ClassCastException if an element does not fit into a <code>short</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void getArrayElements(long index, short[] destination, int destinationOffset, int length) {
+        checkRange(destination.length, destinationOffset, length);
+        impl.getArrayElements(receiver, index, destination, destinationOffset, length);
+    }
+
+    /**
+     * Copies {@code length} array elements starting at {@code index} into {@code destination}
+     * starting at {@code destinationOffset}. Every element must {@link #fitsInInt() fit} into a
+     * <code>int</code>. The result is the same as calling {@link #getArrayElement(long)} and
+     * {@link #asInt()} for every element, but the guest language is entered only once and may
+     * copy the elements in bulk. If an exception is thrown some of the destination elements may
+     * already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the destination.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             readable.
+     * @throws ClassCastException if an element does not fit into a <code>int</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void getArrayElements(long index, int[] destination, int destinationOffset, int length) {
+        checkRange(destination.length, destinationOffset, length);
+        impl.getArrayElements(receiver, index, destination, destinationOffset, length);
+    }
+
+    /**
+     * Copies {@code length} array elements starting at {@code index} into {@code destination}
+     * starting at {@code destinationOffset}. Every element must {@link #fitsInLong() fit} into a
+     * <code>long</code>. The result is the same as calling {@link #getArrayElement(long)} and
+     * {@link #asLong()} for every element, but the guest language is entered only once and may
+     * copy the elements in bulk. If an exception is thrown some of the destination elements may
+     * already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the destination.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             readable.
+     * @throws ClassCastException if an element does not fit into a <code>long</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void getArrayElements(long index, long[] destination, int destinationOffset, int length) {
+        checkRange(destination.length, destinationOffset, length);
+        impl.getArrayElements(receiver, index, destination, destinationOffset, length);
+    }
+
+    /**
+     * Copies {@code length} array elements starting at {@code index} into {@code destination}
+     * starting at {@code destinationOffset}. Every element must {@link #fitsInFloat() fit} into a
+     * <code>float</code>. The result is the same as calling {@link #getArrayElement(long)} and
+     * {@link #asFloat()} for every element, but the guest language is entered only once and may
+     * copy the elements in bulk. If an exception is thrown some of the destination elements may
+     * already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the destination.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             readable.
+     * @throws ClassCastException if an element does not fit into a <code>float</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void getArrayElements(long index, float[] destination, int destinationOffset, int length) {
+        checkRange(destination.length, destinationOffset, length);
+        impl.getArrayElements(receiver, index, destination, destinationOffset, length);
+    }
+
+    /**
+     * Copies {@code length} array elements starting at {@code index} into {@code destination}
+     * starting at {@code destinationOffset}. Every element must {@link #fitsInDouble() fit} into a
+     * <code>double</code>. The result is the same as calling {@link #getArrayElement(long)} and
+     * {@link #asDouble()} for every element, but the guest language is entered only once and may
+     * copy the elements in bulk. If an exception is thrown some of the destination elements may
+     * already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the destination.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             readable.
+     * @throws ClassCastException if an element does not fit into a <code>double</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void getArrayElements(long index, double[] destination, int destinationOffset, int length) {
+        checkRange(destination.length, destinationOffset, length);
+        impl.getArrayElements(receiver, index, destination, destinationOffset, length);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code source} starting at {@code sourceOffset} into
+     * this array starting at {@code index}. The result is the same as calling
+     * {@link #setArrayElement(long, Object)} for every element, but the guest language is entered
+     * only once and may copy the elements in bulk. If an exception is thrown some of the array
+     * elements may already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the source.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             modifiable.
+     * @throws ClassCastException if the array does not accept <code>byte</code> elements.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void setArrayElements(long index, byte[] source, int sourceOffset, int length) {
+        checkRange(source.length, sourceOffset, length);
+        impl.setArrayElements(receiver, index, source, sourceOffset, length);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code source} starting at {@code sourceOffset} into
+     * this array starting at {@code index}. The result is the same as calling
+     * {@link #setArrayElement(long, Object)} for every element, but the guest language is entered
+     * only once and may copy the elements in bulk. If an exception is thrown some of the array
+     * elements may already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the source.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             modifiable.
+     * @throws ClassCastException if the array does not accept <code>short</code> elements.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void setArrayElements(long index, short[] source, int sourceOffset, int length) {
+        checkRange(source.length, sourceOffset, length);
+        impl.setArrayElements(receiver, index, source, sourceOffset, length);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code source} starting at {@code sourceOffset} into
+     * this array starting at {@code index}. The result is the same as calling
+     * {@link #setArrayElement(long, Object)} for every element, but the guest language is entered
+     * only once and may copy the elements in bulk. If an exception is thrown some of the array
+     * elements may already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the source.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             modifiable.
+     * @throws ClassCastException if the array does not accept <code>int</code> elements.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void setArrayElements(long index, int[] source, int sourceOffset, int length) {
+        checkRange(source.length, sourceOffset, length);
+        impl.setArrayElements(receiver, index, source, sourceOffset, length);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code source} starting at {@code sourceOffset} into
+     * this array starting at {@code index}. The result is the same as calling
+     * {@link #setArrayElement(long, Object)} for every element, but the guest language is entered
+     * only once and may copy the elements in bulk. If an exception is thrown some of the array
+     * elements may already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the source.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             modifiable.
+     * @throws ClassCastException if the array does not accept <code>long</code> elements.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void setArrayElements(long index, long[] source, int sourceOffset, int length) {
+        checkRange(source.length, sourceOffset, length);
+        impl.setArrayElements(receiver, index, source, sourceOffset, length);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code source} starting at {@code sourceOffset} into
+     * this array starting at {@code index}. The result is the same as calling
+     * {@link #setArrayElement(long, Object)} for every element, but the guest language is entered
+     * only once and may copy the elements in bulk. If an exception is thrown some of the array
+     * elements may already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the source.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             modifiable.
+     * @throws ClassCastException if the array does not accept <code>float</code> elements.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void setArrayElements(long index, float[] source, int sourceOffset, int length) {
+        checkRange(source.length, sourceOffset, length);
+        impl.setArrayElements(receiver, index, source, sourceOffset, length);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code source} starting at {@code sourceOffset} into
+     * this array starting at {@code index}. The result is the same as calling
+     * {@link #setArrayElement(long, Object)} for every element, but the guest language is entered
+     * only once and may copy the elements in bulk. If an exception is thrown some of the array
+     * elements may already be written.
+     *
+     * @throws ArrayIndexOutOfBoundsException if one of the array indices does not exist.
+     * @throws IndexOutOfBoundsException if the range does not fit into the source.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or if an index exists but is not
+     *             modifiable.
+     * @throws ClassCastException if the array does not accept <code>double</code> elements.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void setArrayElements(long index, double[] source, int sourceOffset, int length) {
+        checkRange(source.length, sourceOffset, length);
+        impl.setArrayElements(receiver, index, source, sourceOffset, length);
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException(String.format("Range [%s, %s + %s) out of bounds for length %s.", offset, offset, length, arrayLength));
+        }
+    }
+
     /**
      * Returns <code>true</code> if this value generally supports containing members. To check
      * whether a value has <i>no</i> members use
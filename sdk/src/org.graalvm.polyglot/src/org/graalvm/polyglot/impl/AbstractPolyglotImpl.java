@@ -571,6 +571,10 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract long getArraySize(Object receiver);
 
+        public abstract void getArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length);
+
+        public abstract void setArrayElements(Object receiver, long index, Object source, int sourceOffset, int length);
+
         public boolean hasMembers(Object receiver) {
             return false;
         }
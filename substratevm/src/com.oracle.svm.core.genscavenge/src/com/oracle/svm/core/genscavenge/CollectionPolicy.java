@@ -29,11 +29,13 @@ import org.graalvm.nativeimage.Platform;
 import org.graalvm.nativeimage.Platforms;
 import org.graalvm.nativeimage.hosted.Feature.FeatureAccess;
 import org.graalvm.word.UnsignedWord;
+import org.graalvm.word.WordFactory;
 
 import com.oracle.svm.core.log.Log;
 import com.oracle.svm.core.option.HostedOptionKey;
 import com.oracle.svm.core.option.RuntimeOptionKey;
 import com.oracle.svm.core.util.TimeUtils;
+import com.oracle.svm.core.util.UnsignedUtils;
 
 /** A collection policy to decide when to collect incrementally or completely. */
 public abstract class CollectionPolicy {
@@ -52,6 +54,12 @@ public abstract class CollectionPolicy {
          */
         @Option(help = "Percentage of time that should be spent in young generation collections.")//
         public static final RuntimeOptionKey<Integer> PercentTimeInIncrementalCollection = new RuntimeOptionKey<>(50);
+
+        @Option(help = "Pause time goal in milliseconds for incremental collections of the Adaptive collection policy, 0 for no goal.")//
+        public static final RuntimeOptionKey<Integer> MaxGCPauseMillis = new RuntimeOptionKey<>(0);
+
+        @Option(help = "Throughput goal of the Adaptive collection policy: at most 1 / (1 + GCTimeRatio) of the time is spent in collections.")//
+        public static final RuntimeOptionKey<Integer> GCTimeRatio = new RuntimeOptionKey<>(19);
     }
 
     @Platforms(Platform.HOSTED_ONLY.class)
@@ -72,6 +80,18 @@ public abstract class CollectionPolicy {
 
     public abstract void nameToLog(Log log);
 
+    /**
+     * Called after every collection, so that a policy can adapt to what was collected. Must not
+     * allocate.
+     *
+     * @param completeCollection whether the collection was a complete collection
+     * @param collectionNanos the duration of the collection
+     * @param mutatorNanos the time the mutator ran since the previous collection
+     */
+    public void onCollectionEnd(boolean completeCollection, long collectionNanos, long mutatorNanos) {
+        /* Nothing to do by default. */
+    }
+
     protected static GCImpl.Accounting getAccounting() {
         return HeapImpl.getHeapImpl().getGCImpl().getAccounting();
     }
@@ -296,4 +316,99 @@ public abstract class CollectionPolicy {
             return veto;
         }
     }
+
+    /**
+     * A collection policy that decides on complete collections like {@link ByTime}, but sizes the
+     * young generation after every incremental collection to meet a pause time goal
+     * ({@link Options#MaxGCPauseMillis}) and a throughput goal ({@link Options#GCTimeRatio}).
+     *
+     * The pause time goal takes precedence: if the average pause exceeds it, the young generation
+     * shrinks. Otherwise, if more time than allowed is spent in collections, the young generation
+     * grows so that collections happen less frequently at the measured allocation rate. If both
+     * goals are met, the young generation slowly shrinks to reduce the footprint. The young
+     * generation never shrinks below twice the average bytes surviving a collection and never grows
+     * beyond {@link HeapPolicy#getMaximumAdaptiveYoungGenerationSize()}. An explicit young generation
+     * size, e.g., from `-Xmn`, takes precedence over this policy.
+     */
+    public static class Adaptive extends ByTime {
+
+        /** Weight in percent of the most recent sample in the decaying averages. */
+        private static final int SAMPLE_WEIGHT = 25;
+        private static final int SHRINK_FOR_FOOTPRINT_PERCENT = 95;
+        private static final int MAX_GROWTH_FACTOR = 2;
+        private static final int MAX_SHRINK_FACTOR = 2;
+        private static final int MIN_YOUNG_GENERATION_CHUNKS = 4;
+
+        private long averagePauseNanos;
+        private long averageMutatorNanos;
+        private long averageSurvivedBytes;
+
+        @Override
+        public void nameToLog(Log log) {
+            log.string("adaptive: pause goal ").signed(Options.MaxGCPauseMillis.getValue()).string("ms, time ratio ").signed(Options.GCTimeRatio.getValue());
+        }
+
+        @Override
+        public void onCollectionEnd(boolean completeCollection, long collectionNanos, long mutatorNanos) {
+            if (completeCollection) {
+                /* The pauses of complete collections do not depend on the young generation size. */
+                return;
+            }
+            final Log trace = Log.noopLog().string("[CollectionPolicy.Adaptive.onCollectionEnd:").newline();
+            final GCImpl.Accounting accounting = getAccounting();
+            final UnsignedWord promoted = accounting.getOldGenerationAfterChunkBytes().subtract(accounting.getOldGenerationBeforeChunkBytes());
+            final UnsignedWord survived = accounting.getYoungChunkBytesAfter().add(promoted);
+            averagePauseNanos = average(averagePauseNanos, collectionNanos);
+            averageMutatorNanos = average(averageMutatorNanos, mutatorNanos);
+            averageSurvivedBytes = average(averageSurvivedBytes, survived.rawValue());
+
+            final UnsignedWord youngSize = HeapPolicy.getMaximumYoungGenerationSize();
+            long percent = computeYoungGenerationSizePercent(trace);
+            percent = Math.min(percent, 100L * MAX_GROWTH_FACTOR);
+            percent = Math.max(percent, 100L / MAX_SHRINK_FACTOR);
+            UnsignedWord newSize = youngSize.unsignedDivide(100).multiply(WordFactory.unsigned(percent));
+            newSize = UnsignedUtils.max(newSize, HeapPolicy.getAlignedHeapChunkSize().multiply(MIN_YOUNG_GENERATION_CHUNKS));
+            newSize = UnsignedUtils.max(newSize, WordFactory.unsigned(averageSurvivedBytes).multiply(2));
+            newSize = UnsignedUtils.min(newSize, HeapPolicy.getMaximumAdaptiveYoungGenerationSize());
+            newSize = UnsignedUtils.roundUp(newSize, HeapPolicy.getAlignedHeapChunkSize());
+            HeapPolicy.setAdaptiveYoungGenerationSize(newSize);
+            trace.string("  averagePauseNanos: ").signed(averagePauseNanos)
+                            .string("  averageMutatorNanos: ").signed(averageMutatorNanos)
+                            .string("  averageSurvivedBytes: ").signed(averageSurvivedBytes)
+                            .string("  youngSize: ").unsigned(youngSize)
+                            .string("  percent: ").signed(percent)
+                            .string("  newSize: ").unsigned(newSize)
+                            .string("]").newline();
+        }
+
+        /** Returns the new young generation size as a percentage of the current size. */
+        private long computeYoungGenerationSizePercent(Log trace) {
+            final long pauseGoalNanos = TimeUtils.millisToNanos(Options.MaxGCPauseMillis.getValue());
+            if (pauseGoalNanos > 0 && averagePauseNanos > pauseGoalNanos) {
+                /* Pauses grow with the surviving bytes, shrink proportionally to the overshoot. */
+                trace.string("  pause goal missed").newline();
+                return pauseGoalNanos * 100 / averagePauseNanos;
+            }
+            final int timeRatio = Options.GCTimeRatio.getValue();
+            assert timeRatio >= 0 : "GCTimeRatio should not be negative.";
+            final long requiredMutatorNanos = TimeUtils.multiplyOrMaxValue(averagePauseNanos, timeRatio);
+            if (requiredMutatorNanos > averageMutatorNanos) {
+                /*
+                 * The time between collections grows with the young generation size at the measured
+                 * allocation rate, so grow until the mutator runs long enough between pauses.
+                 */
+                trace.string("  throughput goal missed").newline();
+                return TimeUtils.multiplyOrMaxValue(requiredMutatorNanos, 100) / Math.max(averageMutatorNanos, 1L);
+            }
+            trace.string("  goals met").newline();
+            return SHRINK_FOR_FOOTPRINT_PERCENT;
+        }
+
+        private static long average(long average, long sample) {
+            if (average == 0L) {
+                return sample;
+            }
+            return (average * (100 - SAMPLE_WEIGHT) + sample * SAMPLE_WEIGHT) / 100;
+        }
+    }
 }
@@ -322,6 +322,7 @@ public class GCImpl implements GC {
         CommittedMemoryProvider.get().afterGarbageCollection(completeCollection);
 
         getAccounting().afterCollection(completeCollection, collectionTimer);
+        getPolicy().onCollectionEnd(completeCollection, collectionTimer.getCollectedNanos(), mutatorTimer.getLastIntervalNanos());
         UnsignedWord maxBytes = HeapPolicy.getMaximumHeapSize();
         UnsignedWord usedBytes = getChunkUsedBytesAfterCollection();
         boolean outOfMemory = usedBytes.aboveThan(maxBytes);
@@ -909,6 +910,7 @@ public class GCImpl implements GC {
         final HeapImpl heap = HeapImpl.getHeapImpl();
         final OldGeneration oldGen = heap.getOldGeneration();
         heap.getYoungGeneration().swapSpaces();
+        heap.getYoungGeneration().computeTenuringThreshold();
         oldGen.swapSpaces();
         trace.string("]").newline();
     }
@@ -1313,6 +1315,11 @@ public class GCImpl implements GC {
             return oldChunkBytesAfter;
         }
 
+        /** Bytes held in the old generation before the most recent collection. */
+        UnsignedWord getOldGenerationBeforeChunkBytes() {
+            return oldChunkBytesBefore;
+        }
+
         /** Bytes held in the young generation. */
         UnsignedWord getYoungChunkBytesAfter() {
             return youngChunkBytesAfter;
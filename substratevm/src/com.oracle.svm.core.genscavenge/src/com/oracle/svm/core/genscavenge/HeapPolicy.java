@@ -193,9 +193,16 @@ public class HeapPolicy {
         return HeapPolicyOptions.MaxSurvivorSpaces.getValue();
     }
 
+    static int getTargetSurvivorRatio() {
+        final int result = HeapPolicyOptions.TargetSurvivorRatio.getValue();
+        VMError.guarantee((result >= 0) && (result <= 100), "TargetSurvivorRatio should be in [0 ..100]");
+        return result;
+    }
+
     /* Memory configuration */
 
     private static UnsignedWord maximumYoungGenerationSize;
+    private static UnsignedWord adaptiveYoungGenerationSize;
     private static UnsignedWord minimumHeapSize;
     private static UnsignedWord maximumHeapSize;
 
@@ -221,6 +228,11 @@ public class HeapPolicy {
             trace.string("  returns maximumYoungGenerationSize: ").unsigned(hostedValue).string(" ]").newline();
             return WordFactory.unsigned(hostedValue);
         }
+        if (adaptiveYoungGenerationSize.aboveThan(WordFactory.zero())) {
+            /* If an adaptive collection policy has sized the young generation, use that value. */
+            trace.string("  returns adaptiveYoungGenerationSize: ").unsigned(adaptiveYoungGenerationSize).string(" ]").newline();
+            return adaptiveYoungGenerationSize;
+        }
 
         /* If none of those is set, use fraction of the maximum heap size. */
         final UnsignedWord maxHeapSize = getMaximumHeapSize();
@@ -241,6 +253,22 @@ public class HeapPolicy {
         return result;
     }
 
+    /**
+     * Set the young generation size chosen by an adaptive collection policy. Explicitly configured
+     * young generation sizes take precedence over this value.
+     */
+    static void setAdaptiveYoungGenerationSize(UnsignedWord value) {
+        adaptiveYoungGenerationSize = value;
+    }
+
+    /**
+     * The upper bound for the young generation size chosen by an adaptive collection policy: the
+     * fraction of the maximum heap size, but without the fixed limit of the default size.
+     */
+    static UnsignedWord getMaximumAdaptiveYoungGenerationSize() {
+        return getMaximumHeapSize().unsignedDivide(100).multiply(getMaximumYoungGenerationSizePercent());
+    }
+
     /** The maximum size of the heap as an UnsignedWord. */
     @SuppressWarnings("try")
     public static UnsignedWord getMaximumHeapSize() {
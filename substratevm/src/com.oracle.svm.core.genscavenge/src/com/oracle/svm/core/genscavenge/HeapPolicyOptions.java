@@ -77,4 +77,7 @@ public class HeapPolicyOptions {
 
     @Option(help = "Maximum value for survivor space") //
     public static final HostedOptionKey<Integer> MaxSurvivorSpaces = new HostedOptionKey<>(0);
+
+    @Option(help = "Desired percentage of the young generation size occupied by survivor spaces after a collection. The tenuring threshold is lowered when survivors exceed it.") //
+    public static final RuntimeOptionKey<Integer> TargetSurvivorRatio = new RuntimeOptionKey<>(50);
 }
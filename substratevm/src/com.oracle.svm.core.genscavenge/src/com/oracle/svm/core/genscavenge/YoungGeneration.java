@@ -48,6 +48,12 @@ public class YoungGeneration extends Generation {
     private final GreyObjectsWalker[] survivorGreyObjectsWalkers;
     private final int maxSurvivorSpaces;
 
+    /**
+     * Objects in spaces of at least this age are promoted to the old generation. Survivor spaces
+     * hold objects of the same age, so the ages of objects do not need to be tracked individually.
+     */
+    private int tenuringThreshold;
+
     /* Constructors. */
 
     @Platforms(Platform.HOSTED_ONLY.class)
@@ -63,6 +69,7 @@ public class YoungGeneration extends Generation {
         this.survivorFromSpaces = new Space[maxSurvivorSpaces];
         this.survivorToSpaces = new Space[maxSurvivorSpaces];
         this.survivorGreyObjectsWalkers = new GreyObjectsWalker[maxSurvivorSpaces];
+        this.tenuringThreshold = maxSurvivorSpaces;
         for (int i = 0; i < maxSurvivorSpaces; i++) {
             this.survivorFromSpaces[i] = new Space("Survivor-" + (i + 1) + " From", true, (i + 1));
             this.survivorToSpaces[i] = new Space("Survivor-" + (i + 1) + " To", false, (i + 1));
@@ -187,6 +194,33 @@ public class YoungGeneration extends Generation {
         }
     }
 
+    int getTenuringThreshold() {
+        return tenuringThreshold;
+    }
+
+    /**
+     * Computes the tenuring threshold for the next collection from the occupancy of the survivor
+     * spaces: objects of the youngest age at which the survivors exceed the
+     * {@linkplain HeapPolicy#getTargetSurvivorRatio() desired survivor size} and all older objects
+     * are promoted by the next collection.
+     */
+    void computeTenuringThreshold() {
+        final Log trace = Log.noopLog().string("[YoungGeneration.computeTenuringThreshold:");
+        final UnsignedWord desiredSurvivorBytes = HeapPolicy.getMaximumYoungGenerationSize().unsignedDivide(100).multiply(HeapPolicy.getTargetSurvivorRatio());
+        UnsignedWord survivorBytes = WordFactory.zero();
+        int threshold = maxSurvivorSpaces;
+        for (int i = 0; i < maxSurvivorSpaces; i++) {
+            survivorBytes = survivorBytes.add(getSurvivorFromSpaceAt(i).getChunkBytes());
+            if (survivorBytes.aboveThan(desiredSurvivorBytes)) {
+                threshold = i + 1;
+                break;
+            }
+        }
+        tenuringThreshold = threshold;
+        trace.string("  desiredSurvivorBytes: ").unsigned(desiredSurvivorBytes).string("  survivorBytes: ").unsigned(survivorBytes)
+                        .string("  tenuringThreshold: ").signed(tenuringThreshold).string("]").newline();
+    }
+
     @Override
     protected boolean verify(final HeapVerifierImpl.Occasion occasion) {
         boolean result = true;
@@ -340,7 +374,7 @@ public class YoungGeneration extends Generation {
         assert originalSpace.isEdenSpace() || originalSpace.isSurvivorSpace() : "Should be Eden or survivor.";
         assert originalSpace.isFrom() : "must not be called for other objects";
 
-        if (originalSpace.getAge() < maxSurvivorSpaces) {
+        if (originalSpace.getAge() < tenuringThreshold) {
             int age = originalSpace.getNextAgeForPromotion();
             Space toSpace = getSurvivorToSpaceAt(age - 1);
             return toSpace.promoteAlignedObject(original, originalSpace);
@@ -353,7 +387,7 @@ public class YoungGeneration extends Generation {
     private void promoteUnalignedObject(UnalignedHeapChunk.UnalignedHeader originalChunk, Space originalSpace) {
         assert originalSpace.isFrom() : "must not be called for other objects";
 
-        if (originalSpace.getAge() < maxSurvivorSpaces) {
+        if (originalSpace.getAge() < tenuringThreshold) {
             int age = originalSpace.getNextAgeForPromotion();
             Space toSpace = getSurvivorToSpaceAt(age - 1);
             toSpace.promoteUnalignedHeapChunk(originalChunk, originalSpace);
@@ -70,6 +70,8 @@ import jdk.vm.ci.meta.SpeculationLog;
  * Snippets for lowering of monitor nodes (the nodes representing the Java "synchronized" keyword).
  * There is currently no fast path, because the {@link java.util.concurrent.locks.ReentrantLock}
  * used for monitor operations cannot be inlined in a snippet without changes or code duplication.
+ * The thin lock of {@link MultiThreadedMonitorSupport#monitorEnter} is not inlined either: storing
+ * the owner thread into the monitor slot requires the GC write barrier of a regular object store.
  * 
  * For AOT compiled code, the null check for the object is already inserted by the bytecode parser,
  * i.e., the object is already guaranteed to be non-null. For JIT compiled code though the null
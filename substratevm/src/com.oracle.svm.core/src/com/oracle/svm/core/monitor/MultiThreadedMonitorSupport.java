@@ -72,6 +72,13 @@ import sun.misc.Unsafe;
  * (and thus need a monitor) and assigns a monitor offset to point to the {@link #getMonitorOffset
  * slot for the monitor}. The monitor is implemented with a {@link ReentrantLock}.
  * <p>
+ * Most synchronization is uncontended and not recursive, so the slot is first used as a thin lock:
+ * {@link #monitorEnter} atomically swaps the current {@link Thread} into an empty slot, and
+ * {@link #monitorExit} swaps it back to {@code null}. No {@link ReentrantLock} is allocated for such
+ * objects. The thin lock is {@link #inflateThinLock inflated} to a {@link ReentrantLock} owned by
+ * the same thread when another thread contends for it, when the owner locks it recursively, or when
+ * the owner waits on it. An inflated monitor is never deflated again.
+ * <p>
  * There are a few exceptions: {@link String} and {@link DynamicHub} objects never have monitor
  * fields because we want instances in the image heap to be immutable. Arrays never have monitor
  * fields because it would increase the size of every array and it is not possible to distinguish
@@ -79,7 +86,8 @@ import sun.misc.Unsafe;
  * UniverseBuilder.canHaveMonitorFields(AnalysisType) for details.
  * <p>
  * Synchronization on {@link String}, arrays, and other types not detected by the static analysis
- * (like synchronization via JNI) fall back to a monitor stored in {@link #additionalMonitors}.
+ * (like synchronization via JNI) fall back to a monitor stored in {@link #additionalMonitors}. These
+ * objects do not use thin locks.
  * <p>
  * {@link Condition} objects are used to implement {@link #wait()} and {@link #notify()}. When an
  * object monitor needs a condition object, it is atomically swapped into its
@@ -100,12 +108,27 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
     /** Substituted in {@link Target_com_oracle_svm_core_monitor_MultiThreadedMonitorSupport} */
     private static long SYNC_MONITOR_CONDITION_FIELD_OFFSET = -1;
 
+    /** Number of independently locked parts of {@link #additionalMonitors}, a power of two. */
+    private static final int ADDITIONAL_MONITORS_STRIPES = 16;
+
     /**
-     * Secondary storage for monitor slots. Synchronized to prevent concurrent access and
-     * modification.
+     * Secondary storage for monitor slots, split by identity hash code so that threads
+     * synchronizing on unrelated objects do not serialize on a single lock. Each map is
+     * synchronized by the lock at the same index in {@link #additionalMonitorsLocks} to prevent
+     * concurrent access and modification.
      */
-    private final Map<Object, ReentrantLock> additionalMonitors = new WeakIdentityHashMap<>();
-    private final ReentrantLock additionalMonitorsLock = new ReentrantLock();
+    private final Map<Object, ReentrantLock>[] additionalMonitors;
+    private final ReentrantLock[] additionalMonitorsLocks;
+
+    @SuppressWarnings("unchecked")
+    public MultiThreadedMonitorSupport() {
+        additionalMonitors = (Map<Object, ReentrantLock>[]) new Map<?, ?>[ADDITIONAL_MONITORS_STRIPES];
+        additionalMonitorsLocks = new ReentrantLock[ADDITIONAL_MONITORS_STRIPES];
+        for (int i = 0; i < ADDITIONAL_MONITORS_STRIPES; i++) {
+            additionalMonitors[i] = new WeakIdentityHashMap<>();
+            additionalMonitorsLocks[i] = new ReentrantLock();
+        }
+    }
 
     @Override
     public int maybeAdjustNewParkStatus(int status) {
@@ -161,6 +184,11 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
     @RestrictHeapAccess(reason = NO_LONGER_UNINTERRUPTIBLE, overridesCallers = true, access = Access.UNRESTRICTED)
     @Override
     public void monitorEnter(Object obj) {
+        int monitorOffset = getMonitorOffset(obj);
+        if (monitorOffset != 0 && UNSAFE.compareAndSwapObject(obj, monitorOffset, null, Thread.currentThread())) {
+            /* Fast path: the object was unlocked and is now thin-locked by the current thread. */
+            return;
+        }
         ReentrantLock lockObject = getOrCreateMonitor(obj, true);
         lockObject.lock();
     }
@@ -193,6 +221,11 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
     @RestrictHeapAccess(reason = NO_LONGER_UNINTERRUPTIBLE, overridesCallers = true, access = Access.UNRESTRICTED)
     @Override
     public void monitorExit(Object obj) {
+        int monitorOffset = getMonitorOffset(obj);
+        if (monitorOffset != 0 && UNSAFE.compareAndSwapObject(obj, monitorOffset, Thread.currentThread(), null)) {
+            /* Fast path: the thin lock was not inflated while the current thread held it. */
+            return;
+        }
         ReentrantLock lockObject = getOrCreateMonitor(obj, true);
         lockObject.unlock();
     }
@@ -208,11 +241,12 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
         if (monitorOffset != 0) {
             existingMonitor = UNSAFE.getAndSetObject(obj, monitorOffset, newMonitor);
         } else {
-            additionalMonitorsLock.lock();
+            int stripe = getAdditionalMonitorsStripe(obj);
+            additionalMonitorsLocks[stripe].lock();
             try {
-                existingMonitor = additionalMonitors.put(obj, newMonitor);
+                existingMonitor = additionalMonitors[stripe].put(obj, newMonitor);
             } finally {
-                additionalMonitorsLock.unlock();
+                additionalMonitorsLocks[stripe].unlock();
             }
         }
         VMError.guarantee(existingMonitor == null, "Rematerialized object was already locked");
@@ -220,6 +254,10 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
 
     @Override
     public boolean holdsLock(Object obj) {
+        int monitorOffset = getMonitorOffset(obj);
+        if (monitorOffset != 0 && BarrieredAccess.readObject(obj, monitorOffset) == Thread.currentThread()) {
+            return true;
+        }
         ReentrantLock lockObject = getOrCreateMonitor(obj, false);
         return lockObject != null && lockObject.isHeldByCurrentThread();
     }
@@ -242,6 +280,11 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
 
     @Override
     public void notify(Object obj, boolean notifyAll) {
+        int monitorOffset = getMonitorOffset(obj);
+        if (monitorOffset != 0 && BarrieredAccess.readObject(obj, monitorOffset) == Thread.currentThread()) {
+            /* Waiting inflates the lock, so a thin lock cannot have waiters. */
+            return;
+        }
         /* Make sure the current thread holds the lock on the receiver. */
         ReentrantLock lock = ensureLocked(obj);
         /* Find the wait/notify condition of the receiver. */
@@ -281,44 +324,87 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
         }
     }
 
+    /**
+     * Returns the {@link ReentrantLock} in the monitor slot of the object. A thin lock in the slot
+     * is {@link #inflateThinLock inflated} if {@code createIfNotExisting} is true. Otherwise
+     * {@code null} is returned for a thin lock, so callers must check for a thin lock of the
+     * current thread themselves.
+     */
     protected ReentrantLock getOrCreateMonitorFromObject(Object obj, boolean createIfNotExisting, int monitorOffset) {
-        ReentrantLock existingMonitor = KnownIntrinsics.convertUnknownValue(BarrieredAccess.readObject(obj, monitorOffset), ReentrantLock.class);
-        if (existingMonitor != null || !createIfNotExisting) {
-            assert existingMonitor == null || isMonitorLock(existingMonitor);
-            return existingMonitor;
+        while (true) {
+            Object existing = KnownIntrinsics.convertUnknownValue(BarrieredAccess.readObject(obj, monitorOffset), Object.class);
+            if (existing instanceof Thread) {
+                if (!createIfNotExisting) {
+                    /* Do not inflate the uncontended lock of another thread just to query it. */
+                    return null;
+                }
+                ReentrantLock inflatedMonitor = inflateThinLock(obj, monitorOffset, (Thread) existing);
+                if (inflatedMonitor != null) {
+                    return inflatedMonitor;
+                }
+                /* The owner released the thin lock or another thread inflated it, retry. */
+                continue;
+            }
+            ReentrantLock existingMonitor = KnownIntrinsics.convertUnknownValue(existing, ReentrantLock.class);
+            if (existingMonitor != null || !createIfNotExisting) {
+                assert existingMonitor == null || isMonitorLock(existingMonitor);
+                return existingMonitor;
+            }
+            /* Atomically put a new lock in place of the null at the monitorOffset. */
+            ReentrantLock newMonitor = newMonitorLock();
+            if (UNSAFE.compareAndSwapObject(obj, monitorOffset, null, newMonitor)) {
+                return newMonitor;
+            }
+            /* We lost the race, use the lock or thin lock some other thread installed. */
         }
-        /* Atomically put a new lock in place of the null at the monitorOffset. */
-        ReentrantLock newMonitor = newMonitorLock();
-        if (UNSAFE.compareAndSwapObject(obj, monitorOffset, null, newMonitor)) {
-            return newMonitor;
+    }
+
+    /**
+     * Replaces the thin lock of {@code owner} in the monitor slot by a {@link ReentrantLock} that
+     * is locked once by {@code owner}, which can be a different thread than the current thread.
+     * The owner notices the inflation when its compare-and-swap in {@link #monitorExit} fails, and
+     * then unlocks the inflated lock instead.
+     *
+     * @return the inflated lock, or {@code null} if the slot no longer contains the thin lock
+     */
+    protected static ReentrantLock inflateThinLock(Object obj, int monitorOffset, Thread owner) {
+        ReentrantLock inflatedMonitor = newLockedMonitorForThread(owner, 1);
+        if (UNSAFE.compareAndSwapObject(obj, monitorOffset, owner, inflatedMonitor)) {
+            return inflatedMonitor;
         }
-        /* We lost the race, use the lock some other thread installed. */
-        return KnownIntrinsics.convertUnknownValue(BarrieredAccess.readObject(obj, monitorOffset), ReentrantLock.class);
+        return null;
     }
 
     protected ReentrantLock getOrCreateMonitorFromMap(Object obj, boolean createIfNotExisting) {
         assert obj.getClass() != Target_java_lang_ref_ReferenceQueue_Lock.class : "ReferenceQueue.Lock must have a monitor field or we can deadlock accessing WeakIdentityHashMap below";
 
         /*
-         * Lock the monitor map and maybe add a monitor for this object. This serialization might be
-         * a scalability problem.
+         * Lock the part of the monitor map for this object and maybe add a monitor for it. Only
+         * objects that hash to the same part are serialized.
          */
-        additionalMonitorsLock.lock();
+        int stripe = getAdditionalMonitorsStripe(obj);
+        Map<Object, ReentrantLock> stripeMonitors = additionalMonitors[stripe];
+        additionalMonitorsLocks[stripe].lock();
         try {
-            ReentrantLock existingMonitor = additionalMonitors.get(obj);
+            ReentrantLock existingMonitor = stripeMonitors.get(obj);
             if (existingMonitor != null || !createIfNotExisting) {
                 assert existingMonitor == null || isMonitorLock(existingMonitor);
                 return existingMonitor;
             }
             ReentrantLock newMonitor = newMonitorLock();
-            ReentrantLock previousEntry = additionalMonitors.put(obj, newMonitor);
+            ReentrantLock previousEntry = stripeMonitors.put(obj, newMonitor);
             VMError.guarantee(previousEntry == null, "Replaced monitor in secondary storage map");
             return newMonitor;
         } finally {
-            additionalMonitorsLock.unlock();
+            additionalMonitorsLocks[stripe].unlock();
         }
     }
 
+    private static int getAdditionalMonitorsStripe(Object obj) {
+        int hash = System.identityHashCode(obj);
+        return (hash ^ (hash >>> 16)) & (ADDITIONAL_MONITORS_STRIPES - 1);
+    }
+
     protected static ReentrantLock newMonitorLock() {
         ReentrantLock newMonitor = new ReentrantLock();
         Target_java_util_concurrent_locks_ReentrantLock lock = SubstrateUtil.cast(newMonitor, Target_java_util_concurrent_locks_ReentrantLock.class);
@@ -334,6 +420,10 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
      * (for a good reason, because it is a highly unusual operation).
      */
     protected static ReentrantLock newLockedMonitorForThread(IsolateThread isolateThread, int recursionDepth) {
+        return newLockedMonitorForThread(JavaThreads.fromVMThread(isolateThread), recursionDepth);
+    }
+
+    protected static ReentrantLock newLockedMonitorForThread(Thread thread, int recursionDepth) {
         ReentrantLock result = newMonitorLock();
         for (int i = 0; i < recursionDepth; i++) {
             result.lock();
@@ -343,7 +433,7 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
         Target_java_util_concurrent_locks_AbstractOwnableSynchronizer sync = SubstrateUtil.cast(lock.sync, Target_java_util_concurrent_locks_AbstractOwnableSynchronizer.class);
 
         assert sync.getExclusiveOwnerThread() == Thread.currentThread() : "Must be locked by current thread";
-        sync.setExclusiveOwnerThread(JavaThreads.fromVMThread(isolateThread));
+        sync.setExclusiveOwnerThread(thread);
 
         return result;
     }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MonitorTest {
+
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 100_000;
+
+    static class Counter {
+        int value;
+    }
+
+    @Test
+    public void testRecursiveLocking() {
+        Counter counter = new Counter();
+        Assert.assertFalse(Thread.holdsLock(counter));
+        synchronized (counter) {
+            Assert.assertTrue(Thread.holdsLock(counter));
+            synchronized (counter) {
+                Assert.assertTrue(Thread.holdsLock(counter));
+            }
+            Assert.assertTrue(Thread.holdsLock(counter));
+        }
+        Assert.assertFalse(Thread.holdsLock(counter));
+    }
+
+    @Test
+    public void testHoldsLockOfOtherThread() throws InterruptedException {
+        Counter counter = new Counter();
+        boolean[] heldByOther = new boolean[1];
+        synchronized (counter) {
+            Thread other = new Thread(() -> heldByOther[0] = Thread.holdsLock(counter));
+            other.start();
+            other.join();
+            Assert.assertTrue(Thread.holdsLock(counter));
+        }
+        Assert.assertFalse(heldByOther[0]);
+        Assert.assertFalse(Thread.holdsLock(counter));
+        Thread locker = new Thread(() -> {
+            synchronized (counter) {
+                counter.value++;
+            }
+        });
+        locker.start();
+        locker.join();
+        synchronized (counter) {
+            Assert.assertEquals(1, counter.value);
+        }
+    }
+
+    @Test
+    public void testContendedLocking() throws InterruptedException {
+        Counter counter = new Counter();
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < ITERATIONS; j++) {
+                    synchronized (counter) {
+                        counter.value++;
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        synchronized (counter) {
+            Assert.assertEquals(THREADS * ITERATIONS, counter.value);
+        }
+    }
+
+    @Test
+    public void testWaitNotify() throws InterruptedException {
+        Counter counter = new Counter();
+        Thread waiter = new Thread(() -> {
+            synchronized (counter) {
+                while (counter.value == 0) {
+                    try {
+                        counter.wait();
+                    } catch (InterruptedException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+                counter.value++;
+            }
+        });
+        waiter.start();
+        synchronized (counter) {
+            counter.value = 1;
+            counter.notifyAll();
+        }
+        waiter.join();
+        synchronized (counter) {
+            Assert.assertEquals(2, counter.value);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.ResourceLimits;
+import org.graalvm.polyglot.Source;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the overhead of statement limits that charge every statement immediately with
+ * statement limits that charge statements in batches.
+ */
+public class StatementLimitBenchmark extends TruffleBenchmark {
+
+    private static final String CODE = "ROOT(\n" +
+                    "  DEFINE(shortLoop,\n" +
+                    "    LOOP(10, STATEMENT(EXPRESSION))\n" +
+                    "  ),\n" +
+                    "  LOOP(1000, STATEMENT(EXPRESSION), CALL(shortLoop))\n" +
+                    ")";
+
+    @State(Scope.Thread)
+    public static class StatementLimitState {
+
+        @Param({"none", "exact", "batched"}) public String mode;
+
+        final Source source = Source.newBuilder("instrumentation-test-language", CODE, "StatementLimitBenchmark.instr").buildLiteral();
+        Context context;
+
+        @Setup
+        public void setup() {
+            Context.Builder builder = Context.newBuilder().allowExperimentalOptions(true);
+            if (!mode.equals("none")) {
+                builder.resourceLimits(ResourceLimits.newBuilder().statementLimit(Long.MAX_VALUE - 1, null).build());
+            }
+            if (mode.equals("batched")) {
+                builder.option("engine.StatementLimitBatchSize", "1000");
+            }
+            context = builder.build();
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Object statements(StatementLimitState state) {
+        state.context.resetLimits();
+        return state.context.eval(state.source);
+    }
+
+}
@@ -69,7 +69,21 @@ import org.graalvm.polyglot.ResourceLimits;
 import org.graalvm.polyglot.Source;
 import org.junit.Test;
 
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.GenerateWrapper;
+import com.oracle.truffle.api.instrumentation.InstrumentableNode;
+import com.oracle.truffle.api.instrumentation.ProbeNode;
+import com.oracle.truffle.api.instrumentation.ProvidedTags;
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.api.test.ReflectionUtils;
+import com.oracle.truffle.api.test.polyglot.ProxyLanguage;
 
 public class ResourceLimitsTest {
 
@@ -233,6 +247,154 @@ public class ResourceLimitsTest {
         }
     }
 
+    @Test
+    public void testStatementLimitBatched() {
+        ResourceLimits limits = ResourceLimits.newBuilder().//
+                        statementLimit(50, null).//
+                        build();
+
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).option("engine.StatementLimitBatchSize", "10").resourceLimits(limits).build()) {
+            // the rest of a batch is charged when the root returns
+            context.eval(InstrumentationTestLanguage.ID, "ROOT(LOOP(45, STATEMENT))");
+            try {
+                context.eval(InstrumentationTestLanguage.ID, "ROOT(LOOP(20, STATEMENT))");
+                fail();
+            } catch (PolyglotException e) {
+                assertTrue(e.isCancelled());
+                assertEquals("Statement count limit of 50 exceeded. Statements executed 55.", e.getMessage());
+            }
+        }
+
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).option("engine.StatementLimitBatchSize", "10").resourceLimits(limits).build()) {
+            try {
+                context.eval(statements(Integer.MAX_VALUE));
+                fail();
+            } catch (PolyglotException e) {
+                assertTrue(e.isCancelled());
+                assertEquals("Statement count limit of 50 exceeded. Statements executed 60.", e.getMessage());
+            }
+        }
+
+        assertFails(() -> Context.newBuilder().allowExperimentalOptions(true).option("engine.StatementLimitBatchSize", "0").resourceLimits(limits).build(), IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testStatementLimitBatchedWithoutRootTag() {
+        ResourceLimits limits = ResourceLimits.newBuilder().//
+                        statementLimit(50, null).//
+                        build();
+
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).option("engine.StatementLimitBatchSize", "10").resourceLimits(limits).build()) {
+            // the language provides no root tags, so every statement is charged exactly
+            context.eval(StatementOnlyLanguage.ID, "45");
+            try {
+                context.eval(StatementOnlyLanguage.ID, "20");
+                fail();
+            } catch (PolyglotException e) {
+                assertTrue(e.isCancelled());
+                assertEquals("Statement count limit of 50 exceeded. Statements executed 51.", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testStatementLimitBatchedUntaggedRoot() {
+        ResourceLimits limits = ResourceLimits.newBuilder().//
+                        statementLimit(50, null).//
+                        build();
+
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).option("engine.StatementLimitBatchSize", "10").resourceLimits(limits).build()) {
+            // the language provides root tags, but its root nodes have no root tag node
+            for (int i = 0; i < 16; i++) {
+                context.eval(UntaggedRootLanguage.ID, "3");
+            }
+            try {
+                context.eval(UntaggedRootLanguage.ID, "3");
+                fail();
+            } catch (PolyglotException e) {
+                assertTrue(e.isCancelled());
+                assertEquals("Statement count limit of 50 exceeded. Statements executed 51.", e.getMessage());
+            }
+        }
+    }
+
+    @TruffleLanguage.Registration(id = UntaggedRootLanguage.ID, name = "Untagged Root Test Language", version = "1.0")
+    @ProvidedTags({StandardTags.RootTag.class, StandardTags.StatementTag.class})
+    public static class UntaggedRootLanguage extends StatementOnlyLanguage {
+
+        static final String ID = "truffle-untagged-root-test-language";
+
+    }
+
+    @TruffleLanguage.Registration(id = StatementOnlyLanguage.ID, name = "Statement Only Test Language", version = "1.0")
+    @ProvidedTags({StandardTags.StatementTag.class})
+    public static class StatementOnlyLanguage extends ProxyLanguage {
+
+        static final String ID = "truffle-statement-only-test-language";
+
+        @Override
+        protected CallTarget parse(ParsingRequest request) throws Exception {
+            com.oracle.truffle.api.source.Source source = request.getSource();
+            int count = Integer.parseInt(source.getCharacters().toString());
+            return Truffle.getRuntime().createCallTarget(new RootNode(this) {
+
+                @Child private StatementNode statement = new StatementNode(source.createSection(1));
+
+                @Override
+                public Object execute(VirtualFrame frame) {
+                    for (int i = 0; i < count; i++) {
+                        statement.execute(frame);
+                    }
+                    return count;
+                }
+
+                @Override
+                public SourceSection getSourceSection() {
+                    return source.createSection(1);
+                }
+
+            });
+        }
+
+        @GenerateWrapper
+        static class StatementNode extends Node implements InstrumentableNode {
+
+            private final SourceSection sourceSection;
+
+            StatementNode(SourceSection sourceSection) {
+                this.sourceSection = sourceSection;
+            }
+
+            StatementNode(StatementNode copy) {
+                this.sourceSection = copy.sourceSection;
+            }
+
+            @SuppressWarnings("unused")
+            public void execute(VirtualFrame frame) {
+            }
+
+            @Override
+            public boolean isInstrumentable() {
+                return true;
+            }
+
+            @Override
+            public WrapperNode createWrapper(ProbeNode probe) {
+                return new StatementNodeWrapper(this, this, probe);
+            }
+
+            @Override
+            public boolean hasTag(Class<? extends Tag> tag) {
+                return tag == StandardTags.StatementTag.class;
+            }
+
+            @Override
+            public SourceSection getSourceSection() {
+                return sourceSection;
+            }
+        }
+    }
+
     @Test
     public void testStatementLimitFilter() {
         Source internalSource = statements(10, "internalSource");
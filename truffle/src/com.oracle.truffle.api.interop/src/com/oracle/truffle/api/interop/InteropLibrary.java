@@ -959,6 +959,136 @@ public abstract class InteropLibrary extends Library {
         return isArrayElementModifiable(receiver, index) || isArrayElementReadable(receiver, index) || isArrayElementRemovable(receiver, index);
     }
 
+    /**
+     * Reads {@code length} consecutive array elements starting at {@code index} into a Java
+     * primitive array. The destination must be a <code>byte[]</code>, <code>short[]</code>,
+     * <code>int[]</code>, <code>long[]</code>, <code>float[]</code> or <code>double[]</code>. Every
+     * element is converted to the component type of the destination like with
+     * {@link #asByte(Object)}, {@link #asShort(Object)}, {@link #asInt(Object)},
+     * {@link #asLong(Object)}, {@link #asFloat(Object)} or {@link #asDouble(Object)}. This method
+     * must have not observable side-effect other than the written destination elements.
+     * <p>
+     * By default the elements are read one by one using {@link #readArrayElement(Object, long)}.
+     * Receivers that store their elements in primitive memory should export this message and copy
+     * the range in bulk. If an exception is thrown some of the destination elements may already be
+     * written.
+     *
+     * @param index the array index of the first element to read
+     * @param destination the primitive array to store the elements into
+     * @param destinationOffset the index in the destination of the first element to store
+     * @param length the number of elements to read
+     * @throws UnsupportedMessageException when the receiver does not support reading at all or if
+     *             an element cannot be converted lossless to the component type of the
+     *             destination.
+     * @throws InvalidArrayIndexException if one of the array indices in the range is not
+     *             {@link #isArrayElementReadable(Object, long) readable}.
+     * @throws IllegalArgumentException if the destination is not a supported primitive array.
+     * @throws IndexOutOfBoundsException if the range does not fit into the destination.
+     * @see #writeArrayElements(Object, long, Object, int, int)
+     * @since 20.1
+     */
+    public void readArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidArrayIndexException {
+        checkPrimitiveArrayRange(destination, destinationOffset, length);
+        for (int i = 0; i < length; i++) {
+            storePrimitiveArrayElement(destination, destinationOffset + i, readArrayElement(receiver, index + i));
+        }
+    }
+
+    /**
+     * Writes {@code length} consecutive array elements starting at {@code index} from a Java
+     * primitive array. The source must be a <code>byte[]</code>, <code>short[]</code>,
+     * <code>int[]</code>, <code>long[]</code>, <code>float[]</code> or <code>double[]</code>. Every
+     * source element is written like a boxed primitive value with
+     * {@link #writeArrayElement(Object, long, Object)}. This method must have not observable
+     * side-effects other than the changed array elements.
+     * <p>
+     * By default the elements are written one by one using
+     * {@link #writeArrayElement(Object, long, Object)}. Receivers that store their elements in
+     * primitive memory should export this message and copy the range in bulk. If an exception is
+     * thrown some of the array elements may already be written.
+     *
+     * @param index the array index of the first element to write
+     * @param source the primitive array to load the elements from
+     * @param sourceOffset the index in the source of the first element to load
+     * @param length the number of elements to write
+     * @throws UnsupportedMessageException when the receiver does not support writing at all, e.g.
+     *             when it is immutable.
+     * @throws InvalidArrayIndexException if one of the array indices in the range is neither
+     *             {@link #isArrayElementInsertable(Object, long) insertable} nor
+     *             {@link #isArrayElementModifiable(Object, long) modifiable}.
+     * @throws UnsupportedTypeException if the component type of the source is not allowed to be
+     *             written.
+     * @throws IllegalArgumentException if the source is not a supported primitive array.
+     * @throws IndexOutOfBoundsException if the range does not fit into the source.
+     * @see #readArrayElements(Object, long, Object, int, int)
+     * @since 20.1
+     */
+    public void writeArrayElements(Object receiver, long index, Object source, int sourceOffset, int length)
+                    throws UnsupportedMessageException, UnsupportedTypeException, InvalidArrayIndexException {
+        checkPrimitiveArrayRange(source, sourceOffset, length);
+        for (int i = 0; i < length; i++) {
+            writeArrayElement(receiver, index + i, loadPrimitiveArrayElement(source, sourceOffset + i));
+        }
+    }
+
+    private static void checkPrimitiveArrayRange(Object array, int offset, int length) {
+        int arrayLength;
+        if (array instanceof byte[]) {
+            arrayLength = ((byte[]) array).length;
+        } else if (array instanceof short[]) {
+            arrayLength = ((short[]) array).length;
+        } else if (array instanceof int[]) {
+            arrayLength = ((int[]) array).length;
+        } else if (array instanceof long[]) {
+            arrayLength = ((long[]) array).length;
+        } else if (array instanceof float[]) {
+            arrayLength = ((float[]) array).length;
+        } else if (array instanceof double[]) {
+            arrayLength = ((double[]) array).length;
+        } else {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalArgumentException("Expected a byte[], short[], int[], long[], float[] or double[] array but got " + (array == null ? "null" : array.getClass().getName()) + ".");
+        }
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength + ".");
+        }
+    }
+
+    @TruffleBoundary
+    private static void storePrimitiveArrayElement(Object array, int arrayIndex, Object element) throws UnsupportedMessageException {
+        InteropLibrary interop = InteropLibrary.getFactory().getUncached(element);
+        if (array instanceof byte[]) {
+            ((byte[]) array)[arrayIndex] = interop.asByte(element);
+        } else if (array instanceof short[]) {
+            ((short[]) array)[arrayIndex] = interop.asShort(element);
+        } else if (array instanceof int[]) {
+            ((int[]) array)[arrayIndex] = interop.asInt(element);
+        } else if (array instanceof long[]) {
+            ((long[]) array)[arrayIndex] = interop.asLong(element);
+        } else if (array instanceof float[]) {
+            ((float[]) array)[arrayIndex] = interop.asFloat(element);
+        } else {
+            ((double[]) array)[arrayIndex] = interop.asDouble(element);
+        }
+    }
+
+    private static Object loadPrimitiveArrayElement(Object array, int arrayIndex) {
+        if (array instanceof byte[]) {
+            return ((byte[]) array)[arrayIndex];
+        } else if (array instanceof short[]) {
+            return ((short[]) array)[arrayIndex];
+        } else if (array instanceof int[]) {
+            return ((int[]) array)[arrayIndex];
+        } else if (array instanceof long[]) {
+            return ((long[]) array)[arrayIndex];
+        } else if (array instanceof float[]) {
+            return ((float[]) array)[arrayIndex];
+        } else {
+            return ((double[]) array)[arrayIndex];
+        }
+    }
+
     /**
      * Returns <code>true</code> if the receiver value represents a native pointer. Native pointers
      * are represented as 64 bit pointers. Invoking this message does not cause any observable
@@ -2251,6 +2381,41 @@ public abstract class InteropLibrary extends Library {
             }
         }
 
+        @Override
+        public void readArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidArrayIndexException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.readArrayElements(receiver, index, destination, destinationOffset, length);
+                return;
+            }
+            assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, destination);
+            try {
+                delegate.readArrayElements(receiver, index, destination, destinationOffset, length);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void writeArrayElements(Object receiver, long index, Object source, int sourceOffset, int length)
+                        throws UnsupportedMessageException, UnsupportedTypeException, InvalidArrayIndexException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeArrayElements(receiver, index, source, sourceOffset, length);
+                return;
+            }
+            assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, source);
+            try {
+                delegate.writeArrayElements(receiver, index, source, sourceOffset, length);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnsupportedTypeException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
         @Override
         public long getArraySize(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.object;
+
+import com.oracle.truffle.api.library.GenerateLibrary;
+import com.oracle.truffle.api.library.GenerateLibrary.DefaultExport;
+import com.oracle.truffle.api.library.Library;
+import com.oracle.truffle.api.library.LibraryFactory;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+
+/**
+ * Library for property access on {@link DynamicObject dynamic objects}. Cached instances of this
+ * library specialize on the {@link Shape} of the receiver and the property key, so that repeated
+ * accesses on objects of the same shape only need a shape check before the value is read from or
+ * written to its {@link Location}. Accesses on obsolete shapes, megamorphic accesses and
+ * operations that need a structural change of the object are handled by the uncached version.
+ * <p>
+ * Usage example:
+ *
+ * <pre>
+ * &#64;Specialization(limit = "3")
+ * static Object read(DynamicObject receiver, Object key,
+ *                 &#64;CachedLibrary("receiver") DynamicObjectLibrary objLib) {
+ *     return objLib.getOrDefault(receiver, key, NULL_VALUE);
+ * }
+ * </pre>
+ *
+ * @see DynamicObject
+ * @see Shape
+ * @since 20.1
+ */
+@GenerateLibrary(dynamicDispatchEnabled = false)
+@DefaultExport(DynamicObjectLibraryImpl.class)
+public abstract class DynamicObjectLibrary extends Library {
+
+    static final LibraryFactory<DynamicObjectLibrary> FACTORY = LibraryFactory.resolve(DynamicObjectLibrary.class);
+
+    /**
+     * Constructor for generated subclasses. Subclasses of this class are generated, do not extend
+     * this class directly.
+     *
+     * @since 20.1
+     */
+    protected DynamicObjectLibrary() {
+    }
+
+    /**
+     * Returns the library factory for this library. Short-cut for
+     * {@link LibraryFactory#resolve(Class) LibraryFactory.resolve(DynamicObjectLibrary.class)}.
+     *
+     * @since 20.1
+     */
+    public static LibraryFactory<DynamicObjectLibrary> getFactory() {
+        return FACTORY;
+    }
+
+    /**
+     * Returns the uncached dispatched version of this library.
+     *
+     * @since 20.1
+     */
+    public static DynamicObjectLibrary getUncached() {
+        return FACTORY.getUncached();
+    }
+
+    /**
+     * Returns the current shape of the object.
+     *
+     * @since 20.1
+     */
+    public abstract Shape getShape(DynamicObject object);
+
+    /**
+     * Gets the value of a property or returns a default value if no such property exists.
+     *
+     * @param key the property key
+     * @param defaultValue value to be returned if the property does not exist
+     * @return the property's value or {@code defaultValue} if the object has no such property
+     * @since 20.1
+     */
+    public abstract Object getOrDefault(DynamicObject object, Object key, Object defaultValue);
+
+    /**
+     * Gets the value of an {@code int} property without boxing it if it is stored in an
+     * {@link IntLocation}.
+     *
+     * @throws UnexpectedResultException if the property is missing or its value is not an
+     *             {@code int}; the exception carries the value or {@code defaultValue}
+     * @see #getOrDefault(DynamicObject, Object, Object)
+     * @since 20.1
+     */
+    public abstract int getIntOrDefault(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException;
+
+    /**
+     * Gets the value of a {@code long} property without boxing it if it is stored in a
+     * {@link LongLocation}.
+     *
+     * @throws UnexpectedResultException if the property is missing or its value is not a
+     *             {@code long}; the exception carries the value or {@code defaultValue}
+     * @see #getOrDefault(DynamicObject, Object, Object)
+     * @since 20.1
+     */
+    public abstract long getLongOrDefault(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException;
+
+    /**
+     * Gets the value of a {@code double} property without boxing it if it is stored in a
+     * {@link DoubleLocation}.
+     *
+     * @throws UnexpectedResultException if the property is missing or its value is not a
+     *             {@code double}; the exception carries the value or {@code defaultValue}
+     * @see #getOrDefault(DynamicObject, Object, Object)
+     * @since 20.1
+     */
+    public abstract double getDoubleOrDefault(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException;
+
+    /**
+     * Sets the value of an existing property or adds a new property with flags {@code 0}. The
+     * flags of an existing property are retained. Generalizes the property's location if the value
+     * cannot be stored in it.
+     *
+     * @param key the property key
+     * @param value the value to be set
+     * @since 20.1
+     */
+    public abstract void put(DynamicObject object, Object key, Object value);
+
+    /**
+     * Like {@link #put(DynamicObject, Object, Object)}, but additionally sets the property flags.
+     *
+     * @since 20.1
+     */
+    public abstract void putWithFlags(DynamicObject object, Object key, Object value, int flags);
+
+    /**
+     * Removes the property with the given key from the object.
+     *
+     * @return {@code true} if the property was removed, {@code false} if it did not exist
+     * @since 20.1
+     */
+    public abstract boolean removeKey(DynamicObject object, Object key);
+
+    /**
+     * Returns {@code true} if the object has a property with the given key.
+     *
+     * @since 20.1
+     */
+    public abstract boolean containsKey(DynamicObject object, Object key);
+
+    /**
+     * Gets the flags of a property or returns a default value if no such property exists.
+     *
+     * @since 20.1
+     */
+    public abstract int getPropertyFlagsOrDefault(DynamicObject object, Object key, int defaultValue);
+
+    /**
+     * Sets the flags of an existing property.
+     *
+     * @return {@code true} if the property exists, {@code false} otherwise
+     * @since 20.1
+     */
+    public abstract boolean setPropertyFlags(DynamicObject object, Object key, int flags);
+
+    /**
+     * Ensures the object's shape is up-to-date, i.e. migrates the object away from an obsolete
+     * shape.
+     *
+     * @return {@code true} if the object's shape was changed
+     * @see DynamicObject#updateShape()
+     * @since 20.1
+     */
+    public abstract boolean updateShape(DynamicObject object);
+}
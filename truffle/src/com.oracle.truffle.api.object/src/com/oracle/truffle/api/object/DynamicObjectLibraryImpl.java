@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.object;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+
+/**
+ * Default implementation of {@link DynamicObjectLibrary}. Every message caches the receiver shape
+ * and the key together with the property found for them. Cached specializations are guarded by the
+ * shape's {@linkplain Shape#getValidAssumption() valid assumption} so that they are dropped as soon
+ * as a shape becomes obsolete. Objects that still have an obsolete shape are migrated to a valid
+ * shape on access so that they do not make the cache megamorphic.
+ */
+@ExportLibrary(value = DynamicObjectLibrary.class, receiverType = DynamicObject.class)
+@SuppressWarnings("unused")
+final class DynamicObjectLibraryImpl {
+
+    static final int SHAPE_CACHE_LIMIT = 3;
+
+    private DynamicObjectLibraryImpl() {
+    }
+
+    static boolean keyEquals(Object cachedKey, Object key) {
+        if (cachedKey == key) {
+            return true;
+        } else if (cachedKey instanceof String) {
+            return cachedKey.equals(key);
+        }
+        return false;
+    }
+
+    @ExportMessage
+    static Shape getShape(DynamicObject object) {
+        return object.getShape();
+    }
+
+    @ExportMessage
+    static class GetOrDefault {
+
+        @Specialization(guards = {"object.getShape() == cachedShape", "keyEquals(cachedKey, key)"}, assumptions = "cachedShape.getValidAssumption()", limit = "SHAPE_CACHE_LIMIT")
+        static Object doCached(DynamicObject object, Object key, Object defaultValue,
+                        @Cached("object.getShape()") Shape cachedShape,
+                        @Cached("key") Object cachedKey,
+                        @Cached("cachedShape.getProperty(cachedKey)") Property cachedProperty) {
+            if (cachedProperty == null) {
+                return defaultValue;
+            }
+            return cachedProperty.getLocation().get(object, cachedShape);
+        }
+
+        @Specialization(guards = "!object.getShape().isValid()")
+        static Object doObsolete(DynamicObject object, Object key, Object defaultValue) {
+            updateShapeGeneric(object);
+            return getGeneric(object, key, defaultValue);
+        }
+
+        @Specialization(replaces = "doCached")
+        static Object doGeneric(DynamicObject object, Object key, Object defaultValue) {
+            return getGeneric(object, key, defaultValue);
+        }
+    }
+
+    @ExportMessage
+    static class GetIntOrDefault {
+
+        @Specialization(guards = {"object.getShape() == cachedShape", "keyEquals(cachedKey, key)"}, assumptions = "cachedShape.getValidAssumption()", limit = "SHAPE_CACHE_LIMIT")
+        static int doCached(DynamicObject object, Object key, Object defaultValue,
+                        @Cached("object.getShape()") Shape cachedShape,
+                        @Cached("key") Object cachedKey,
+                        @Cached("cachedShape.getProperty(cachedKey)") Property cachedProperty) throws UnexpectedResultException {
+            if (cachedProperty == null) {
+                throw new UnexpectedResultException(defaultValue);
+            }
+            Location location = cachedProperty.getLocation();
+            if (location instanceof IntLocation) {
+                return ((IntLocation) location).getInt(object, cachedShape);
+            }
+            return expectInt(location.get(object, cachedShape));
+        }
+
+        @Specialization(guards = "!object.getShape().isValid()")
+        static int doObsolete(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException {
+            updateShapeGeneric(object);
+            return expectInt(getPrimitiveGeneric(object, key, defaultValue));
+        }
+
+        @Specialization(replaces = "doCached")
+        static int doGeneric(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException {
+            return expectInt(getPrimitiveGeneric(object, key, defaultValue));
+        }
+    }
+
+    @ExportMessage
+    static class GetLongOrDefault {
+
+        @Specialization(guards = {"object.getShape() == cachedShape", "keyEquals(cachedKey, key)"}, assumptions = "cachedShape.getValidAssumption()", limit = "SHAPE_CACHE_LIMIT")
+        static long doCached(DynamicObject object, Object key, Object defaultValue,
+                        @Cached("object.getShape()") Shape cachedShape,
+                        @Cached("key") Object cachedKey,
+                        @Cached("cachedShape.getProperty(cachedKey)") Property cachedProperty) throws UnexpectedResultException {
+            if (cachedProperty == null) {
+                throw new UnexpectedResultException(defaultValue);
+            }
+            Location location = cachedProperty.getLocation();
+            if (location instanceof LongLocation) {
+                return ((LongLocation) location).getLong(object, cachedShape);
+            }
+            return expectLong(location.get(object, cachedShape));
+        }
+
+        @Specialization(guards = "!object.getShape().isValid()")
+        static long doObsolete(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException {
+            updateShapeGeneric(object);
+            return expectLong(getPrimitiveGeneric(object, key, defaultValue));
+        }
+
+        @Specialization(replaces = "doCached")
+        static long doGeneric(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException {
+            return expectLong(getPrimitiveGeneric(object, key, defaultValue));
+        }
+    }
+
+    @ExportMessage
+    static class GetDoubleOrDefault {
+
+        @Specialization(guards = {"object.getShape() == cachedShape", "keyEquals(cachedKey, key)"}, assumptions = "cachedShape.getValidAssumption()", limit = "SHAPE_CACHE_LIMIT")
+        static double doCached(DynamicObject object, Object key, Object defaultValue,
+                        @Cached("object.getShape()") Shape cachedShape,
+                        @Cached("key") Object cachedKey,
+                        @Cached("cachedShape.getProperty(cachedKey)") Property cachedProperty) throws UnexpectedResultException {
+            if (cachedProperty == null) {
+                throw new UnexpectedResultException(defaultValue);
+            }
+            Location location = cachedProperty.getLocation();
+            if (location instanceof DoubleLocation) {
+                return ((DoubleLocation) location).getDouble(object, cachedShape);
+            }
+            return expectDouble(location.get(object, cachedShape));
+        }
+
+        @Specialization(guards = "!object.getShape().isValid()")
+        static double doObsolete(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException {
+            updateShapeGeneric(object);
+            return expectDouble(getPrimitiveGeneric(object, key, defaultValue));
+        }
+
+        @Specialization(replaces = "doCached")
+        static double doGeneric(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException {
+            return expectDouble(getPrimitiveGeneric(object, key, defaultValue));
+        }
+    }
+
+    @ExportMessage
+    static void put(DynamicObject object, Object key, Object value,
+                    @Cached PutNode putNode) {
+        putNode.execute(object, key, value, 0, false);
+    }
+
+    @ExportMessage
+    static void putWithFlags(DynamicObject object, Object key, Object value, int flags,
+                    @Cached PutNode putNode) {
+        putNode.execute(object, key, value, flags, true);
+    }
+
+    @ExportMessage
+    static class RemoveKey {
+
+        @Specialization(guards = {"object.getShape() == cachedShape", "keyEquals(cachedKey, key)", "!cachedShape.hasProperty(cachedKey)"}, //
+                        assumptions = "cachedShape.getValidAssumption()", limit = "SHAPE_CACHE_LIMIT")
+        static boolean doMissing(DynamicObject object, Object key,
+                        @Cached("object.getShape()") Shape cachedShape,
+                        @Cached("key") Object cachedKey) {
+            return false;
+        }
+
+        @Specialization(replaces = "doMissing")
+        static boolean doGeneric(DynamicObject object, Object key) {
+            return object.delete(key);
+        }
+    }
+
+    @ExportMessage
+    static class ContainsKey {
+
+        @Specialization(guards = {"object.getShape() == cachedShape", "keyEquals(cachedKey, key)"}, assumptions = "cachedShape.getValidAssumption()", limit = "SHAPE_CACHE_LIMIT")
+        static boolean doCached(DynamicObject object, Object key,
+                        @Cached("object.getShape()") Shape cachedShape,
+                        @Cached("key") Object cachedKey,
+                        @Cached("cachedShape.hasProperty(cachedKey)") boolean cachedResult) {
+            return cachedResult;
+        }
+
+        @Specialization(replaces = "doCached")
+        static boolean doGeneric(DynamicObject object, Object key) {
+            return containsKeyGeneric(object, key);
+        }
+    }
+
+    @ExportMessage
+    static class GetPropertyFlagsOrDefault {
+
+        @Specialization(guards = {"object.getShape() == cachedShape", "keyEquals(cachedKey, key)"}, assumptions = "cachedShape.getValidAssumption()", limit = "SHAPE_CACHE_LIMIT")
+        static int doCached(DynamicObject object, Object key, int defaultValue,
+                        @Cached("object.getShape()") Shape cachedShape,
+                        @Cached("key") Object cachedKey,
+                        @Cached("cachedShape.getProperty(cachedKey)") Property cachedProperty) {
+            return cachedProperty == null ? defaultValue : cachedProperty.getFlags();
+        }
+
+        @Specialization(replaces = "doCached")
+        static int doGeneric(DynamicObject object, Object key, int defaultValue) {
+            return getPropertyFlagsGeneric(object, key, defaultValue);
+        }
+    }
+
+    @ExportMessage
+    static class SetPropertyFlags {
+
+        @Specialization(guards = {"object.getShape() == cachedShape", "keyEquals(cachedKey, key)", "flags == cachedFlags", "isUnchanged(cachedProperty, cachedFlags)"}, //
+                        assumptions = "cachedShape.getValidAssumption()", limit = "SHAPE_CACHE_LIMIT")
+        static boolean doUnchanged(DynamicObject object, Object key, int flags,
+                        @Cached("object.getShape()") Shape cachedShape,
+                        @Cached("key") Object cachedKey,
+                        @Cached("flags") int cachedFlags,
+                        @Cached("cachedShape.getProperty(cachedKey)") Property cachedProperty) {
+            return cachedProperty != null;
+        }
+
+        @Specialization(replaces = "doUnchanged")
+        static boolean doGeneric(DynamicObject object, Object key, int flags) {
+            return setPropertyFlagsGeneric(object, key, flags);
+        }
+
+        static boolean isUnchanged(Property property, int flags) {
+            return property == null || property.getFlags() == flags;
+        }
+    }
+
+    @ExportMessage
+    static boolean updateShape(DynamicObject object) {
+        return object.updateShape();
+    }
+
+    /**
+     * Writes a property value, caching the shape transition caused by adding the property or, for
+     * an existing property, the location the value is written to.
+     */
+    @GenerateUncached
+    abstract static class PutNode extends Node {
+
+        abstract void execute(DynamicObject object, Object key, Object value, int flags, boolean setFlags);
+
+        @Specialization(guards = {"object.getShape() == oldShape", "keyEquals(cachedKey, key)", "flags == cachedFlags", "setFlags == cachedSetFlags",
+                        "newProperty.getLocation().canSet(value)"}, //
+                        assumptions = {"oldShape.getValidAssumption()", "newShape.getValidAssumption()"}, limit = "SHAPE_CACHE_LIMIT")
+        static void doCached(DynamicObject object, Object key, Object value, int flags, boolean setFlags,
+                        @Cached("object.getShape()") Shape oldShape,
+                        @Cached("key") Object cachedKey,
+                        @Cached("flags") int cachedFlags,
+                        @Cached("setFlags") boolean cachedSetFlags,
+                        @Cached("defineProperty(oldShape, cachedKey, value, cachedFlags, cachedSetFlags)") Shape newShape,
+                        @Cached("newShape.getProperty(cachedKey)") Property newProperty) {
+            if (oldShape == newShape) {
+                newProperty.setSafe(object, value, oldShape);
+            } else {
+                newProperty.setSafe(object, value, oldShape, newShape);
+            }
+        }
+
+        @Specialization(guards = "!object.getShape().isValid()")
+        static void doObsolete(DynamicObject object, Object key, Object value, int flags, boolean setFlags) {
+            updateShapeGeneric(object);
+            putGeneric(object, key, value, flags, setFlags);
+        }
+
+        @Specialization(replaces = "doCached")
+        static void doGeneric(DynamicObject object, Object key, Object value, int flags, boolean setFlags) {
+            putGeneric(object, key, value, flags, setFlags);
+        }
+
+        static Shape defineProperty(Shape oldShape, Object key, Object value, int flags, boolean setFlags) {
+            return oldShape.defineProperty(key, value, propertyFlags(oldShape, key, flags, setFlags));
+        }
+    }
+
+    static int propertyFlags(Shape shape, Object key, int flags, boolean setFlags) {
+        if (setFlags) {
+            return flags;
+        }
+        Property existing = shape.getProperty(key);
+        return existing == null ? 0 : existing.getFlags();
+    }
+
+    @TruffleBoundary
+    static void updateShapeGeneric(DynamicObject object) {
+        object.updateShape();
+    }
+
+    @TruffleBoundary
+    static Object getGeneric(DynamicObject object, Object key, Object defaultValue) {
+        return object.get(key, defaultValue);
+    }
+
+    /**
+     * Like {@link #getGeneric} but throws {@link UnexpectedResultException} with
+     * {@code defaultValue} if the property is absent, as the cached primitive getters do.
+     */
+    @TruffleBoundary
+    static Object getPrimitiveGeneric(DynamicObject object, Object key, Object defaultValue) throws UnexpectedResultException {
+        Shape shape = object.getShape();
+        Property property = shape.getProperty(key);
+        if (property == null) {
+            throw new UnexpectedResultException(defaultValue);
+        }
+        return property.getLocation().get(object, shape);
+    }
+
+    @TruffleBoundary
+    static boolean containsKeyGeneric(DynamicObject object, Object key) {
+        return object.getShape().hasProperty(key);
+    }
+
+    @TruffleBoundary
+    static int getPropertyFlagsGeneric(DynamicObject object, Object key, int defaultValue) {
+        Property property = object.getShape().getProperty(key);
+        return property == null ? defaultValue : property.getFlags();
+    }
+
+    @TruffleBoundary
+    static boolean setPropertyFlagsGeneric(DynamicObject object, Object key, int flags) {
+        Shape shape = object.getShape();
+        Property property = shape.getProperty(key);
+        if (property == null) {
+            return false;
+        }
+        if (property.getFlags() != flags) {
+            object.define(key, property.get(object, shape), flags);
+        }
+        return true;
+    }
+
+    @TruffleBoundary
+    static void putGeneric(DynamicObject object, Object key, Object value, int flags, boolean setFlags) {
+        object.define(key, value, propertyFlags(object.getShape(), key, flags, setFlags));
+    }
+
+    private static int expectInt(Object value) throws UnexpectedResultException {
+        if (value instanceof Integer) {
+            return (int) value;
+        }
+        throw new UnexpectedResultException(value);
+    }
+
+    private static long expectLong(Object value) throws UnexpectedResultException {
+        if (value instanceof Long) {
+            return (long) value;
+        }
+        throw new UnexpectedResultException(value);
+    }
+
+    private static double expectDouble(Object value) throws UnexpectedResultException {
+        if (value instanceof Double) {
+            return (double) value;
+        }
+        throw new UnexpectedResultException(value);
+    }
+}
@@ -207,4 +207,54 @@ public class FrameDescriptorTest {
         assertEquals("c", frame.getObject(slot3));
         assertEquals("d", frame.getObject(slot4));
     }
+
+    @Test
+    public void staticFrameSlots() throws FrameSlotTypeException {
+        FrameDescriptor d = new FrameDescriptor("default");
+        FrameSlot longSlot = d.addStaticFrameSlot("l", FrameSlotKind.Long);
+        FrameSlot doubleSlot = d.addStaticFrameSlot("d", "i", FrameSlotKind.Double);
+        FrameSlot objectSlot = d.addStaticFrameSlot("o", FrameSlotKind.Object);
+        FrameSlot dynamicSlot = d.addFrameSlot("x", FrameSlotKind.Int);
+        assertTrue(d.isStaticFrameSlot(longSlot));
+        assertFalse(d.isStaticFrameSlot(dynamicSlot));
+        assertEquals(FrameSlotKind.Double, d.getFrameSlotKind(doubleSlot));
+
+        VirtualFrame f = Truffle.getRuntime().createVirtualFrame(new Object[0], d);
+        f.setLongStatic(longSlot, 42L);
+        f.setDoubleStatic(doubleSlot, 4.2);
+        f.setObjectStatic(objectSlot, "o");
+        assertEquals(42L, f.getLongStatic(longSlot));
+        assertEquals(4.2, f.getDoubleStatic(doubleSlot), 0);
+        assertEquals("o", f.getObjectStatic(objectSlot));
+        assertEquals(42L, f.getLong(longSlot));
+        assertEquals(42L, f.getValue(longSlot));
+        assertTrue(f.isDouble(doubleSlot));
+
+        Frame materialized = f.materialize();
+        materialized.setLongStatic(longSlot, 43L);
+        assertEquals(43L, f.getLongStatic(longSlot));
+        assertEquals(43L, materialized.getLongStatic(longSlot));
+
+        d.setFrameSlotKind(longSlot, FrameSlotKind.Long);
+        try {
+            d.setFrameSlotKind(longSlot, FrameSlotKind.Object);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(FrameSlotKind.Long, d.getFrameSlotKind(longSlot));
+        try {
+            d.addStaticFrameSlot("illegal", FrameSlotKind.Illegal);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        FrameDescriptor copy = d.copy();
+        FrameSlot copiedDouble = copy.findFrameSlot("d");
+        assertTrue("Static slot stays static", copy.isStaticFrameSlot(copiedDouble));
+        assertEquals("Static kind is copied", FrameSlotKind.Double, copy.getFrameSlotKind(copiedDouble));
+        assertEquals("Info is copied", "i", copiedDouble.getInfo());
+        assertEquals(FrameSlotKind.Illegal, copy.getFrameSlotKind(copy.findFrameSlot("x")));
+    }
 }
@@ -42,10 +42,13 @@ package com.oracle.truffle.api.test.polyglot;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
 
 import org.graalvm.options.OptionCategory;
 import org.graalvm.options.OptionDescriptors;
@@ -325,6 +328,58 @@ public class ContextPolicyTest {
         engine.close();
     }
 
+    @Test
+    public void testForceCodeSharing() {
+        Source source0 = Source.create(REUSE0, "s0");
+
+        Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.ForceCodeSharing", "true").build();
+        Context context0 = Context.newBuilder().engine(engine).allowExperimentalOptions(true).option(REUSE0 + ".Dummy", "1").build();
+        Context context1 = Context.newBuilder().engine(engine).allowExperimentalOptions(true).option(REUSE0 + ".Dummy", "1").build();
+        context0.eval(source0);
+        context1.eval(source0);
+        assertEquals(1, languageInstances.size());
+        assertEquals(1, parseRequest.size());
+
+        // incompatible options are never shared
+        Context context2 = Context.newBuilder().engine(engine).allowExperimentalOptions(true).option(REUSE0 + ".Dummy", "2").build();
+        context2.eval(source0);
+        assertEquals(2, languageInstances.size());
+        assertEquals(2, parseRequest.size());
+        engine.close();
+    }
+
+    @Test
+    public void testTraceCodeSharing() {
+        Source source0 = Source.create(REUSE0, "s0");
+        List<LogRecord> records = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.TraceCodeSharing", "true").logHandler(handler).build();
+        Context context0 = Context.newBuilder().engine(engine).build();
+        Context context1 = Context.newBuilder().engine(engine).build();
+        context0.eval(source0);
+        assertTrue(records.isEmpty());
+        context1.eval(source0);
+        assertEquals(2, parseRequest.size());
+        assertEquals(1, records.size());
+        assertTrue(String.valueOf(records.get(0).getParameters()[4]), ((String) records.get(0).getParameters()[4]).contains("reuse context policy"));
+        engine.close();
+        assertTrue(records.size() > 1);
+    }
+
     @Test
     public void testOneParseCaching() {
 
@@ -1472,6 +1472,78 @@ public class ContextPreInitializationTest {
         doContextPreinitialize(FIRST);
     }
 
+    @Test
+    public void testContextPool() throws Exception {
+        setPatchable(FIRST);
+        try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.ContextPool", FIRST).build()) {
+            try (Context ctx = Context.newBuilder().engine(engine).build()) {
+                Value res = ctx.eval(Source.create(FIRST, "test"));
+                assertEquals("test", res.asString());
+            }
+            // Closing the context fills the pool with a pre-initialized context.
+            awaitContextPoolFilled();
+            List<CountingContext> contexts = new ArrayList<>(emittedContexts);
+            assertEquals(2, contexts.size());
+            final CountingContext pooledCtx = contexts.get(1);
+            assertTrue(pooledCtx.preInitialized);
+            assertEquals(1, pooledCtx.initializeContextCount);
+            assertEquals(0, pooledCtx.patchContextCount);
+            try (Context ctx = Context.newBuilder().engine(engine).arguments(FIRST, new String[]{"a", "b"}).build()) {
+                assertEquals(1, pooledCtx.patchContextCount);
+                assertEquals(Arrays.asList("a", "b"), pooledCtx.arguments);
+                Value res = ctx.eval(Source.create(FIRST, "test"));
+                assertEquals("test", res.asString());
+                assertEquals(1, pooledCtx.createContextCount);
+                assertEquals(1, pooledCtx.initializeContextCount);
+            }
+            // Used contexts are disposed and never returned to the pool.
+            assertEquals(1, pooledCtx.disposeContextCount);
+            contexts = new ArrayList<>(emittedContexts);
+            assertEquals(3, contexts.size());
+        }
+        assertEquals(1, emittedContexts.get(2).disposeContextCount);
+    }
+
+    @Test
+    public void testContextPoolInstrumentEvents() throws Exception {
+        setPatchable(FIRST);
+        AtomicInteger contextCreatedCount = new AtomicInteger();
+        AtomicInteger languageContextInitializedCount = new AtomicInteger();
+        Map<String, Consumer<BaseInstrument.Event>> actions = new HashMap<>();
+        actions.put("onContextCreated", (e) -> contextCreatedCount.incrementAndGet());
+        actions.put("onLanguageContextInitialized", (e) -> {
+            if (FIRST.equals(e.language.getId())) {
+                languageContextInitializedCount.incrementAndGet();
+            }
+        });
+        ContextPreInitializationFirstInstrument.actions = actions;
+        try (Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.ContextPool", FIRST).option(ContextPreInitializationFirstInstrument.ID, "true").build()) {
+            try (Context ctx = Context.newBuilder().engine(engine).build()) {
+                ctx.eval(Source.create(FIRST, "test"));
+            }
+            awaitContextPoolFilled();
+            assertEquals(2, contextCreatedCount.get());
+            assertEquals(2, languageContextInitializedCount.get());
+            try (Context ctx = Context.newBuilder().engine(engine).build()) {
+                ctx.eval(Source.create(FIRST, "test"));
+                // The events of the pooled context were delivered when it was pre-initialized.
+                assertEquals(2, contextCreatedCount.get());
+                assertEquals(2, languageContextInitializedCount.get());
+            }
+        }
+    }
+
+    /**
+     * Waits until the contexts pre-initialized after a context was closed are added to the pool.
+     */
+    private static void awaitContextPoolFilled() throws InterruptedException {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("Truffle Context Pool Filler".equals(thread.getName())) {
+                thread.join();
+            }
+        }
+    }
+
     private static com.oracle.truffle.api.source.Source createSource(TruffleLanguage.Env env, Path resource, boolean cached) {
         try {
             TruffleFile file = env.getInternalTruffleFile(resource.toString());
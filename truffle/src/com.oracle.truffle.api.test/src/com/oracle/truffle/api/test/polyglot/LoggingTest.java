@@ -52,6 +52,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiPredicate;
@@ -106,6 +108,104 @@ public class LoggingTest {
         }
     }
 
+    @Test
+    public void testAsyncLogging() {
+        final Level defaultLevel = Level.INFO;
+        final List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (Context ctx = Context.newBuilder().allowExperimentalOptions(true).option("engine.AsyncLogging", "true").logHandler(handler).build()) {
+            ctx.eval(LoggingLanguageFirst.ID, "");
+        }
+        List<Map.Entry<Level, String>> log = new ArrayList<>();
+        for (LogRecord r : records) {
+            log.add(new AbstractMap.SimpleImmutableEntry<>(r.getLevel(), r.getMessage()));
+        }
+        Assert.assertEquals(createExpectedLog(LoggingLanguageFirst.ID, defaultLevel, Collections.emptyMap()), log);
+    }
+
+    @Test
+    public void testAsyncLoggingBlockOnOverflow() throws InterruptedException {
+        final BlockingHandler handler = new BlockingHandler();
+        final Thread loggingThread = Thread.currentThread();
+        final AtomicBoolean bufferFull = new AtomicBoolean();
+        final AtomicBoolean lastLogged = new AtomicBoolean();
+        final AtomicBoolean waitedForWriter = new AtomicBoolean();
+        AbstractLoggingLanguage.action = new BiPredicate<LoggingContext, Collection<TruffleLogger>>() {
+            @Override
+            public boolean test(final LoggingContext context, final Collection<TruffleLogger> loggers) {
+                TruffleLogger logger = loggers.iterator().next();
+                logger.warning("m0");
+                // the writer thread took m0 and is blocked in the handler
+                handler.awaitBlocked();
+                logger.warning("m1");
+                bufferFull.set(true);
+                logger.warning("m2");
+                lastLogged.set(true);
+                return false;
+            }
+        };
+        Thread releaser = new Thread(() -> {
+            while (!bufferFull.get() || loggingThread.getState() != Thread.State.WAITING) {
+                Thread.yield();
+            }
+            waitedForWriter.set(!lastLogged.get());
+            handler.release();
+        });
+        releaser.start();
+        try (Context ctx = Context.newBuilder().allowExperimentalOptions(true).option("engine.AsyncLogging", "true").option("engine.AsyncLoggingBufferSize", "1").logHandler(
+                        handler).build()) {
+            ctx.eval(LoggingLanguageFirst.ID, "");
+        }
+        releaser.join();
+        Assert.assertTrue(waitedForWriter.get());
+        Assert.assertEquals(Arrays.asList("m0", "m1", "m2"), handler.getMessages());
+    }
+
+    @Test
+    public void testAsyncLoggingDropOnOverflow() {
+        final BlockingHandler handler = new BlockingHandler();
+        AbstractLoggingLanguage.action = new BiPredicate<LoggingContext, Collection<TruffleLogger>>() {
+            @Override
+            public boolean test(final LoggingContext context, final Collection<TruffleLogger> loggers) {
+                TruffleLogger logger = loggers.iterator().next();
+                logger.warning("m0");
+                // the writer thread took m0 and is blocked in the handler
+                handler.awaitBlocked();
+                logger.warning("m1");
+                logger.warning("m2");
+                logger.warning("m3");
+                handler.release();
+                return false;
+            }
+        };
+        try (Context ctx = Context.newBuilder().allowExperimentalOptions(true).option("engine.AsyncLogging", "true").option("engine.AsyncLoggingBufferSize", "1").option(
+                        "engine.AsyncLoggingDropOnOverflow", "true").logHandler(handler).build()) {
+            ctx.eval(LoggingLanguageFirst.ID, "");
+        }
+        Assert.assertEquals(Arrays.asList("m0", "Dropped 2 log messages because the asynchronous log buffer was full.", "m1"), handler.getMessages());
+    }
+
+    @Test
+    public void testAsyncLoggingInvalidBufferSize() {
+        AbstractPolyglotTest.assertFails(() -> Context.newBuilder().allowExperimentalOptions(true).option("engine.AsyncLogging", "true").option("engine.AsyncLoggingBufferSize", "0").logHandler(
+                        new TestHandler()).build(), IllegalArgumentException.class, e -> {
+                            Assert.assertEquals("Invalid value 0 for option engine.AsyncLoggingBufferSize. The value must be at least 1.", e.getMessage());
+                        });
+    }
+
     @Test
     public void testSingleLanguageAllLogging() {
         final Level defaultLevel = Level.INFO;
@@ -1308,6 +1408,52 @@ public class LoggingTest {
         }
     }
 
+    private static final class BlockingHandler extends Handler {
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        /**
+         * Blocks the first publishing thread until {@link #release()} is called.
+         */
+        @Override
+        public void publish(final LogRecord record) {
+            messages.add(record.getMessage());
+            if (blocked.getCount() > 0) {
+                blocked.countDown();
+                await(released);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() throws SecurityException {
+        }
+
+        void awaitBlocked() {
+            await(blocked);
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        List<String> getMessages() {
+            return messages;
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
     private static final class CloseableByteArrayOutputStream extends ByteArrayOutputStream {
         private boolean closed;
 
@@ -41,6 +41,7 @@
 package com.oracle.truffle.api.test.polyglot;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -372,6 +373,125 @@ public class MultiThreadedLanguageTest {
         assertTrue(executor.shutdownNow().isEmpty());
     }
 
+    @Test
+    public void testAttachedThreadsEnterConcurrently() throws InterruptedException, ExecutionException {
+        MultiThreadedLanguage.isThreadAccessAllowed = (req) -> {
+            return true;
+        };
+
+        final int threadCount = 8;
+        final int iterations = 1000;
+        ExecutorService executor = createExecutor(threadCount);
+        Context context = Context.create(MultiThreadedLanguage.ID);
+        eval(context, (env) -> null);
+
+        CountDownLatch attached = new CountDownLatch(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executor.submit(() -> {
+                eval(context, (env) -> null);
+                attached.countDown();
+                try {
+                    attached.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                for (int iteration = 0; iteration < iterations; iteration++) {
+                    context.enter();
+                    try {
+                        assertSame(MultiThreadedLanguage.langContext, MultiThreadedLanguage.getContext());
+                        eval(context, (env) -> null);
+                    } finally {
+                        context.leave();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        // every thread is initialized once, entering attached threads again must not reinitialize
+        assertEquals(threadCount + 1, initializeCount.get());
+        assertEquals(1, initializeMultiThreadingCount.get());
+
+        context.close();
+        assertEquals(threadCount + 1, disposeCount.get());
+
+        // attached threads must not enter a closed context
+        executor.submit(() -> {
+            try {
+                context.enter();
+                fail();
+            } catch (IllegalStateException e) {
+            }
+        }).get();
+
+        assertTrue(executor.shutdownNow().isEmpty());
+    }
+
+    @Test
+    public void testCancelRacesAttachedThreadsEnter() throws InterruptedException, ExecutionException {
+        MultiThreadedLanguage.isThreadAccessAllowed = (req) -> {
+            return true;
+        };
+
+        final int threadCount = 8;
+        final int runs = 20;
+        ExecutorService executor = createExecutor(threadCount);
+        for (int run = 0; run < runs; run++) {
+            Context context = Context.create(MultiThreadedLanguage.ID);
+            eval(context, (env) -> null);
+
+            AtomicBoolean closing = new AtomicBoolean();
+            AtomicBoolean closed = new AtomicBoolean();
+            AtomicBoolean executedAfterClose = new AtomicBoolean();
+            CountDownLatch attached = new CountDownLatch(threadCount);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    eval(context, (env) -> null);
+                    attached.countDown();
+                    // enter once more after the close started to race with it
+                    boolean racing = true;
+                    while (racing) {
+                        racing = !closing.get();
+                        try {
+                            context.enter();
+                        } catch (IllegalStateException e) {
+                            // the context is closed
+                            break;
+                        }
+                        try {
+                            eval(context, (env) -> {
+                                if (closed.get()) {
+                                    executedAfterClose.set(true);
+                                }
+                                return null;
+                            });
+                        } catch (PolyglotException e) {
+                            assertTrue(e.isCancelled());
+                        } catch (IllegalStateException e) {
+                            // the context is closed
+                        } finally {
+                            context.leave();
+                        }
+                    }
+                }));
+            }
+            attached.await();
+            closing.set(true);
+            context.close(true);
+            closed.set(true);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            // no attached thread may execute in the context once close returned
+            assertFalse(executedAfterClose.get());
+        }
+        assertTrue(executor.shutdownNow().isEmpty());
+    }
+
     @Test
     public void testAccessTruffleContextPolyglotThread() throws Throwable {
         MultiThreadedLanguage.isThreadAccessAllowed = (req) -> {
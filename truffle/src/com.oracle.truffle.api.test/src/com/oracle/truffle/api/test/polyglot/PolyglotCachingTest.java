@@ -103,6 +103,33 @@ public class PolyglotCachingTest {
         assertEquals(4, parseCalled.get());
     }
 
+    @Test
+    public void testBoundedSourceCache() throws Exception {
+        AtomicInteger parseCalled = new AtomicInteger(0);
+        ProxyLanguage.setDelegate(new ProxyLanguage() {
+            @Override
+            protected CallTarget parse(ParsingRequest request) throws Exception {
+                parseCalled.incrementAndGet();
+                return Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(""));
+            }
+        });
+        try (Context c = Context.newBuilder().allowExperimentalOptions(true).option("engine.SourceCacheSize", "2").build()) {
+            c.eval(Source.create(ProxyLanguage.ID, "a"));
+            c.eval(Source.create(ProxyLanguage.ID, "b"));
+            assertEquals(2, parseCalled.get());
+            // equal sources hit the cache even if the first source instance is no longer used
+            c.eval(Source.create(ProxyLanguage.ID, "a"));
+            assertEquals(2, parseCalled.get());
+            // evicts the least recently used source b
+            c.eval(Source.create(ProxyLanguage.ID, "c"));
+            assertEquals(3, parseCalled.get());
+            c.eval(Source.create(ProxyLanguage.ID, "a"));
+            assertEquals(3, parseCalled.get());
+            c.eval(Source.create(ProxyLanguage.ID, "b"));
+            assertEquals(4, parseCalled.get());
+        }
+    }
+
     /*
      * Tests that the outer source instance is never the same as the one passed in. That allows the
      * outer source instance to be collected while the inner one is still referenced strongly. The
@@ -58,6 +58,7 @@ import static com.oracle.truffle.tck.tests.ValueAssert.Trait.STRING;
 import static com.oracle.truffle.tck.tests.ValueAssert.Trait.TIME;
 import static com.oracle.truffle.tck.tests.ValueAssert.Trait.TIMEZONE;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -125,6 +126,7 @@ import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.RootNode;
@@ -1123,6 +1125,87 @@ public class ValueAPITest {
     private static final TypeLiteral<List<Integer>> INTEGER_LIST = new TypeLiteral<List<Integer>>() {
     };
 
+    @Test
+    public void testArrayElementsBulk() {
+        int[] ints = new int[]{1, 2, 3, 4, 5};
+        Value intArray = context.asValue(ints);
+        int[] intTarget = new int[4];
+        intArray.getArrayElements(1, intTarget, 1, 3);
+        assertArrayEquals(new int[]{0, 2, 3, 4}, intTarget);
+        intArray.setArrayElements(0, new int[]{42, 43}, 0, 2);
+        assertArrayEquals(new int[]{42, 43, 3, 4, 5}, ints);
+
+        // different component types are converted element by element
+        long[] longTarget = new long[5];
+        intArray.getArrayElements(0, longTarget, 0, 5);
+        assertArrayEquals(new long[]{42, 43, 3, 4, 5}, longTarget);
+        Value doubleArray = context.asValue(new double[]{1.5});
+        AbstractPolyglotTest.assertFails(() -> doubleArray.getArrayElements(0, intTarget, 0, 1), ClassCastException.class);
+
+        // proxies and lists use the default implementation
+        Value proxy = context.asValue(ProxyArray.fromArray(1, 2, 3));
+        double[] doubleTarget = new double[3];
+        proxy.getArrayElements(0, doubleTarget, 0, 3);
+        assertArrayEquals(new double[]{1, 2, 3}, doubleTarget, 0);
+        Value list = context.asValue(new ArrayList<>(Arrays.asList(1, 2, 3)));
+        list.setArrayElements(1, new byte[]{8, 9}, 0, 2);
+        byte[] byteTarget = new byte[3];
+        list.getArrayElements(0, byteTarget, 0, 3);
+        assertArrayEquals(new byte[]{1, 8, 9}, byteTarget);
+
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(3, intTarget, 0, 3), ArrayIndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, intTarget, 2, 3), IndexOutOfBoundsException.class);
+        Value notAnArray = context.asValue("");
+        AbstractPolyglotTest.assertFails(() -> notAnArray.getArrayElements(0, intTarget, 0, 1), UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testArrayElementsBulkRange() {
+        int[] ints = new int[]{1, 2, 3, 4, 5};
+        Value intArray = context.asValue(ints);
+        int[] intTarget = new int[4];
+        long[] longTarget = new long[4];
+        // same component type
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, intTarget, -1, 1), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, intTarget, 0, -1), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, intTarget, 3, 2), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(0, intTarget, -1, 1), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(0, intTarget, 0, -1), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(0, intTarget, 3, 2), IndexOutOfBoundsException.class);
+        // different component type
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, longTarget, -1, 1), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, longTarget, 0, -1), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, longTarget, 3, 2), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(0, longTarget, -1, 1), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(0, longTarget, 0, -1), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(0, longTarget, 3, 2), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(-1, intTarget, 0, 1), ArrayIndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(4, intTarget, 0, 2), ArrayIndexOutOfBoundsException.class);
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, ints);
+    }
+
+    @Test
+    public void testArrayElementsBulkUnreadable() {
+        Value array = context.asValue(new UnreadableElementArray(new int[]{1, 2, 3}, 1));
+        int[] intTarget = new int[3];
+        AbstractPolyglotTest.assertFails(() -> array.getArrayElements(0, intTarget, 0, 3), UnsupportedOperationException.class);
+        array.getArrayElements(2, intTarget, 0, 1);
+        assertEquals(3, intTarget[0]);
+    }
+
+    @Test
+    public void testArrayElementsBulkNoArrayAccess() {
+        try (Context c = Context.newBuilder().allowHostAccess(HostAccess.newBuilder().allowArrayAccess(false).build()).build()) {
+            Value intArray = c.asValue(new int[]{1, 2, 3});
+            int[] intTarget = new int[3];
+            long[] longTarget = new long[3];
+            AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, intTarget, 0, 3), UnsupportedOperationException.class);
+            AbstractPolyglotTest.assertFails(() -> intArray.getArrayElements(0, longTarget, 0, 3), UnsupportedOperationException.class);
+            AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(0, intTarget, 0, 3), UnsupportedOperationException.class);
+            AbstractPolyglotTest.assertFails(() -> intArray.setArrayElements(0, longTarget, 0, 3), UnsupportedOperationException.class);
+        }
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testArrayErrors() {
@@ -1967,6 +2050,66 @@ public class ValueAPITest {
 
     }
 
+    @ExportLibrary(InteropLibrary.class)
+    static final class UnreadableElementArray implements TruffleObject {
+
+        final int[] elements;
+        final long unreadableIndex;
+
+        UnreadableElementArray(int[] elements, long unreadableIndex) {
+            this.elements = elements;
+            this.unreadableIndex = unreadableIndex;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean hasArrayElements() {
+            return true;
+        }
+
+        @ExportMessage
+        long getArraySize() {
+            return elements.length;
+        }
+
+        @ExportMessage
+        boolean isArrayElementReadable(long idx) {
+            return isArrayElementModifiable(idx) && idx != unreadableIndex;
+        }
+
+        @ExportMessage
+        boolean isArrayElementModifiable(long idx) {
+            return 0 <= idx && idx < elements.length;
+        }
+
+        @SuppressWarnings({"static-method", "unused"})
+        @ExportMessage
+        boolean isArrayElementInsertable(long idx) {
+            return false;
+        }
+
+        @ExportMessage
+        Object readArrayElement(long idx) throws UnsupportedMessageException, InvalidArrayIndexException {
+            if (!isArrayElementModifiable(idx)) {
+                throw InvalidArrayIndexException.create(idx);
+            } else if (idx == unreadableIndex) {
+                throw UnsupportedMessageException.create();
+            }
+            return elements[(int) idx];
+        }
+
+        @ExportMessage
+        void writeArrayElement(long idx, Object value) throws UnsupportedTypeException, InvalidArrayIndexException {
+            if (!isArrayElementModifiable(idx)) {
+                throw InvalidArrayIndexException.create(idx);
+            } else if (!(value instanceof Integer)) {
+                throw UnsupportedTypeException.create(new Object[]{value});
+            }
+            elements[(int) idx] = (int) value;
+        }
+
+    }
+
     @ExportLibrary(InteropLibrary.class)
     static final class TestArray implements TruffleObject {
 
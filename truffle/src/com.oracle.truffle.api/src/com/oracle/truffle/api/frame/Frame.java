@@ -256,4 +256,186 @@ public interface Frame {
      * @since 0.8 or earlier
      */
     boolean isDouble(FrameSlot slot);
+
+    /**
+     * Read access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type {@link Object}. Unlike {@link #getObject(FrameSlot)}, the type
+     * of the stored value is not checked. The slot must have been written with
+     * {@link #setObjectStatic(FrameSlot, Object)} before, otherwise the result is unspecified.
+     *
+     * @param slot the static slot of the local variable
+     * @return the current value of the local variable
+     * @since 20.1
+     */
+    default Object getObjectStatic(FrameSlot slot) {
+        return FrameUtil.getObjectSafe(this, slot);
+    }
+
+    /**
+     * Write access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type {@link Object}.
+     *
+     * @param slot the static slot of the local variable
+     * @param value the new value of the local variable
+     * @since 20.1
+     */
+    default void setObjectStatic(FrameSlot slot, Object value) {
+        setObject(slot, value);
+    }
+
+    /**
+     * Read access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type byte. Unlike {@link #getByte(FrameSlot)}, the type of the
+     * stored value is not checked. The slot must have been written with
+     * {@link #setByteStatic(FrameSlot, byte)} before, otherwise the result is unspecified.
+     *
+     * @param slot the static slot of the local variable
+     * @return the current value of the local variable
+     * @since 20.1
+     */
+    default byte getByteStatic(FrameSlot slot) {
+        return FrameUtil.getByteSafe(this, slot);
+    }
+
+    /**
+     * Write access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type byte.
+     *
+     * @param slot the static slot of the local variable
+     * @param value the new value of the local variable
+     * @since 20.1
+     */
+    default void setByteStatic(FrameSlot slot, byte value) {
+        setByte(slot, value);
+    }
+
+    /**
+     * Read access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type boolean. Unlike {@link #getBoolean(FrameSlot)}, the type of
+     * the stored value is not checked. The slot must have been written with
+     * {@link #setBooleanStatic(FrameSlot, boolean)} before, otherwise the result is unspecified.
+     *
+     * @param slot the static slot of the local variable
+     * @return the current value of the local variable
+     * @since 20.1
+     */
+    default boolean getBooleanStatic(FrameSlot slot) {
+        return FrameUtil.getBooleanSafe(this, slot);
+    }
+
+    /**
+     * Write access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type boolean.
+     *
+     * @param slot the static slot of the local variable
+     * @param value the new value of the local variable
+     * @since 20.1
+     */
+    default void setBooleanStatic(FrameSlot slot, boolean value) {
+        setBoolean(slot, value);
+    }
+
+    /**
+     * Read access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type int. Unlike {@link #getInt(FrameSlot)}, the type of the stored
+     * value is not checked. The slot must have been written with
+     * {@link #setIntStatic(FrameSlot, int)} before, otherwise the result is unspecified.
+     *
+     * @param slot the static slot of the local variable
+     * @return the current value of the local variable
+     * @since 20.1
+     */
+    default int getIntStatic(FrameSlot slot) {
+        return FrameUtil.getIntSafe(this, slot);
+    }
+
+    /**
+     * Write access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type int.
+     *
+     * @param slot the static slot of the local variable
+     * @param value the new value of the local variable
+     * @since 20.1
+     */
+    default void setIntStatic(FrameSlot slot, int value) {
+        setInt(slot, value);
+    }
+
+    /**
+     * Read access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type long. Unlike {@link #getLong(FrameSlot)}, the type of the
+     * stored value is not checked. The slot must have been written with
+     * {@link #setLongStatic(FrameSlot, long)} before, otherwise the result is unspecified.
+     *
+     * @param slot the static slot of the local variable
+     * @return the current value of the local variable
+     * @since 20.1
+     */
+    default long getLongStatic(FrameSlot slot) {
+        return FrameUtil.getLongSafe(this, slot);
+    }
+
+    /**
+     * Write access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type long.
+     *
+     * @param slot the static slot of the local variable
+     * @param value the new value of the local variable
+     * @since 20.1
+     */
+    default void setLongStatic(FrameSlot slot, long value) {
+        setLong(slot, value);
+    }
+
+    /**
+     * Read access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type float. Unlike {@link #getFloat(FrameSlot)}, the type of the
+     * stored value is not checked. The slot must have been written with
+     * {@link #setFloatStatic(FrameSlot, float)} before, otherwise the result is unspecified.
+     *
+     * @param slot the static slot of the local variable
+     * @return the current value of the local variable
+     * @since 20.1
+     */
+    default float getFloatStatic(FrameSlot slot) {
+        return FrameUtil.getFloatSafe(this, slot);
+    }
+
+    /**
+     * Write access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type float.
+     *
+     * @param slot the static slot of the local variable
+     * @param value the new value of the local variable
+     * @since 20.1
+     */
+    default void setFloatStatic(FrameSlot slot, float value) {
+        setFloat(slot, value);
+    }
+
+    /**
+     * Read access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type double. Unlike {@link #getDouble(FrameSlot)}, the type of the
+     * stored value is not checked. The slot must have been written with
+     * {@link #setDoubleStatic(FrameSlot, double)} before, otherwise the result is unspecified.
+     *
+     * @param slot the static slot of the local variable
+     * @return the current value of the local variable
+     * @since 20.1
+     */
+    default double getDoubleStatic(FrameSlot slot) {
+        return FrameUtil.getDoubleSafe(this, slot);
+    }
+
+    /**
+     * Write access to a {@linkplain FrameDescriptor#addStaticFrameSlot(Object, FrameSlotKind)
+     * static} local variable of type double.
+     *
+     * @param slot the static slot of the local variable
+     * @param value the new value of the local variable
+     * @since 20.1
+     */
+    default void setDoubleStatic(FrameSlot slot, double value) {
+        setDouble(slot, value);
+    }
 }
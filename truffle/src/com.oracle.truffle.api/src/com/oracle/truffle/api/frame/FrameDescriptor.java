@@ -174,8 +174,58 @@ public final class FrameDescriptor implements Cloneable {
      * @throws NullPointerException if {@code identifier} or {@code kind} is {@code null}
      * @since 0.8 or earlier
      */
-    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT", justification = "All increments and decrements are synchronized.")
     public FrameSlot addFrameSlot(Object identifier, Object info, FrameSlotKind kind) {
+        return addFrameSlotImpl(identifier, info, kind, false);
+    }
+
+    /**
+     * Adds a static frame slot. Delegates to
+     * {@link #addStaticFrameSlot(java.lang.Object, java.lang.Object, FrameSlotKind)
+     * addStaticFrameSlot} (identifier, <code>null</code>, <code>kind</code>).
+     *
+     * @param identifier key for the slot - must not be {@code null} and needs proper
+     *            {@link #equals(java.lang.Object)} and {@link Object#hashCode()} implementations
+     * @param kind the fixed kind of the new slot
+     * @return the newly created slot
+     * @throws IllegalArgumentException if a frame slot with the same identifier exists or if
+     *             {@code kind} is {@link FrameSlotKind#Illegal}
+     * @throws NullPointerException if {@code identifier} or {@code kind} is {@code null}
+     * @since 20.1
+     */
+    public FrameSlot addStaticFrameSlot(Object identifier, FrameSlotKind kind) {
+        return addStaticFrameSlot(identifier, null, kind);
+    }
+
+    /**
+     * Adds a new static frame slot to {@link #getSlots()} list. The kind of a static slot is
+     * declared once and can never be changed with
+     * {@link #setFrameSlotKind(FrameSlot, FrameSlotKind)} afterwards, so nodes accessing it do not
+     * need to profile the slot kind. Static slots are meant to be declared when the root node is
+     * created, by languages that know the types of their local variables statically. Values of
+     * static slots are accessed with the static accessors of {@link Frame}, e.g.
+     * {@link Frame#getLongStatic(FrameSlot)}, which do not check the type of the value stored in
+     * the frame. This is a slow operation.
+     *
+     * @param identifier key for the slot - must not be {@code null} and needs proper
+     *            {@link #equals(java.lang.Object)} and {@link Object#hashCode()} implementations
+     * @param info additional {@linkplain FrameSlot#getInfo() information for the slot}, may be null
+     * @param kind the fixed kind of the new slot
+     * @return the newly created slot
+     * @throws IllegalArgumentException if a frame slot with the same identifier exists or if
+     *             {@code kind} is {@link FrameSlotKind#Illegal}
+     * @throws NullPointerException if {@code identifier} or {@code kind} is {@code null}
+     * @since 20.1
+     */
+    public FrameSlot addStaticFrameSlot(Object identifier, Object info, FrameSlotKind kind) {
+        Objects.requireNonNull(kind, "kind");
+        if (kind == FrameSlotKind.Illegal) {
+            throw new IllegalArgumentException("static frame slot must have a legal kind: " + identifier);
+        }
+        return addFrameSlotImpl(identifier, info, kind, true);
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT", justification = "All increments and decrements are synchronized.")
+    private FrameSlot addFrameSlotImpl(Object identifier, Object info, FrameSlotKind kind, boolean isStatic) {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
         Objects.requireNonNull(identifier, "identifier");
         Objects.requireNonNull(kind, "kind");
@@ -183,7 +233,7 @@ public final class FrameDescriptor implements Cloneable {
             if (identifierToSlotMap.containsKey(identifier)) {
                 throw new IllegalArgumentException("duplicate frame slot: " + identifier);
             }
-            FrameSlot slot = new FrameSlot(this, identifier, info, kind, size);
+            FrameSlot slot = new FrameSlot(this, identifier, info, kind, size, isStatic);
             size++;
             slots.add(slot);
             identifierToSlotMap.put(identifier, slot);
@@ -313,10 +363,16 @@ public final class FrameDescriptor implements Cloneable {
      *
      * @param frameSlot the slot
      * @param kind new kind of the slot
+     * @throws IllegalArgumentException if the slot is {@linkplain #isStaticFrameSlot(FrameSlot)
+     *             static} and {@code kind} differs from its declared kind
      * @since 19.0
      */
     public void setFrameSlotKind(final FrameSlot frameSlot, final FrameSlotKind kind) {
         if (frameSlot.kind != kind) {
+            if (frameSlot.isStatic) {
+                CompilerDirectives.transferToInterpreter();
+                throw new IllegalArgumentException("cannot change the kind of static frame slot: " + frameSlot);
+            }
             CompilerDirectives.transferToInterpreterAndInvalidate();
             setFrameSlotKindSlow(frameSlot, kind);
         }
@@ -342,6 +398,18 @@ public final class FrameDescriptor implements Cloneable {
         }
     }
 
+    /**
+     * Returns <code>true</code> if the provided slot was added with
+     * {@link #addStaticFrameSlot(Object, Object, FrameSlotKind)}, i.e. its kind can never change.
+     *
+     * @param frameSlot the slot
+     * @since 20.1
+     */
+    public boolean isStaticFrameSlot(final FrameSlot frameSlot) {
+        assert checkFrameSlotOwnership(frameSlot);
+        return frameSlot.isStatic;
+    }
+
     private boolean checkFrameSlotOwnershipUnsafe(FrameSlot frameSlot) {
         return frameSlot.descriptor == this;
     }
@@ -467,7 +535,9 @@ public final class FrameDescriptor implements Cloneable {
     /**
      * Deeper copy of the descriptor. Copies all slots in the descriptor, but only their
      * {@linkplain FrameSlot#getIdentifier() identifier} and {@linkplain FrameSlot#getInfo() info}
-     * but not their {@linkplain FrameDescriptor#getFrameSlotKind(FrameSlot) kind}!
+     * but not their {@linkplain FrameDescriptor#getFrameSlotKind(FrameSlot) kind}! Only
+     * {@linkplain #isStaticFrameSlot(FrameSlot) static} slots keep their kind, since it can never
+     * change.
      *
      * @return new instance of a descriptor with copies of values from this one
      * @since 0.8 or earlier
@@ -478,7 +548,11 @@ public final class FrameDescriptor implements Cloneable {
             FrameDescriptor clonedFrameDescriptor = new FrameDescriptor(this.defaultValue);
             for (int i = 0; i < slots.size(); i++) {
                 FrameSlot slot = slots.get(i);
-                clonedFrameDescriptor.addFrameSlot(slot.getIdentifier(), slot.getInfo(), FrameSlotKind.Illegal);
+                if (slot.isStatic) {
+                    clonedFrameDescriptor.addStaticFrameSlot(slot.getIdentifier(), slot.getInfo(), slot.kind);
+                } else {
+                    clonedFrameDescriptor.addFrameSlot(slot.getIdentifier(), slot.getInfo(), FrameSlotKind.Illegal);
+                }
             }
             return clonedFrameDescriptor;
         }
@@ -54,6 +54,7 @@ public final class FrameSlot implements Cloneable {
     private final Object identifier;
     private final Object info;
     final int index;
+    final boolean isStatic;
     /*
      * The FrameSlot cannot be made immutable by moving the kind field to FrameDescriptor, because
      * it would force getFrameSlotKind and setFrameSlotKind to check frameSlot removal which would
@@ -63,11 +64,16 @@ public final class FrameSlot implements Cloneable {
     @CompilationFinal volatile FrameSlotKind kind;
 
     FrameSlot(FrameDescriptor descriptor, Object identifier, Object info, FrameSlotKind kind, int index) {
+        this(descriptor, identifier, info, kind, index, false);
+    }
+
+    FrameSlot(FrameDescriptor descriptor, Object identifier, Object info, FrameSlotKind kind, int index, boolean isStatic) {
         this.descriptor = descriptor;
         this.identifier = identifier;
         this.info = info;
         this.index = index;
         this.kind = kind;
+        this.isStatic = isStatic;
     }
 
     /**
@@ -75,6 +75,11 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
         wrapped.setObject(slot, value);
     }
 
+    @Override
+    public Object getObjectStatic(FrameSlot slot) {
+        return wrapped.getObjectStatic(slot);
+    }
+
     @Override
     public byte getByte(FrameSlot slot) throws FrameSlotTypeException {
         return wrapped.getByte(slot);
@@ -85,6 +90,11 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
         wrapped.setByte(slot, value);
     }
 
+    @Override
+    public byte getByteStatic(FrameSlot slot) {
+        return wrapped.getByteStatic(slot);
+    }
+
     @Override
     public boolean getBoolean(FrameSlot slot) throws FrameSlotTypeException {
         return wrapped.getBoolean(slot);
@@ -95,6 +105,11 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
         wrapped.setBoolean(slot, value);
     }
 
+    @Override
+    public boolean getBooleanStatic(FrameSlot slot) {
+        return wrapped.getBooleanStatic(slot);
+    }
+
     @Override
     public int getInt(FrameSlot slot) throws FrameSlotTypeException {
         return wrapped.getInt(slot);
@@ -105,6 +120,11 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
         wrapped.setInt(slot, value);
     }
 
+    @Override
+    public int getIntStatic(FrameSlot slot) {
+        return wrapped.getIntStatic(slot);
+    }
+
     @Override
     public long getLong(FrameSlot slot) throws FrameSlotTypeException {
         return wrapped.getLong(slot);
@@ -115,6 +135,11 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
         wrapped.setLong(slot, value);
     }
 
+    @Override
+    public long getLongStatic(FrameSlot slot) {
+        return wrapped.getLongStatic(slot);
+    }
+
     @Override
     public float getFloat(FrameSlot slot) throws FrameSlotTypeException {
         return wrapped.getFloat(slot);
@@ -125,6 +150,11 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
         wrapped.setFloat(slot, value);
     }
 
+    @Override
+    public float getFloatStatic(FrameSlot slot) {
+        return wrapped.getFloatStatic(slot);
+    }
+
     @Override
     public double getDouble(FrameSlot slot) throws FrameSlotTypeException {
         return wrapped.getDouble(slot);
@@ -135,6 +165,11 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
         wrapped.setDouble(slot, value);
     }
 
+    @Override
+    public double getDoubleStatic(FrameSlot slot) {
+        return wrapped.getDoubleStatic(slot);
+    }
+
     @Override
     public Object getValue(FrameSlot slot) {
         return wrapped.getValue(slot);
@@ -91,6 +91,11 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return locals[getFrameSlotIndex(slot)];
     }
 
+    @Override
+    public Object getObjectStatic(FrameSlot slot) {
+        return locals[getSlotIndexChecked(slot)];
+    }
+
     @Override
     public void setObject(FrameSlot slot, Object value) {
         verifySet(slot, FrameSlotKind.Object);
@@ -103,6 +108,11 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return (byte) locals[getFrameSlotIndex(slot)];
     }
 
+    @Override
+    public byte getByteStatic(FrameSlot slot) {
+        return (byte) locals[getSlotIndexChecked(slot)];
+    }
+
     @Override
     public void setByte(FrameSlot slot, byte value) {
         verifySet(slot, FrameSlotKind.Byte);
@@ -115,6 +125,11 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return (boolean) locals[getFrameSlotIndex(slot)];
     }
 
+    @Override
+    public boolean getBooleanStatic(FrameSlot slot) {
+        return (boolean) locals[getSlotIndexChecked(slot)];
+    }
+
     @Override
     public void setBoolean(FrameSlot slot, boolean value) {
         verifySet(slot, FrameSlotKind.Boolean);
@@ -127,6 +142,11 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return (int) locals[getFrameSlotIndex(slot)];
     }
 
+    @Override
+    public int getIntStatic(FrameSlot slot) {
+        return (int) locals[getSlotIndexChecked(slot)];
+    }
+
     @Override
     public void setInt(FrameSlot slot, int value) {
         verifySet(slot, FrameSlotKind.Int);
@@ -139,6 +159,11 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return (long) locals[getFrameSlotIndex(slot)];
     }
 
+    @Override
+    public long getLongStatic(FrameSlot slot) {
+        return (long) locals[getSlotIndexChecked(slot)];
+    }
+
     @Override
     public void setLong(FrameSlot slot, long value) {
         verifySet(slot, FrameSlotKind.Long);
@@ -151,6 +176,11 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return (float) locals[getFrameSlotIndex(slot)];
     }
 
+    @Override
+    public float getFloatStatic(FrameSlot slot) {
+        return (float) locals[getSlotIndexChecked(slot)];
+    }
+
     @Override
     public void setFloat(FrameSlot slot, float value) {
         verifySet(slot, FrameSlotKind.Float);
@@ -163,6 +193,11 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return (double) locals[getFrameSlotIndex(slot)];
     }
 
+    @Override
+    public double getDoubleStatic(FrameSlot slot) {
+        return (double) locals[getSlotIndexChecked(slot)];
+    }
+
     @Override
     public void setDouble(FrameSlot slot, double value) {
         verifySet(slot, FrameSlotKind.Double);
@@ -78,6 +78,18 @@ class ReadOnlyFrame implements Frame {
         throw newReadonlyAssertionError();
     }
 
+    @Override
+    @TruffleBoundary
+    public Object getObjectStatic(FrameSlot slot) {
+        return delegate.getObjectStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setObjectStatic(FrameSlot slot, Object value) {
+        throw newReadonlyAssertionError();
+    }
+
     @Override
     @TruffleBoundary
     public byte getByte(FrameSlot slot) throws FrameSlotTypeException {
@@ -90,6 +102,18 @@ class ReadOnlyFrame implements Frame {
         throw newReadonlyAssertionError();
     }
 
+    @Override
+    @TruffleBoundary
+    public byte getByteStatic(FrameSlot slot) {
+        return delegate.getByteStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setByteStatic(FrameSlot slot, byte value) {
+        throw newReadonlyAssertionError();
+    }
+
     @Override
     @TruffleBoundary
     public boolean getBoolean(FrameSlot slot) throws FrameSlotTypeException {
@@ -102,6 +126,18 @@ class ReadOnlyFrame implements Frame {
         throw newReadonlyAssertionError();
     }
 
+    @Override
+    @TruffleBoundary
+    public boolean getBooleanStatic(FrameSlot slot) {
+        return delegate.getBooleanStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setBooleanStatic(FrameSlot slot, boolean value) {
+        throw newReadonlyAssertionError();
+    }
+
     @Override
     @TruffleBoundary
     public int getInt(FrameSlot slot) throws FrameSlotTypeException {
@@ -114,6 +150,18 @@ class ReadOnlyFrame implements Frame {
         throw newReadonlyAssertionError();
     }
 
+    @Override
+    @TruffleBoundary
+    public int getIntStatic(FrameSlot slot) {
+        return delegate.getIntStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setIntStatic(FrameSlot slot, int value) {
+        throw newReadonlyAssertionError();
+    }
+
     private static AssertionError newReadonlyAssertionError() {
         return new AssertionError("Unexpected write access.");
     }
@@ -130,6 +178,18 @@ class ReadOnlyFrame implements Frame {
         throw newReadonlyAssertionError();
     }
 
+    @Override
+    @TruffleBoundary
+    public long getLongStatic(FrameSlot slot) {
+        return delegate.getLongStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setLongStatic(FrameSlot slot, long value) {
+        throw newReadonlyAssertionError();
+    }
+
     @Override
     @TruffleBoundary
     public float getFloat(FrameSlot slot) throws FrameSlotTypeException {
@@ -142,6 +202,18 @@ class ReadOnlyFrame implements Frame {
         throw newReadonlyAssertionError();
     }
 
+    @Override
+    @TruffleBoundary
+    public float getFloatStatic(FrameSlot slot) {
+        return delegate.getFloatStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setFloatStatic(FrameSlot slot, float value) {
+        throw newReadonlyAssertionError();
+    }
+
     @Override
     @TruffleBoundary
     public double getDouble(FrameSlot slot) throws FrameSlotTypeException {
@@ -154,6 +226,18 @@ class ReadOnlyFrame implements Frame {
         throw newReadonlyAssertionError();
     }
 
+    @Override
+    @TruffleBoundary
+    public double getDoubleStatic(FrameSlot slot) {
+        return delegate.getDoubleStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setDoubleStatic(FrameSlot slot, double value) {
+        throw newReadonlyAssertionError();
+    }
+
     @Override
     @TruffleBoundary
     public Object getValue(FrameSlot slot) {
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.object.basic.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Layout;
+import com.oracle.truffle.api.object.ObjectType;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.object.basic.DefaultLayoutFactory;
+
+@RunWith(Parameterized.class)
+public class DynamicObjectLibraryTest {
+
+    private static final Layout LAYOUT = new DefaultLayoutFactory().createLayout(Layout.newLayout());
+    private static final Shape ROOT_SHAPE = LAYOUT.createShape(new ObjectType());
+
+    @Parameter public boolean cached;
+
+    @Parameters(name = "cached={0}")
+    public static List<Boolean> data() {
+        return Arrays.asList(Boolean.TRUE, Boolean.FALSE);
+    }
+
+    private DynamicObjectLibrary createLibrary(DynamicObject object) {
+        return cached ? DynamicObjectLibrary.getFactory().create(object) : DynamicObjectLibrary.getUncached();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        DynamicObject o1 = ROOT_SHAPE.newInstance();
+        DynamicObjectLibrary lib = createLibrary(o1);
+        assertEquals("default", lib.getOrDefault(o1, "a", "default"));
+        assertFalse(lib.containsKey(o1, "a"));
+
+        lib.put(o1, "a", 42);
+        lib.put(o1, "b", "str");
+        assertEquals(42, lib.getOrDefault(o1, "a", null));
+        assertEquals("str", lib.getOrDefault(o1, "b", null));
+        assertTrue(lib.containsKey(o1, "a"));
+
+        // a second object of the same shape reuses the cached transitions
+        DynamicObject o2 = ROOT_SHAPE.newInstance();
+        lib.put(o2, "a", 43);
+        lib.put(o2, "b", "str2");
+        assertSame(o1.getShape(), o2.getShape());
+        assertEquals(43, lib.getOrDefault(o2, "a", null));
+        assertEquals(42, lib.getOrDefault(o1, "a", null));
+
+        // overwriting an existing property keeps the shape
+        Shape shape = o1.getShape();
+        lib.put(o1, "a", 44);
+        assertSame(shape, o1.getShape());
+        assertEquals(44, lib.getOrDefault(o1, "a", null));
+    }
+
+    @Test
+    public void testPrimitiveGetters() throws UnexpectedResultException {
+        DynamicObject o1 = ROOT_SHAPE.newInstance();
+        DynamicObjectLibrary lib = createLibrary(o1);
+        lib.put(o1, "i", 42);
+        lib.put(o1, "l", 1L << 40);
+        lib.put(o1, "d", 3.14);
+        assertEquals(42, lib.getIntOrDefault(o1, "i", null));
+        assertEquals(1L << 40, lib.getLongOrDefault(o1, "l", null));
+        assertEquals(3.14, lib.getDoubleOrDefault(o1, "d", null), 0);
+        try {
+            lib.getIntOrDefault(o1, "d", null);
+            fail();
+        } catch (UnexpectedResultException e) {
+            assertEquals(3.14, e.getResult());
+        }
+        try {
+            lib.getIntOrDefault(o1, "missing", "default");
+            fail();
+        } catch (UnexpectedResultException e) {
+            assertEquals("default", e.getResult());
+        }
+    }
+
+    @Test
+    public void testPrimitiveGettersMissingProperty() {
+        DynamicObject o1 = ROOT_SHAPE.newInstance();
+        DynamicObjectLibrary lib = createLibrary(o1);
+        lib.put(o1, "a", 1);
+        assertMissing(lib, o1);
+        // exceed the shape cache limit such that the generic case is used
+        for (int i = 0; i < 5; i++) {
+            DynamicObject o = ROOT_SHAPE.newInstance();
+            lib.put(o, "p" + i, i);
+            assertMissing(lib, o);
+        }
+    }
+
+    private static void assertMissing(DynamicObjectLibrary lib, DynamicObject object) {
+        Integer defaultValue = 42;
+        try {
+            lib.getIntOrDefault(object, "missing", defaultValue);
+            fail();
+        } catch (UnexpectedResultException e) {
+            assertSame(defaultValue, e.getResult());
+        }
+        try {
+            lib.getLongOrDefault(object, "missing", defaultValue);
+            fail();
+        } catch (UnexpectedResultException e) {
+            assertSame(defaultValue, e.getResult());
+        }
+        try {
+            lib.getDoubleOrDefault(object, "missing", defaultValue);
+            fail();
+        } catch (UnexpectedResultException e) {
+            assertSame(defaultValue, e.getResult());
+        }
+    }
+
+    @Test
+    public void testGeneralize() {
+        DynamicObject o1 = ROOT_SHAPE.newInstance();
+        DynamicObject o2 = ROOT_SHAPE.newInstance();
+        DynamicObjectLibrary lib = createLibrary(o1);
+        lib.put(o1, "a", 42);
+        lib.put(o2, "a", 43);
+        Shape intShape = o1.getShape();
+
+        lib.put(o1, "a", "str");
+        assertNotSame(intShape, o1.getShape());
+        assertEquals("str", lib.getOrDefault(o1, "a", null));
+
+        // o2 still has the int shape and takes the same generalizing transition
+        assertSame(intShape, o2.getShape());
+        assertEquals(43, lib.getOrDefault(o2, "a", null));
+        lib.put(o2, "a", "str2");
+        assertSame(o1.getShape(), o2.getShape());
+    }
+
+    @Test
+    public void testFlagsAndRemove() {
+        DynamicObject o1 = ROOT_SHAPE.newInstance();
+        DynamicObjectLibrary lib = createLibrary(o1);
+        lib.putWithFlags(o1, "a", 42, 1);
+        assertEquals(1, lib.getPropertyFlagsOrDefault(o1, "a", -1));
+        assertEquals(-1, lib.getPropertyFlagsOrDefault(o1, "b", -1));
+
+        lib.put(o1, "a", 43);
+        assertEquals(1, lib.getPropertyFlagsOrDefault(o1, "a", -1));
+
+        assertTrue(lib.setPropertyFlags(o1, "a", 2));
+        assertEquals(2, lib.getPropertyFlagsOrDefault(o1, "a", -1));
+        assertEquals(43, lib.getOrDefault(o1, "a", null));
+        assertFalse(lib.setPropertyFlags(o1, "b", 2));
+
+        assertFalse(lib.removeKey(o1, "b"));
+        assertTrue(lib.removeKey(o1, "a"));
+        assertFalse(lib.containsKey(o1, "a"));
+        assertEquals("default", lib.getOrDefault(o1, "a", "default"));
+    }
+}
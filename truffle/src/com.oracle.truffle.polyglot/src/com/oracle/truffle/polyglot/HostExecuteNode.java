@@ -64,6 +64,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
@@ -446,7 +447,18 @@ abstract class HostExecuteNode extends Node {
 
     @TruffleBoundary
     static SingleMethod selectOverload(OverloadedMethod method, Object[] args, PolyglotLanguageContext languageContext) throws ArityException, UnsupportedTypeException {
-        return selectOverload(method, args, languageContext, null);
+        OverloadSignature signature = OverloadSignature.create(args, languageContext);
+        if (signature != null) {
+            SingleMethod selected = method.getSelectedOverload(signature);
+            if (selected != null) {
+                return selected;
+            }
+        }
+        SingleMethod selected = selectOverload(method, args, languageContext, null);
+        if (signature != null) {
+            method.putSelectedOverload(signature, selected);
+        }
+        return selected;
     }
 
     @TruffleBoundary
@@ -802,6 +814,102 @@ abstract class HostExecuteNode extends Node {
         return sj.toString();
     }
 
+    /**
+     * Describes the properties of the arguments that overload resolution depends on. Two argument
+     * arrays with equal signatures always resolve to the same overload, which allows the
+     * megamorphic call path to skip the resolution. Only host objects, boxed primitives and strings
+     * are described. For numbers and strings the value dependent lossless conversions are part of
+     * the signature. Arguments whose conversion depends on guest interop behavior, on target type
+     * mappings or on their identity, like null or host class objects, have no signature.
+     */
+    static final class OverloadSignature {
+
+        private static final int HOST_OBJECT = 1 << 0;
+        private static final int FITS_BYTE = 1 << 1;
+        private static final int FITS_SHORT = 1 << 2;
+        private static final int FITS_INT = 1 << 3;
+        private static final int FITS_LONG = 1 << 4;
+        private static final int FITS_FLOAT = 1 << 5;
+        private static final int FITS_DOUBLE = 1 << 6;
+        private static final int FITS_CHAR = 1 << 7;
+        private static final int SINGLE_CHAR = 1 << 8;
+
+        private final Class<?>[] types;
+        private final int[] flags;
+        private final int hash;
+
+        private OverloadSignature(Class<?>[] types, int[] flags) {
+            this.types = types;
+            this.flags = flags;
+            this.hash = 31 * Arrays.hashCode(types) + Arrays.hashCode(flags);
+        }
+
+        static OverloadSignature create(Object[] args, PolyglotLanguageContext languageContext) {
+            if (languageContext.getEngine().getHostClassCache().hasTargetMappings()) {
+                return null;
+            }
+            Class<?>[] types = new Class<?>[args.length];
+            int[] flags = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                Object value = args[i];
+                int argFlags = 0;
+                if (value instanceof HostObject) {
+                    value = ((HostObject) value).obj;
+                    argFlags |= HOST_OBJECT;
+                }
+                if (value == null || value instanceof TruffleObject || value instanceof Class<?>) {
+                    return null;
+                }
+                Class<?> type = value.getClass();
+                if (type == Byte.class || type == Short.class || type == Integer.class || type == Long.class || type == Float.class || type == Double.class) {
+                    argFlags |= numberFlags(value);
+                } else if (type == String.class) {
+                    argFlags |= ((String) value).length() == 1 ? SINGLE_CHAR : 0;
+                }
+                types[i] = type;
+                flags[i] = argFlags;
+            }
+            return new OverloadSignature(types, flags);
+        }
+
+        private static int numberFlags(Object value) {
+            InteropLibrary interop = InteropLibrary.getFactory().getUncached(value);
+            int result = 0;
+            result |= interop.fitsInByte(value) ? FITS_BYTE : 0;
+            result |= interop.fitsInShort(value) ? FITS_SHORT : 0;
+            result |= interop.fitsInLong(value) ? FITS_LONG : 0;
+            result |= interop.fitsInFloat(value) ? FITS_FLOAT : 0;
+            result |= interop.fitsInDouble(value) ? FITS_DOUBLE : 0;
+            if (interop.fitsInInt(value)) {
+                result |= FITS_INT;
+                try {
+                    int v = interop.asInt(value);
+                    result |= v >= 0 && v < 65536 ? FITS_CHAR : 0;
+                } catch (UnsupportedMessageException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof OverloadSignature)) {
+                return false;
+            }
+            OverloadSignature other = (OverloadSignature) obj;
+            return hash == other.hash && Arrays.equals(types, other.types) && Arrays.equals(flags, other.flags);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     abstract static class TypeCheckNode extends Node {
 
         abstract boolean execute(Object test, InteropLibrary interop, PolyglotLanguageContext languageContext);
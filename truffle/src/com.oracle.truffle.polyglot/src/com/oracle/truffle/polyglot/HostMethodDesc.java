@@ -50,6 +50,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerAsserts;
@@ -408,7 +409,18 @@ abstract class HostMethodDesc {
     }
 
     static final class OverloadedMethod extends HostMethodDesc {
+        /**
+         * Maximum number of argument signatures for which the selected overload is remembered.
+         */
+        private static final int SELECTED_OVERLOADS_LIMIT = 16;
+
         private final SingleMethod[] overloads;
+        /*
+         * Overloads selected by the megamorphic call path, keyed by argument signature. Method
+         * descriptors are owned by the host class cache, so the selection is shared across all
+         * contexts using the same host access configuration.
+         */
+        private volatile ConcurrentHashMap<Object, SingleMethod> selectedOverloads;
 
         OverloadedMethod(SingleMethod[] overloads) {
             this.overloads = overloads;
@@ -420,6 +432,26 @@ abstract class HostMethodDesc {
             return overloads;
         }
 
+        SingleMethod getSelectedOverload(Object signature) {
+            ConcurrentHashMap<Object, SingleMethod> selected = selectedOverloads;
+            return selected == null ? null : selected.get(signature);
+        }
+
+        void putSelectedOverload(Object signature, SingleMethod overload) {
+            ConcurrentHashMap<Object, SingleMethod> selected = selectedOverloads;
+            if (selected == null) {
+                synchronized (this) {
+                    selected = selectedOverloads;
+                    if (selected == null) {
+                        selectedOverloads = selected = new ConcurrentHashMap<>();
+                    }
+                }
+            }
+            if (selected.size() < SELECTED_OVERLOADS_LIMIT) {
+                selected.putIfAbsent(signature, overload);
+            }
+        }
+
         @Override
         public String getName() {
             return getOverloads()[0].getName();
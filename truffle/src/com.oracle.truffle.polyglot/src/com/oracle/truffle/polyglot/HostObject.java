@@ -602,6 +602,110 @@ final class HostObject implements TruffleObject {
 
     }
 
+    @ExportMessage
+    static class ReadArrayElements {
+
+        @Specialization(guards = {"isArray.execute(receiver)", "isSamePrimitiveArrayType(receiver.obj, destination)"}, limit = "1")
+        static void doPrimitiveArray(HostObject receiver, long index, Object destination, int destinationOffset, int length,
+                        @Shared("isArray") @Cached IsArrayNode isArray) throws InvalidArrayIndexException {
+            Object obj = receiver.obj;
+            checkPrimitiveArrayRange(destination, destinationOffset, length);
+            checkArrayRange(obj, index, length);
+            System.arraycopy(obj, (int) index, destination, destinationOffset, length);
+        }
+
+        @TruffleBoundary
+        @Specialization(guards = "!isArray.execute(receiver) || !isSamePrimitiveArrayType(receiver.obj, destination)", limit = "1")
+        static void doGeneric(HostObject receiver, long index, Object destination, int destinationOffset, int length,
+                        @Shared("isArray") @Cached IsArrayNode isArray) throws UnsupportedMessageException, InvalidArrayIndexException {
+            checkPrimitiveArrayRange(destination, destinationOffset, length);
+            InteropLibrary arrays = InteropLibrary.getFactory().getUncached(receiver);
+            if (!arrays.hasArrayElements(receiver)) {
+                throw UnsupportedMessageException.create();
+            }
+            for (int i = 0; i < length; i++) {
+                Object element = arrays.readArrayElement(receiver, index + i);
+                InteropLibrary elements = InteropLibrary.getFactory().getUncached(element);
+                int arrayIndex = destinationOffset + i;
+                if (destination instanceof byte[]) {
+                    ((byte[]) destination)[arrayIndex] = elements.asByte(element);
+                } else if (destination instanceof short[]) {
+                    ((short[]) destination)[arrayIndex] = elements.asShort(element);
+                } else if (destination instanceof int[]) {
+                    ((int[]) destination)[arrayIndex] = elements.asInt(element);
+                } else if (destination instanceof long[]) {
+                    ((long[]) destination)[arrayIndex] = elements.asLong(element);
+                } else if (destination instanceof float[]) {
+                    ((float[]) destination)[arrayIndex] = elements.asFloat(element);
+                } else {
+                    ((double[]) destination)[arrayIndex] = elements.asDouble(element);
+                }
+            }
+        }
+
+    }
+
+    @ExportMessage
+    static class WriteArrayElements {
+
+        @Specialization(guards = {"isArray.execute(receiver)", "isSamePrimitiveArrayType(receiver.obj, source)"}, limit = "1")
+        static void doPrimitiveArray(HostObject receiver, long index, Object source, int sourceOffset, int length,
+                        @Shared("isArray") @Cached IsArrayNode isArray) throws InvalidArrayIndexException {
+            Object obj = receiver.obj;
+            checkPrimitiveArrayRange(source, sourceOffset, length);
+            checkArrayRange(obj, index, length);
+            System.arraycopy(source, sourceOffset, obj, (int) index, length);
+        }
+
+        @TruffleBoundary
+        @Specialization(guards = "!isArray.execute(receiver) || !isSamePrimitiveArrayType(receiver.obj, source)", limit = "1")
+        static void doGeneric(HostObject receiver, long index, Object source, int sourceOffset, int length,
+                        @Shared("isArray") @Cached IsArrayNode isArray) throws UnsupportedMessageException, UnsupportedTypeException, InvalidArrayIndexException {
+            checkPrimitiveArrayRange(source, sourceOffset, length);
+            InteropLibrary arrays = InteropLibrary.getFactory().getUncached(receiver);
+            if (!arrays.hasArrayElements(receiver)) {
+                throw UnsupportedMessageException.create();
+            }
+            for (int i = 0; i < length; i++) {
+                arrays.writeArrayElement(receiver, index + i, Array.get(source, sourceOffset + i));
+            }
+        }
+
+    }
+
+    static boolean isSamePrimitiveArrayType(Object array, Object other) {
+        if (array == null || other == null || array.getClass() != other.getClass()) {
+            return false;
+        }
+        return isSupportedPrimitiveArray(other);
+    }
+
+    private static boolean isSupportedPrimitiveArray(Object array) {
+        return array instanceof byte[] || array instanceof short[] || array instanceof int[] ||
+                        array instanceof long[] || array instanceof float[] || array instanceof double[];
+    }
+
+    private static void checkPrimitiveArrayRange(Object array, int offset, int length) {
+        if (!isSupportedPrimitiveArray(array)) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalArgumentException("Expected a byte[], short[], int[], long[], float[] or double[] array but got " + (array == null ? "null" : array.getClass().getName()) + ".");
+        }
+        int arrayLength = Array.getLength(array);
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength + ".");
+        }
+    }
+
+    private static void checkArrayRange(Object array, long index, int length) throws InvalidArrayIndexException {
+        int arrayLength = Array.getLength(array);
+        if (index < 0 || index > arrayLength) {
+            throw InvalidArrayIndexException.create(index);
+        } else if (length > arrayLength - index) {
+            throw InvalidArrayIndexException.create(arrayLength);
+        }
+    }
+
     @ExportMessage
     long getArraySize(@Shared("isArray") @Cached IsArrayNode isArray,
                     @Shared("isList") @Cached IsListNode isList) throws UnsupportedMessageException {
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.polyglot;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Collects which sources were parsed in more than one language instance of an engine. Such sources
+ * result in duplicated call targets that are compiled once per language instance. Enabled with
+ * {@link PolyglotEngineOptions#TraceCodeSharing}.
+ */
+final class PolyglotCodeSharingStatistics {
+
+    private final PolyglotEngineImpl engine;
+    private volatile TruffleLogger log;
+
+    // guarded by this
+    private final Map<PolyglotLanguage, LanguageStatistics> languages = new LinkedHashMap<>();
+    /*
+     * The sources parsed so far, referenced weakly so that collected sources do not accumulate in
+     * long-lived engines. Guarded by this.
+     */
+    private final Map<ParsedSourceKey, ParsedBy> parsedSources = new HashMap<>();
+    private final ReferenceQueue<Source> deadSources = new ReferenceQueue<>();
+
+    PolyglotCodeSharingStatistics(PolyglotEngineImpl engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Called whenever a cached source was parsed by a language instance.
+     */
+    void onParse(PolyglotLanguageInstance instance, Source source) {
+        Object sourceId = EngineAccessor.SOURCE.getSourceIdentifier(source);
+        ParsedBy firstParsedBy;
+        String reason;
+        synchronized (this) {
+            cleanupStaleEntries();
+            LanguageStatistics statistics = languages.get(instance.language);
+            if (statistics == null) {
+                statistics = new LanguageStatistics();
+                languages.put(instance.language, statistics);
+            }
+            statistics.parsed++;
+            firstParsedBy = parsedSources.get(new ParsedSourceKey(sourceId, instance.language, source, null));
+            if (firstParsedBy == null) {
+                ParsedSourceKey key = new ParsedSourceKey(sourceId, instance.language, source, deadSources);
+                parsedSources.put(key, new ParsedBy(key, instance.id, instance.unsharedReason));
+                return;
+            } else if (firstParsedBy.instanceId == instance.id) {
+                return;
+            }
+            // the newer instance is the one that could have been shared
+            reason = firstParsedBy.instanceId > instance.id ? firstParsedBy.unsharedReason : instance.unsharedReason;
+            if (reason == null) {
+                reason = "unknown";
+            }
+            statistics.duplicated++;
+            Integer count = statistics.reasons.get(reason);
+            statistics.reasons.put(reason, count == null ? 1 : count + 1);
+        }
+        getLogger().log(Level.INFO, "Source {0} of language {1} parsed again in language instance {2}, first parsed in language instance {3}. The instances were not shared because {4}.",
+                        new Object[]{source.getName(), instance.language.getId(), instance.id, firstParsedBy.instanceId, reason});
+    }
+
+    /**
+     * Prints a summary per language. Called when the engine is closed.
+     */
+    void printSummary() {
+        TruffleLogger logger = getLogger();
+        synchronized (this) {
+            for (Map.Entry<PolyglotLanguage, LanguageStatistics> entry : languages.entrySet()) {
+                LanguageStatistics statistics = entry.getValue();
+                logger.log(Level.INFO, "Code sharing of language {0}: {1} sources parsed, {2} parsed again in another language instance.",
+                                new Object[]{entry.getKey().getId(), statistics.parsed, statistics.duplicated});
+                for (Map.Entry<String, Integer> reason : statistics.reasons.entrySet()) {
+                    logger.log(Level.INFO, "  {0} times because {1}", new Object[]{reason.getValue(), reason.getKey()});
+                }
+            }
+        }
+    }
+
+    private void cleanupStaleEntries() {
+        assert Thread.holdsLock(this);
+        ParsedSourceKey key;
+        while ((key = (ParsedSourceKey) deadSources.poll()) != null) {
+            ParsedBy parsedBy = parsedSources.get(key);
+            // an equal key may have been added after the source of this key was collected
+            if (parsedBy != null && parsedBy.key == key) {
+                parsedSources.remove(key);
+            }
+        }
+    }
+
+    private TruffleLogger getLogger() {
+        TruffleLogger result = log;
+        if (result == null) {
+            result = EngineAccessor.LANGUAGE.getLogger(PolyglotEngineImpl.OPTION_GROUP_ENGINE, "code-sharing", engine.getOrCreateEngineLoggers());
+            log = result;
+        }
+        return result;
+    }
+
+    private static final class LanguageStatistics {
+
+        final Map<String, Integer> reasons = new LinkedHashMap<>();
+        long parsed;
+        long duplicated;
+
+    }
+
+    private static final class ParsedBy {
+
+        final ParsedSourceKey key;
+        final int instanceId;
+        final String unsharedReason;
+
+        ParsedBy(ParsedSourceKey key, int instanceId, String unsharedReason) {
+            this.key = key;
+            this.instanceId = instanceId;
+            this.unsharedReason = unsharedReason;
+        }
+
+    }
+
+    private static final class ParsedSourceKey extends WeakReference<Source> {
+
+        final Object sourceId;
+        final PolyglotLanguage language;
+
+        ParsedSourceKey(Object sourceId, PolyglotLanguage language, Source source, ReferenceQueue<? super Source> q) {
+            super(source, q);
+            this.sourceId = sourceId;
+            this.language = language;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sourceId.hashCode() + language.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof ParsedSourceKey) {
+                ParsedSourceKey other = (ParsedSourceKey) obj;
+                return sourceId.equals(other.sourceId) && language == other.language;
+            } else {
+                return false;
+            }
+        }
+
+    }
+
+}
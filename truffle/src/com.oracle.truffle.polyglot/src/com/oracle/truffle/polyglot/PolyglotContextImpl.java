@@ -44,6 +44,7 @@ import static com.oracle.truffle.polyglot.EngineAccessor.LANGUAGE;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
@@ -162,6 +163,13 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     private volatile PolyglotThreadInfo currentThreadInfo = PolyglotThreadInfo.NULL;
     @CompilationFinal private volatile PolyglotThreadInfo constantCurrentThreadInfo = PolyglotThreadInfo.NULL;
 
+    /*
+     * Thread info of the current thread if it is already attached to this multi-threaded context.
+     * Allows attached threads to enter and leave without acquiring the context lock. The info is
+     * referenced weakly as it references this context.
+     */
+    private final ThreadLocal<Reference<PolyglotThreadInfo>> attachedThreadInfo = new ThreadLocal<>();
+
     /*
      * While canceling the context can no longer be entered. The context goes from canceling into
      * closed state.
@@ -426,11 +434,11 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     }
 
     @Override
-    public synchronized void explicitEnter(Context sourceContext) {
+    public void explicitEnter(Context sourceContext) {
         try {
             checkCreatorAccess(sourceContext, "entered");
             Object prev = engine.enter(this);
-            PolyglotThreadInfo current = getCurrentThreadInfo();
+            PolyglotThreadInfo current = getEnteredThreadInfo();
             assert current.getThread() == Thread.currentThread();
             current.explicitContextStack.addLast(prev);
         } catch (Throwable t) {
@@ -439,7 +447,7 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     }
 
     @Override
-    public synchronized void explicitLeave(Context sourceContext) {
+    public void explicitLeave(Context sourceContext) {
         if (closed || closingThread == Thread.currentThread()) {
             // explicit leaves if already closed are allowed.
             // as close may automatically leave the context on threads.
@@ -447,7 +455,7 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         }
         try {
             checkCreatorAccess(sourceContext, "left");
-            PolyglotThreadInfo current = getCurrentThreadInfo();
+            PolyglotThreadInfo current = getEnteredThreadInfo();
             LinkedList<Object> stack = current.explicitContextStack;
             if (stack.isEmpty() || current.getThread() == null) {
                 throw PolyglotEngineException.illegalState("The context is not entered explicity. A context can only be left if it was previously entered.");
@@ -458,6 +466,20 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         }
     }
 
+    /*
+     * The explicit context stack is only accessed by its own thread, therefore the context lock is
+     * only needed to look up the thread info if the thread is not attached yet.
+     */
+    private PolyglotThreadInfo getEnteredThreadInfo() {
+        PolyglotThreadInfo info = getAttachedThreadInfo();
+        if (info == null) {
+            synchronized (this) {
+                info = getCurrentThreadInfo();
+            }
+        }
+        return info;
+    }
+
     private void checkCreatorAccess(Context context, String operation) {
         if (context != creatorApi) {
             throw PolyglotEngineException.illegalState(String.format("Context instances that were received using Context.get() cannot be %s.", operation));
@@ -466,6 +488,18 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
 
     @TruffleBoundary
     PolyglotContextImpl enterThreadChanged() {
+        PolyglotThreadInfo attached = getAttachedThreadInfo();
+        if (attached != null && canEnterAttachedThread()) {
+            // fast-path -> thread already attached, no thread initialization or transition needed
+            PolyglotContextImpl prev = (PolyglotContextImpl) singleContextState.contextThreadLocal.setReturnParent(this);
+            attached.enter(engine);
+            if (canEnterAttachedThread()) {
+                return prev;
+            }
+            // close or cancel started concurrently -> undo and enter on the slow-path
+            attached.leave(engine);
+            singleContextState.contextThreadLocal.set(prev);
+        }
         Thread current = Thread.currentThread();
         PolyglotContextImpl prev;
         boolean needsInitialization = false;
@@ -510,6 +544,9 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
             // never cache last thread on close or when closingThread
             if (!closed && closing == null && !invalid) {
                 setCachedThreadInfo(threadInfo);
+                if (!singleThreaded.isValid() && getAttachedThreadInfo() != threadInfo) {
+                    attachedThreadInfo.set(new WeakReference<>(threadInfo));
+                }
             }
 
         }
@@ -519,6 +556,20 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         return prev;
     }
 
+    private PolyglotThreadInfo getAttachedThreadInfo() {
+        Reference<PolyglotThreadInfo> ref = attachedThreadInfo.get();
+        return ref != null ? ref.get() : null;
+    }
+
+    /*
+     * The attached thread info is only used while no thread transition can happen, similar to the
+     * cached thread info that is reset whenever the context starts closing, cancelling or gets
+     * invalidated.
+     */
+    private boolean canEnterAttachedThread() {
+        return !singleThreaded.isValid() && closingThread == null && !cancelling && !closed && !invalid;
+    }
+
     void setCachedThreadInfo(PolyglotThreadInfo info) {
         assert Thread.holdsLock(this);
         currentThreadInfo = info;
@@ -561,6 +612,20 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
 
     @TruffleBoundary
     PolyglotThreadInfo leaveThreadChanged() {
+        PolyglotThreadInfo attached = getAttachedThreadInfo();
+        if (attached != null && canEnterAttachedThread()) {
+            boolean lastActive = attached.isLastActive();
+            attached.leave(engine);
+            if (!canEnterAttachedThread()) {
+                // a close or cancel started concurrently, notify it like the slow path
+                synchronized (this) {
+                    if (cancelling && lastActive) {
+                        notifyThreadClosed();
+                    }
+                }
+            }
+            return attached;
+        }
         PolyglotThreadInfo info;
         synchronized (this) {
             Thread current = Thread.currentThread();
@@ -918,6 +983,8 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
             checkSubProcessFinished();
             if (engine.boundEngine && parent == null) {
                 engine.ensureClosed(cancelIfExecuting, true);
+            } else if (closeCompleted && parent == null) {
+                engine.scheduleContextPoolFill();
             }
         } catch (Throwable t) {
             throw PolyglotImpl.guestToHostException(engine, t);
@@ -1067,13 +1134,18 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
                     }
                 }
 
+                /*
+                 * Publish the closing thread before looking for active threads. Attached threads
+                 * entering without the lock re-check it after incrementing their entered count.
+                 */
+                closingThread = Thread.currentThread();
                 if (hasActiveOtherThread(waitForPolyglotThreads)) {
                     /*
                      * We are not done executing, cannot close yet.
                      */
+                    closingThread = null;
                     return false;
                 }
-                closingThread = Thread.currentThread();
                 if (!threadInfo.explicitContextStack.isEmpty()) {
                     PolyglotContextImpl c = this;
                     while (!threadInfo.explicitContextStack.isEmpty()) {
@@ -1313,6 +1385,31 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     }
 
     static PolyglotContextImpl preInitialize(final PolyglotEngineImpl engine) {
+        final String oldOption = engine.engineOptionValues.get(PolyglotEngineOptions.PreinitializeContexts);
+        final String newOption = ImageBuildTimeOptions.get(ImageBuildTimeOptions.PREINITIALIZE_CONTEXTS_NAME);
+        final String optionValue;
+        if (!oldOption.isEmpty() && !newOption.isEmpty()) {
+            optionValue = oldOption + "," + newOption;
+        } else {
+            optionValue = oldOption + newOption;
+        }
+        final Set<String> languagesToPreinitialize = new HashSet<>();
+        if (!optionValue.isEmpty()) {
+            Collections.addAll(languagesToPreinitialize, optionValue.split(","));
+        }
+        return preInitialize(engine, languagesToPreinitialize, true);
+    }
+
+    /**
+     * Creates a context with the given languages initialized that is later
+     * {@link #patch(PolyglotContextConfig) patched} with the configuration of a context created by
+     * the embedder.
+     *
+     * @param imageBuildTime {@code true} if the context is stored in a native image heap, in which
+     *            case sources and language option values used during pre-initialization are reset
+     *            afterwards. A context pooled by a running engine keeps them.
+     */
+    static PolyglotContextImpl preInitialize(final PolyglotEngineImpl engine, Set<String> languagesToPreinitialize, boolean imageBuildTime) {
         final FileSystems.PreInitializeContextFileSystem fs = new FileSystems.PreInitializeContextFileSystem();
         final FileSystems.PreInitializeContextFileSystem internalFs = new FileSystems.PreInitializeContextFileSystem();
         EconomicSet<String> allowedLanguages = EconomicSet.create();
@@ -1335,19 +1432,10 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
                         EnvironmentAccess.INHERIT, null, null, null, null);
         final PolyglotContextImpl context = new PolyglotContextImpl(engine, config);
         try {
-            context.sourcesToInvalidate = new ArrayList<>();
-            final String oldOption = engine.engineOptionValues.get(PolyglotEngineOptions.PreinitializeContexts);
-            final String newOption = ImageBuildTimeOptions.get(ImageBuildTimeOptions.PREINITIALIZE_CONTEXTS_NAME);
-            final String optionValue;
-            if (!oldOption.isEmpty() && !newOption.isEmpty()) {
-                optionValue = oldOption + "," + newOption;
-            } else {
-                optionValue = oldOption + newOption;
+            if (imageBuildTime) {
+                context.sourcesToInvalidate = new ArrayList<>();
             }
-
-            if (!optionValue.isEmpty()) {
-                final Set<String> languagesToPreinitialize = new HashSet<>();
-                Collections.addAll(languagesToPreinitialize, optionValue.split(","));
+            if (!languagesToPreinitialize.isEmpty()) {
                 context.inContextPreInitialization = true;
                 try {
                     Object prev = context.engine.enter(context);
@@ -1364,9 +1452,11 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
                                     }
                                 }
                             }
-                            // Reset language options parsed during preinitialization
-                            PolyglotLanguage language = engine.idToLanguage.get(languageId);
-                            language.clearOptionValues();
+                            if (imageBuildTime) {
+                                // Reset language options parsed during preinitialization
+                                PolyglotLanguage language = engine.idToLanguage.get(languageId);
+                                language.clearOptionValues();
+                            }
                         }
                     } finally {
                         context.engine.leave(prev, context);
@@ -1381,13 +1471,17 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
             disposeStaticContext(context);
             return context;
         } finally {
-            for (Source sourceToInvalidate : context.sourcesToInvalidate) {
-                EngineAccessor.SOURCE.invalidateAfterPreinitialiation(sourceToInvalidate);
+            if (context.sourcesToInvalidate != null) {
+                for (Source sourceToInvalidate : context.sourcesToInvalidate) {
+                    EngineAccessor.SOURCE.invalidateAfterPreinitialiation(sourceToInvalidate);
+                }
+                context.sourcesToInvalidate = null;
             }
-            context.sourcesToInvalidate = null;
             fs.onPreInitializeContextEnd();
             internalFs.onPreInitializeContextEnd();
-            FileSystems.resetDefaultFileSystemProvider();
+            if (imageBuildTime) {
+                FileSystems.resetDefaultFileSystemProvider();
+            }
             if (!config.logLevels.isEmpty()) {
                 EngineAccessor.LANGUAGE.configureLoggers(context, null, getAllLoggers(engine));
             }
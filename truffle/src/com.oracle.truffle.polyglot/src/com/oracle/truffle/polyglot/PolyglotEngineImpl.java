@@ -49,10 +49,12 @@ import java.io.PrintStream;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.time.ZoneId;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -156,6 +158,14 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
     private final EconomicSet<ContextWeakReference> contexts = EconomicSet.create(Equivalence.IDENTITY);
     final ReferenceQueue<PolyglotContextImpl> contextsReferenceQueue = new ReferenceQueue<>();
     private final AtomicReference<PolyglotContextImpl> preInitializedContext = new AtomicReference<>();
+    /*
+     * Pre-initialized contexts that were never entered by the embedder. Guarded by this engine.
+     */
+    private final Deque<PolyglotContextImpl> contextPool = new ArrayDeque<>();
+    private Set<String> contextPoolLanguages = Collections.emptySet(); // effectively final
+    private int contextPoolSize;    // effectively final
+    private Thread contextPoolFiller;       // guarded by this
+    private boolean contextPoolFillStopped; // guarded by this
 
     PolyglotLanguage hostLanguage;
     final Assumption singleContext = Truffle.getRuntime().createAssumption("Single context per engine.");
@@ -180,6 +190,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
     final int contextLength;
     private volatile EngineLimits limits;
     final boolean conservativeContextReferences;
+    final PolyglotCodeSharingStatistics codeSharingStatistics;
     private final MessageTransport messageInterceptor;
     private volatile int asynchronousStackDepth = 0;
 
@@ -256,6 +267,12 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
 
         this.engineOptionValues.putAll(originalEngineOptions, allowExperimentalOptions);
         this.conservativeContextReferences = engineOptionValues.get(PolyglotEngineOptions.UseConservativeContextReferences);
+        this.codeSharingStatistics = engineOptionValues.get(PolyglotEngineOptions.TraceCodeSharing) ? new PolyglotCodeSharingStatistics(this) : null;
+        initializeContextPool();
+        if (!preInitialization) {
+            // no writer threads in pre-initialized engines
+            this.logHandler = createAsyncLogHandler(logHandler);
+        }
 
         for (PolyglotLanguage language : languagesOptions.keySet()) {
             language.getOptionValues().putAll(languagesOptions.get(language), allowExperimentalOptions);
@@ -333,6 +350,8 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
 
         prototype.engineOptionValues.copyInto(this.engineOptionValues);
         this.conservativeContextReferences = engineOptionValues.get(PolyglotEngineOptions.UseConservativeContextReferences);
+        this.codeSharingStatistics = engineOptionValues.get(PolyglotEngineOptions.TraceCodeSharing) ? new PolyglotCodeSharingStatistics(this) : null;
+        initializeContextPool();
 
         for (String languageId : idToLanguage.keySet()) {
             OptionValuesImpl prototypeOptions = prototype.idToLanguage.get(languageId).getOptionValuesIfExists();
@@ -394,6 +413,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         parseOptions(newOptions, newUseSystemProperties, originalEngineOptions, languagesOptions, instrumentsOptions, logLevels);
 
         this.engineOptionValues.putAll(originalEngineOptions, newAllowExperimentalOptions);
+        this.logHandler = createAsyncLogHandler(newLogHandler);
 
         if (this.runtimeData != null) {
             EngineAccessor.ACCESSOR.reloadEngineOptions(this.runtimeData, this.engineOptionValues);
@@ -437,6 +457,175 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         }
     }
 
+    private void initializeContextPool() {
+        String languages = engineOptionValues.get(PolyglotEngineOptions.ContextPool);
+        int size = engineOptionValues.get(PolyglotEngineOptions.ContextPoolSize);
+        if (boundEngine || languages.isEmpty() || size <= 0) {
+            return;
+        }
+        Set<String> languageIds = new LinkedHashSet<>();
+        for (String languageId : languages.split(",")) {
+            languageId = languageId.trim();
+            if (!idToLanguage.containsKey(languageId)) {
+                throw PolyglotEngineException.illegalArgument(String.format("Language '%s' specified in the engine.ContextPool option is not installed.", languageId));
+            }
+            languageIds.add(languageId);
+        }
+        this.contextPoolLanguages = languageIds;
+        this.contextPoolSize = size;
+    }
+
+    /**
+     * Starts refilling the context pool with freshly pre-initialized contexts. Called after a
+     * context of this engine was closed. The contexts are initialized on a background thread such
+     * that neither closing a context nor creating the next one pays the cost of language
+     * initialization. Used contexts are never returned to the pool, only contexts that were not yet
+     * handed out to an embedder are reused, which keeps contexts isolated.
+     */
+    void scheduleContextPoolFill() {
+        if (contextPoolSize == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (closed || contextPoolFillStopped || contextPoolFiller != null || contextPool.size() >= contextPoolSize) {
+                return;
+            }
+            Thread filler = new Thread(this::fillContextPool, "Truffle Context Pool Filler");
+            filler.setDaemon(true);
+            contextPoolFiller = filler;
+            filler.start();
+        }
+    }
+
+    private void fillContextPool() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    if (closed || contextPoolFillStopped || contextPool.size() >= contextPoolSize) {
+                        return;
+                    }
+                }
+                PolyglotContextImpl context;
+                try {
+                    context = PolyglotContextImpl.preInitialize(this, contextPoolLanguages, false);
+                } catch (Throwable t) {
+                    // Contexts are created without the pool. The next close retries.
+                    return;
+                }
+                synchronized (this) {
+                    if (!closed && !contextPoolFillStopped && contextPool.size() < contextPoolSize) {
+                        contextPool.add(context);
+                        continue;
+                    }
+                }
+                context.closeImpl(false, false, true);
+                return;
+            }
+        } finally {
+            synchronized (this) {
+                contextPoolFiller = null;
+            }
+        }
+    }
+
+    /**
+     * Stops the context pool filler and waits until it has finished, such that no context is
+     * pre-initialized while the engine is closed.
+     */
+    private void stopContextPoolFill() {
+        Thread filler;
+        synchronized (this) {
+            contextPoolFillStopped = true;
+            filler = contextPoolFiller;
+        }
+        if (filler == null || filler == Thread.currentThread()) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                filler.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PolyglotContextImpl loadPooledContext(PolyglotContextConfig config) {
+        if (contextPoolSize == 0 || config.limits != null) {
+            // statement limits are fixed at context creation
+            return null;
+        }
+        for (String languageId : contextPoolLanguages) {
+            if (!config.allowedPublicLanguages.contains(languageId)) {
+                return null;
+            }
+        }
+        PolyglotContextImpl context;
+        synchronized (this) {
+            context = contextPool.poll();
+        }
+        if (context == null) {
+            return null;
+        }
+        createConfiguredInstruments();
+        FileSystems.PreInitializeContextFileSystem preInitFs = (FileSystems.PreInitializeContextFileSystem) context.config.fileSystem;
+        preInitFs.onLoadPreinitializedContext(config.fileSystem);
+        FileSystem oldFileSystem = config.fileSystem;
+        config.fileSystem = preInitFs;
+
+        preInitFs = (FileSystems.PreInitializeContextFileSystem) context.config.internalFileSystem;
+        preInitFs.onLoadPreinitializedContext(config.internalFileSystem);
+        FileSystem oldInternalFileSystem = config.internalFileSystem;
+        config.internalFileSystem = preInitFs;
+
+        boolean patchResult = false;
+        try {
+            patchResult = context.patch(config);
+        } finally {
+            if (patchResult) {
+                synchronized (this) {
+                    addContext(context);
+                }
+            } else {
+                context.closeImpl(false, false, true);
+                config.fileSystem = oldFileSystem;
+                config.internalFileSystem = oldInternalFileSystem;
+            }
+        }
+        return patchResult ? context : null;
+    }
+
+    /**
+     * Creates the instruments for which options were set.
+     */
+    private void createConfiguredInstruments() {
+        Collection<PolyglotInstrument> toCreate = null;
+        for (PolyglotInstrument instrument : idToInstrument.values()) {
+            if (instrument.getOptionValuesIfExists() != null) {
+                if (toCreate == null) {
+                    toCreate = new HashSet<>();
+                }
+                toCreate.add(instrument);
+            }
+        }
+        if (toCreate != null) {
+            ensureInstrumentsCreated(toCreate);
+        }
+    }
+
+    private void closeContextPool() {
+        assert Thread.holdsLock(this);
+        PolyglotContextImpl context;
+        while ((context = contextPool.poll()) != null) {
+            context.closeImpl(false, false, true);
+        }
+    }
+
     synchronized void initializeMultiContext(PolyglotContextImpl existingContext) {
         if (singleContext.isValid()) {
             singleContext.invalidate("More than one context introduced.");
@@ -943,7 +1132,19 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
     }
 
     void ensureClosed(boolean cancelIfExecuting, boolean closeContexts) {
-        ensureClosed(cancelIfExecuting, closeContexts, true);
+        if (closeContexts) {
+            stopContextPoolFill();
+        }
+        try {
+            ensureClosed(cancelIfExecuting, closeContexts, true);
+        } finally {
+            if (closeContexts) {
+                synchronized (this) {
+                    // the engine stays open if one of its contexts is still executing
+                    contextPoolFillStopped = closed;
+                }
+            }
+        }
     }
 
     private synchronized void ensureClosed(boolean cancelIfExecuting, boolean closeContexts, boolean closeLogHandler) {
@@ -988,6 +1189,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
 
             // don't commit changes to contexts if still running
             if (closeContexts) {
+                closeContextPool();
                 contexts.clear();
             }
 
@@ -1014,12 +1216,18 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
             // don't commit to the close if still running as this might cause races in the executing
             // context.
             if (closeContexts) {
+                if (codeSharingStatistics != null) {
+                    codeSharingStatistics.printSummary();
+                }
                 Object loggers = getEngineLoggers();
                 if (loggers != null) {
                     LANGUAGE.closeEngineLoggers(loggers);
                 }
                 if (logHandler != null && closeLogHandler) {
                     logHandler.close();
+                } else if (logHandler != null) {
+                    // the handler is passed on to another engine, do not keep this writer thread
+                    PolyglotLogHandler.stopAsyncWriter(logHandler);
                 }
                 ENGINES.remove(this);
                 closed = true;
@@ -1418,6 +1626,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
                             : PolyglotLogHandler.createStreamHandler(
                                             configErr == null ? INSTRUMENT.getOut(this.err) : configErr,
                                             false, true);
+            useHandler = asyncContextLogHandler(useHandler);
 
             final InputStream useIn = configIn == null ? this.in : configIn;
 
@@ -1441,14 +1650,21 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
                             environmentAccess, environment, zone, polyglotLimits, hostClassLoader);
             context = loadPreinitializedContext(config, hostAccess);
             boolean replayEvents = false;
+            if (context != null) {
+                replayEvents = context.engine == this;
+            } else {
+                /*
+                 * Events of pooled contexts were already delivered during their pre-initialization
+                 * and must not be replayed.
+                 */
+                context = loadPooledContext(config);
+            }
             if (context == null) {
                 synchronized (this) {
                     checkState();
                     context = new PolyglotContextImpl(this, config);
                     addContext(context);
                 }
-            } else if (context.engine == this) {
-                replayEvents = true;
             }
 
             if (replayEvents && EngineAccessor.INSTRUMENT.hasContextBindings(this)) {
@@ -1485,18 +1701,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
                 patchResult = context.patch(config);
             } finally {
                 if (patchResult) {
-                    Collection<PolyglotInstrument> toCreate = null;
-                    for (PolyglotInstrument instrument : idToInstrument.values()) {
-                        if (instrument.getOptionValuesIfExists() != null) {
-                            if (toCreate == null) {
-                                toCreate = new HashSet<>();
-                            }
-                            toCreate.add(instrument);
-                        }
-                    }
-                    if (toCreate != null) {
-                        ensureInstrumentsCreated(toCreate);
-                    }
+                    createConfiguredInstruments();
                     synchronized (this) {
                         addContext(context);
                     }
@@ -1520,6 +1725,35 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         return context;
     }
 
+    /**
+     * Wraps {@code handler} into an asynchronous handler if enabled by
+     * {@link PolyglotEngineOptions#AsyncLogging}.
+     */
+    private Handler createAsyncLogHandler(Handler handler) {
+        if (handler == null || !engineOptionValues.get(PolyglotEngineOptions.AsyncLogging)) {
+            return handler;
+        }
+        int bufferSize = engineOptionValues.get(PolyglotEngineOptions.AsyncLoggingBufferSize);
+        if (bufferSize < 1) {
+            throw PolyglotEngineException.illegalArgument(String.format("Invalid value %d for option engine.AsyncLoggingBufferSize. The value must be at least 1.", bufferSize));
+        }
+        return PolyglotLogHandler.createAsyncHandler(handler, bufferSize, engineOptionValues.get(PolyglotEngineOptions.AsyncLoggingDropOnOverflow));
+    }
+
+    /**
+     * Returns the handler to use for a context log handler. Handlers writing into the same sink as
+     * the engine log handler share its writer thread.
+     */
+    private Handler asyncContextLogHandler(Handler handler) {
+        if (handler == logHandler) {
+            return handler;
+        }
+        if (logHandler != null && PolyglotLogHandler.isSameLogSink(handler, logHandler) && engineOptionValues.get(PolyglotEngineOptions.AsyncLogging)) {
+            return logHandler;
+        }
+        return createAsyncLogHandler(handler);
+    }
+
     Object getOrCreateEngineLoggers() {
         Object res = engineLoggers;
         if (res == null) {
@@ -61,6 +61,47 @@ final class PolyglotEngineOptions {
     @Option(name = INSTRUMENT_EXCEPTIONS_ARE_THROWN_NAME, category = OptionCategory.INTERNAL, help = "Propagates exceptions thrown by instruments.")//
     static final OptionKey<Boolean> InstrumentExceptionsAreThrown = new OptionKey<>(false);
 
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Comma separated list of languages that are pre-initialized in contexts pooled by the engine. " +
+                    "Contexts closed on the engine are replaced with a fresh pre-initialized context that is patched with the configuration of the next created context. " +
+                    "Only languages that support context patching can be pooled.")//
+    static final OptionKey<String> ContextPool = new OptionKey<>("");
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Maximum number of pre-initialized contexts kept in the engine context pool (default: 1).")//
+    static final OptionKey<Integer> ContextPoolSize = new OptionKey<>(1);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Maximum number of parsed sources cached per language instance of the engine. " +
+                    "Parsed sources are kept even if the parsed Source object is no longer referenced and the least recently used ones are evicted. " +
+                    "With 0 sources are only cached while the parsed Source object is alive (default: 0).")//
+    static final OptionKey<Integer> SourceCacheSize = new OptionKey<>(0);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Print source cache misses and evictions together with the cache hit, miss and eviction counts.")//
+    static final OptionKey<Boolean> TraceSourceCache = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Number of statements counted in the frame of a guest function before they are charged to the statement limit of the context. " +
+                    "Larger values reduce the overhead of statement limits but the limit may be exceeded by up to this number of statements per active function. " +
+                    "Statements of languages that do not provide root tags are always charged one by one (default: 1).")//
+    static final OptionKey<Integer> StatementLimitBatchSize = new OptionKey<>(1);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Share language instances between contexts of the engine whenever their options are compatible. " +
+                    "Languages with the reuse context policy are treated as if they used the shared context policy, so that their parsed code is shared across contexts. " +
+                    "Only enable this for languages that support being used by multiple contexts at the same time.")//
+    static final OptionKey<Boolean> ForceCodeSharing = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Print sources that were parsed again in another language instance of the engine and why the language instances were not shared. " +
+                    "A summary per language is printed when the engine is closed.")//
+    static final OptionKey<Boolean> TraceCodeSharing = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Write log messages on a dedicated thread instead of the logging thread. " +
+                    "Log messages are formatted and written by the writer thread, so logging does not wait for the log handler.")//
+    static final OptionKey<Boolean> AsyncLogging = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Maximum number of log messages waiting to be written when asynchronous logging is enabled (default: 8192).")//
+    static final OptionKey<Integer> AsyncLoggingBufferSize = new OptionKey<>(8192);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Drop log messages when the asynchronous logging buffer is full instead of waiting for the writer thread. " +
+                    "The number of dropped messages is logged once there is space again.")//
+    static final OptionKey<Boolean> AsyncLoggingDropOnOverflow = new OptionKey<>(false);
+
     @Option(category = OptionCategory.INTERNAL, stability = OptionStability.EXPERIMENTAL, help = "Enables conservative context references. " +
                     "This allows invalid sharing between contexts. " +
                     "For testing purposes only.")//
@@ -89,6 +89,7 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
     private final ContextReference<Object> singleOrMultiContextReference;
     final Assumption singleInstance = Truffle.getRuntime().createAssumption("Single language instance per engine.");
     private boolean firstInstance = true;
+    private int instanceCount;
 
     @CompilationFinal volatile Class<?> contextClass;
 
@@ -116,7 +117,7 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
             sourcePolicy = ContextPolicy.EXCLUSIVE;
         } else {
             if (inLanguage != null) {
-                sourcePolicy = inLanguage.cache.getPolicy();
+                sourcePolicy = inLanguage.getPolicy();
             } else {
                 // we don't know which language we are in so null language means shared policy
                 sourcePolicy = ContextPolicy.SHARED;
@@ -125,6 +126,23 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
         return sourcePolicy;
     }
 
+    /**
+     * Returns the context policy of the language, taking
+     * {@link PolyglotEngineOptions#ForceCodeSharing} into account.
+     */
+    ContextPolicy getPolicy() {
+        ContextPolicy policy = cache.getPolicy();
+        if (policy == ContextPolicy.REUSE && engine.engineOptionValues.get(PolyglotEngineOptions.ForceCodeSharing)) {
+            return ContextPolicy.SHARED;
+        }
+        return policy;
+    }
+
+    int nextInstanceId() {
+        assert Thread.holdsLock(engine);
+        return instanceCount++;
+    }
+
     PolyglotLanguageContext getCurrentLanguageContext() {
         return PolyglotContextImpl.requireContext().contexts[index];
     }
@@ -182,7 +200,7 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
         return options;
     }
 
-    private PolyglotLanguageInstance createInstance() {
+    private PolyglotLanguageInstance createInstance(String unsharedReason) {
         assert Thread.holdsLock(engine);
         if (firstInstance) {
             firstInstance = false;
@@ -198,6 +216,7 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
         if (instance == null) {
             instance = ensureInitialized(new PolyglotLanguageInstance(this));
         }
+        instance.unsharedReason = unsharedReason;
         return instance;
     }
 
@@ -225,9 +244,9 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
     PolyglotLanguageInstance allocateInstance(OptionValuesImpl newOptions) {
         PolyglotLanguageInstance instance;
         synchronized (engine) {
-            switch (cache.getPolicy()) {
+            switch (getPolicy()) {
                 case EXCLUSIVE:
-                    instance = createInstance();
+                    instance = createInstance("the language uses the exclusive context policy");
                     break;
                 case REUSE:
                     instance = fetchFromPool(newOptions, false);
@@ -246,6 +265,7 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
     private PolyglotLanguageInstance fetchFromPool(OptionValuesImpl newOptions, boolean shared) {
         synchronized (engine) {
             PolyglotLanguageInstance foundInstance = null;
+            boolean poolEmpty = instancePool.isEmpty();
             for (Iterator<PolyglotLanguageInstance> iterator = instancePool.iterator(); iterator.hasNext();) {
                 PolyglotLanguageInstance instance = iterator.next();
                 if (instance.areOptionsCompatible(newOptions)) {
@@ -257,7 +277,15 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
                 }
             }
             if (foundInstance == null) {
-                foundInstance = createInstance();
+                String unsharedReason;
+                if (!poolEmpty) {
+                    unsharedReason = "its options are not compatible with the options of the existing instances";
+                } else if (shared) {
+                    unsharedReason = null; // first instance
+                } else {
+                    unsharedReason = "the language uses the reuse context policy and all existing instances are in use by other contexts";
+                }
+                foundInstance = createInstance(unsharedReason);
                 foundInstance.claim(newOptions);
                 if (shared) {
                     instancePool.addFirst(foundInstance);
@@ -269,7 +297,7 @@ final class PolyglotLanguage extends AbstractLanguageImpl implements com.oracle.
 
     void freeInstance(PolyglotLanguageInstance instance) {
         synchronized (engine) {
-            switch (cache.getPolicy()) {
+            switch (getPolicy()) {
                 case EXCLUSIVE:
                     // nothing to do
                     break;
@@ -63,6 +63,13 @@ final class PolyglotLanguageInstance implements VMObject {
     final Map<Class<?>, InteropCodeCache> valueCodeCache;
     final Map<Object, Object> hostInteropCodeCache;
 
+    final int id;
+    /*
+     * Why a new instance was created instead of sharing an existing one, or null for the first
+     * instance of a language. Only used for code sharing statistics.
+     */
+    volatile String unsharedReason;
+
     private volatile OptionValuesImpl firstOptionValues;
     private volatile boolean needsInitializeMultiContext;
     private final Assumption singleContext = Truffle.getRuntime().createAssumption("Single context per language instance.");
@@ -80,7 +87,9 @@ final class PolyglotLanguageInstance implements VMObject {
     @SuppressWarnings("unchecked")
     PolyglotLanguageInstance(PolyglotLanguage language) {
         this.language = language;
-        this.sourceCache = new PolyglotSourceCache();
+        this.id = language.nextInstanceId();
+        this.sourceCache = new PolyglotSourceCache(language.engine.engineOptionValues.get(PolyglotEngineOptions.SourceCacheSize),
+                        language.engine.engineOptionValues.get(PolyglotEngineOptions.TraceSourceCache));
         this.valueCodeCache = new ConcurrentHashMap<>();
         this.hostInteropCodeCache = new ConcurrentHashMap<>();
         try {
@@ -89,12 +98,12 @@ final class PolyglotLanguageInstance implements VMObject {
             if (!language.engine.singleContext.isValid()) {
                 initializeMultiContext();
             } else {
-                this.needsInitializeMultiContext = !language.engine.boundEngine && language.cache.getPolicy() != ContextPolicy.EXCLUSIVE;
+                this.needsInitializeMultiContext = !language.engine.boundEngine && language.getPolicy() != ContextPolicy.EXCLUSIVE;
             }
         } catch (Exception e) {
             throw new IllegalStateException(String.format("Error initializing language '%s' using class '%s'.", language.cache.getId(), language.cache.getClassName()), e);
         }
-        boolean mayBeUsedInInnerContext = language.cache.getPolicy() != ContextPolicy.EXCLUSIVE;
+        boolean mayBeUsedInInnerContext = language.getPolicy() != ContextPolicy.EXCLUSIVE;
         boolean currentExclusive = language.getEffectiveContextPolicy(language) == ContextPolicy.EXCLUSIVE;
         Assumption useDirectSingleContext = currentExclusive ? null : singleContext;
         Assumption useInnerContext = mayBeUsedInInnerContext ? language.engine.noInnerContexts : null;
@@ -150,7 +159,7 @@ final class PolyglotLanguageInstance implements VMObject {
 
     void initializeMultiContext() {
         assert !language.engine.singleContext.isValid();
-        if (language.cache.getPolicy() != ContextPolicy.EXCLUSIVE) {
+        if (language.getPolicy() != ContextPolicy.EXCLUSIVE) {
             this.singleContext.invalidate();
             LANGUAGE.initializeMultiContext(spi);
         }
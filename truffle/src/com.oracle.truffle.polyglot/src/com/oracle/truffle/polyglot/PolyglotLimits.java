@@ -68,6 +68,7 @@ import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.frame.FrameSlotTypeException;
+import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.EventBinding;
 import com.oracle.truffle.api.instrumentation.EventContext;
@@ -76,6 +77,7 @@ import com.oracle.truffle.api.instrumentation.ExecutionEventNodeFactory;
 import com.oracle.truffle.api.instrumentation.Instrumenter;
 import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
 import com.oracle.truffle.api.instrumentation.SourceSectionFilter.SourcePredicate;
+import com.oracle.truffle.api.instrumentation.StandardTags.RootTag;
 import com.oracle.truffle.api.instrumentation.StandardTags.StatementTag;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.polyglot.PolyglotEngineImpl.CancelExecution;
@@ -117,7 +119,17 @@ final class PolyglotLimits {
         }
     };
 
-    static final class StatementIncrementNode extends ExecutionEventNode {
+    static final Object PENDING_STATEMENTS = new Object() {
+        @Override
+        public String toString() {
+            return "$$$pending_statements$$$";
+        }
+    };
+
+    /**
+     * Charges executed statements to the statement counter of the current context.
+     */
+    abstract static class StatementLimitNode extends ExecutionEventNode {
 
         final EngineLimits limits;
         final EventContext eventContext;
@@ -125,23 +137,56 @@ final class PolyglotLimits {
         final FrameSlot readContext;
         final ConditionProfile needsLookup = ConditionProfile.createBinaryProfile();
         final FrameDescriptor descriptor;
+        /*
+         * Slot that counts statements of the current frame that were not charged yet. Only used if
+         * statements are charged in batches.
+         */
+        final FrameSlot pendingStatements;
+        final FrameDescriptor pendingDescriptor;
         @CompilationFinal private boolean seenInnerContext;
 
-        StatementIncrementNode(EventContext context, EngineLimits limits) {
+        /**
+         * @param chargesPending whether this node charges the pending statements of its root node
+         */
+        StatementLimitNode(EventContext context, EngineLimits limits, boolean chargesPending) {
             this.limits = limits;
             this.eventContext = context;
             this.engine = limits.engine;
+            FrameDescriptor rootDescriptor = context.getInstrumentedNode().getRootNode().getFrameDescriptor();
             if (!engine.singleThreadPerContext.isValid() || !engine.singleContext.isValid()) {
-                descriptor = context.getInstrumentedNode().getRootNode().getFrameDescriptor();
+                descriptor = rootDescriptor;
                 readContext = descriptor.findOrAddFrameSlot(CACHED_CONTEXT, FrameSlotKind.Object);
             } else {
                 readContext = null;
                 descriptor = null;
             }
+            /*
+             * Only the node that charges pending statements on return from the root node adds the
+             * slot. It is created when the root tag node is entered for the first time, before the
+             * statements of the root node. Statements of roots without an instrumented root tag
+             * node therefore do not find the slot and are charged exactly.
+             */
+            FrameSlot slot = null;
+            if (limits.statementBatchSize > 1) {
+                if (chargesPending) {
+                    slot = rootDescriptor.findOrAddFrameSlot(PENDING_STATEMENTS, FrameSlotKind.Long);
+                } else {
+                    slot = rootDescriptor.findFrameSlot(PENDING_STATEMENTS);
+                }
+            }
+            pendingStatements = slot;
+            pendingDescriptor = slot != null ? rootDescriptor : null;
         }
 
-        @Override
-        protected void onEnter(VirtualFrame frame) {
+        final boolean hasPendingSlot(VirtualFrame frame) {
+            return pendingStatements != null && frame.getFrameDescriptor() == pendingDescriptor;
+        }
+
+        static long getPending(VirtualFrame frame, FrameSlot slot) {
+            return frame.isLong(slot) ? FrameUtil.getLongSafe(frame, slot) : 0L;
+        }
+
+        final void charge(VirtualFrame frame, long statements) {
             PolyglotContextImpl currentContext;
             if (readContext == null || frame.getFrameDescriptor() != descriptor) {
                 currentContext = getLimitContext();
@@ -163,9 +208,9 @@ final class PolyglotLimits {
 
             long count;
             if (engine.singleThreadPerContext.isValid()) {
-                count = --currentContext.statementCounter;
+                count = currentContext.statementCounter -= statements;
             } else {
-                count = currentContext.volatileStatementCounter.decrementAndGet();
+                count = currentContext.volatileStatementCounter.addAndGet(-statements);
             }
             if (count < 0) { // overflowed
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -223,6 +268,60 @@ final class PolyglotLimits {
 
     }
 
+    static final class StatementIncrementNode extends StatementLimitNode {
+
+        StatementIncrementNode(EventContext context, EngineLimits limits) {
+            super(context, limits, false);
+        }
+
+        @Override
+        protected void onEnter(VirtualFrame frame) {
+            if (hasPendingSlot(frame)) {
+                long pending = getPending(frame, pendingStatements) + 1;
+                if (pending < limits.statementBatchSize) {
+                    frame.setLong(pendingStatements, pending);
+                    return;
+                }
+                frame.setLong(pendingStatements, 0L);
+                charge(frame, pending);
+            } else {
+                charge(frame, 1);
+            }
+        }
+
+    }
+
+    /**
+     * Charges the statements counted in the frame of a root node when the root node returns.
+     */
+    static final class PendingStatementsNode extends StatementLimitNode {
+
+        PendingStatementsNode(EventContext context, EngineLimits limits) {
+            super(context, limits, true);
+        }
+
+        @Override
+        protected void onReturnValue(VirtualFrame frame, Object result) {
+            chargePending(frame);
+        }
+
+        @Override
+        protected void onReturnExceptional(VirtualFrame frame, Throwable exception) {
+            chargePending(frame);
+        }
+
+        private void chargePending(VirtualFrame frame) {
+            if (hasPendingSlot(frame)) {
+                long pending = getPending(frame, pendingStatements);
+                if (pending > 0) {
+                    frame.setLong(pendingStatements, 0L);
+                    charge(frame, pending);
+                }
+            }
+        }
+
+    }
+
     static final class TimeLimitChecker implements Runnable {
 
         private final WeakReference<PolyglotContextImpl> context;
@@ -300,14 +399,20 @@ final class PolyglotLimits {
         };
 
         final PolyglotEngineImpl engine;
+        final int statementBatchSize;
         @CompilationFinal boolean timeLimitEnabled;
         @CompilationFinal long statementLimit = -1;
         @CompilationFinal Assumption sameStatementLimit;
         @CompilationFinal Predicate<Source> statementLimitSourcePredicate;
         EventBinding<?> statementLimitBinding;
+        EventBinding<?> pendingStatementsBinding;
 
         EngineLimits(PolyglotEngineImpl engine) {
             this.engine = engine;
+            this.statementBatchSize = engine.engineOptionValues.get(PolyglotEngineOptions.StatementLimitBatchSize);
+            if (statementBatchSize < 1) {
+                throw PolyglotEngineException.illegalArgument(String.format("Invalid statement limit batch size %s. The batch size must be greater or equal to 1.", statementBatchSize));
+            }
         }
 
         void validate(PolyglotLimits limits) {
@@ -363,24 +468,22 @@ final class PolyglotLimits {
 
                 if (statementLimitBinding == null) {
                     Instrumenter instrumenter = (Instrumenter) EngineAccessor.INSTRUMENT.getEngineInstrumenter(engine.instrumentationHandler);
-                    SourceSectionFilter.Builder filter = SourceSectionFilter.newBuilder().tagIs(StatementTag.class);
-                    if (statementLimitSourcePredicate != null) {
-                        filter.sourceIs(new SourcePredicate() {
-                            @Override
-                            public boolean test(com.oracle.truffle.api.source.Source s) {
-                                try {
-                                    return statementLimitSourcePredicate.test(engine.getImpl().getPolyglotSource(s));
-                                } catch (Throwable e) {
-                                    throw PolyglotImpl.hostToGuestException(context, e);
-                                }
-                            }
-                        });
-                    }
-                    statementLimitBinding = instrumenter.attachExecutionEventFactory(filter.build(), new ExecutionEventNodeFactory() {
+                    statementLimitBinding = instrumenter.attachExecutionEventFactory(createFilter(StatementTag.class, context), new ExecutionEventNodeFactory() {
                         public ExecutionEventNode create(EventContext eventContext) {
                             return new StatementIncrementNode(eventContext, EngineLimits.this);
                         }
                     });
+                    if (statementBatchSize > 1) {
+                        /*
+                         * Statements are counted in the frame and charged in batches. The rest of a
+                         * batch is charged when the root node returns.
+                         */
+                        pendingStatementsBinding = instrumenter.attachExecutionEventFactory(createFilter(RootTag.class, context), new ExecutionEventNodeFactory() {
+                            public ExecutionEventNode create(EventContext eventContext) {
+                                return new PendingStatementsNode(eventContext, EngineLimits.this);
+                            }
+                        });
+                    }
                 }
             }
             if (limits.timeLimit != null) {
@@ -396,6 +499,23 @@ final class PolyglotLimits {
             reset(context);
         }
 
+        private SourceSectionFilter createFilter(Class<?> tag, PolyglotContextImpl context) {
+            SourceSectionFilter.Builder filter = SourceSectionFilter.newBuilder().tagIs(tag);
+            if (statementLimitSourcePredicate != null) {
+                filter.sourceIs(new SourcePredicate() {
+                    @Override
+                    public boolean test(com.oracle.truffle.api.source.Source s) {
+                        try {
+                            return statementLimitSourcePredicate.test(engine.getImpl().getPolyglotSource(s));
+                        } catch (Throwable e) {
+                            throw PolyglotImpl.hostToGuestException(context, e);
+                        }
+                    }
+                });
+            }
+            return filter.build();
+        }
+
         long getStatementLimit() {
             return statementLimit;
         }
@@ -43,6 +43,7 @@ package com.oracle.truffle.polyglot;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ResourceBundle;
 import java.util.logging.Formatter;
 import java.util.logging.Handler;
@@ -140,7 +141,9 @@ final class PolyglotLogHandler extends Handler {
         throw new IllegalArgumentException("Unexpected logHandlerOrStream parameter: " + logHandlerOrStream);
     }
 
-    static boolean isSameLogSink(Handler h1, Handler h2) {
+    static boolean isSameLogSink(Handler handler1, Handler handler2) {
+        Handler h1 = handler1 instanceof AsyncHandler ? ((AsyncHandler) handler1).delegate : handler1;
+        Handler h2 = handler2 instanceof AsyncHandler ? ((AsyncHandler) handler2).delegate : handler2;
         if (h1 == h2) {
             return true;
         }
@@ -164,6 +167,204 @@ final class PolyglotLogHandler extends Handler {
         return new PolyglotStreamHandler(out, closeStream, flushOnPublish);
     }
 
+    /**
+     * Creates a {@link Handler} that publishes log records to {@code delegate} on a dedicated
+     * writer thread. The record parameters are still converted on the logging thread, but the
+     * message is formatted and written by the writer thread.
+     *
+     * @param delegate the {@link Handler} to publish the log records to
+     * @param capacity the maximum number of log records waiting to be written
+     * @param dropOnOverflow if true log records published while {@code capacity} records are
+     *            waiting are dropped, otherwise the logging thread waits until there is space
+     * @return the {@link Handler}
+     */
+    static Handler createAsyncHandler(final Handler delegate, final int capacity, final boolean dropOnOverflow) {
+        return new AsyncHandler(delegate, capacity, dropOnOverflow);
+    }
+
+    /**
+     * Writes the pending log records of an {@linkplain #createAsyncHandler asynchronous}
+     * {@code handler} and stops its writer thread without closing the handler. A new writer thread
+     * is started by the next published log record.
+     */
+    static void stopAsyncWriter(Handler handler) {
+        if (handler instanceof AsyncHandler) {
+            ((AsyncHandler) handler).stopWriter();
+        }
+    }
+
+    private static final class AsyncHandler extends Handler implements Runnable {
+
+        private final Handler delegate;
+        private final int capacity;
+        private final boolean dropOnOverflow;
+        /*
+         * The queue, the dropped count and the writer state are guarded by this handler.
+         */
+        private final ArrayDeque<LogRecord> queue = new ArrayDeque<>();
+        private long dropped;
+        private Thread writer;
+        private boolean stopWriter;
+        private boolean closed;
+        /*
+         * Held while records are taken from the queue and written, so that flush on another thread
+         * cannot reorder them.
+         */
+        private final Object writeLock = new Object();
+
+        AsyncHandler(Handler delegate, int capacity, boolean dropOnOverflow) {
+            this.delegate = delegate;
+            this.capacity = capacity;
+            this.dropOnOverflow = dropOnOverflow;
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            boolean interrupted = false;
+            try {
+                synchronized (this) {
+                    while (!closed && queue.size() >= capacity) {
+                        if (dropOnOverflow) {
+                            dropped++;
+                            return;
+                        }
+                        startWriter();
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (!closed) {
+                        queue.add(record);
+                        startWriter();
+                        notifyAll();
+                        return;
+                    }
+                }
+                // the handler is closed, write synchronously after the records queued before
+                synchronized (writeLock) {
+                    writePending();
+                    delegate.publish(record);
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void startWriter() {
+            assert Thread.holdsLock(this);
+            if (writer == null && !closed) {
+                Thread thread = new Thread(this, "Truffle Log Writer");
+                thread.setDaemon(true);
+                writer = thread;
+                thread.start();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                synchronized (this) {
+                    while (queue.isEmpty() && dropped == 0 && !closed && !stopWriter) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            // keep writing until closed or stopped
+                        }
+                    }
+                    if (closed || stopWriter) {
+                        // remaining records are written by the closing or stopping thread
+                        return;
+                    }
+                }
+                synchronized (writeLock) {
+                    writePending();
+                }
+            }
+        }
+
+        private void writePending() {
+            assert Thread.holdsLock(writeLock);
+            LogRecord[] records;
+            long droppedCount;
+            synchronized (this) {
+                records = queue.toArray(new LogRecord[queue.size()]);
+                queue.clear();
+                droppedCount = dropped;
+                dropped = 0;
+                // wake up logging threads waiting for space
+                notifyAll();
+            }
+            if (droppedCount > 0) {
+                LogRecord warning = new LogRecord(Level.WARNING, "Dropped " + droppedCount + " log messages because the asynchronous log buffer was full.");
+                warning.setLoggerName(PolyglotEngineImpl.OPTION_GROUP_ENGINE);
+                delegate.publish(warning);
+            }
+            for (LogRecord record : records) {
+                delegate.publish(record);
+            }
+        }
+
+        void stopWriter() {
+            Thread thread;
+            synchronized (this) {
+                thread = writer;
+                stopWriter = true;
+                notifyAll();
+            }
+            joinWriter(thread);
+            synchronized (this) {
+                writer = null;
+                stopWriter = false;
+            }
+            flush();
+        }
+
+        private static void joinWriter(Thread thread) {
+            if (thread == null || thread == Thread.currentThread()) {
+                return;
+            }
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void flush() {
+            synchronized (writeLock) {
+                writePending();
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws SecurityException {
+            Thread thread;
+            synchronized (this) {
+                closed = true;
+                thread = writer;
+                notifyAll();
+            }
+            joinWriter(thread);
+            synchronized (writeLock) {
+                writePending();
+                delegate.close();
+            }
+        }
+    }
+
     private static final class ImmutableLogRecord extends LogRecord {
 
         private static final long serialVersionUID = 1L;
@@ -46,22 +46,43 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.TruffleLogger;
 import com.oracle.truffle.api.source.Source;
 
 final class PolyglotSourceCache {
 
+    private static final TruffleLogger LOG = TruffleLogger.getLogger(PolyglotEngineImpl.OPTION_GROUP_ENGINE, "source-cache");
+
     private final ConcurrentHashMap<Object, CallTarget> sourceCache;
     private final ReferenceQueue<Source> deadSources = new ReferenceQueue<>();
 
-    PolyglotSourceCache() {
+    /*
+     * Used instead of sourceCache if the engine.SourceCacheSize option is set. Guarded by itself.
+     */
+    private final BoundedSourceCache boundedCache;
+    private final boolean trace;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    PolyglotSourceCache(int maxSize, boolean trace) {
         this.sourceCache = new ConcurrentHashMap<>();
+        this.boundedCache = maxSize > 0 ? new BoundedSourceCache(maxSize) : null;
+        this.trace = trace;
     }
 
     CallTarget parseCached(PolyglotLanguageContext context, Source source, String[] argumentNames) {
+        if (boundedCache != null && source.isCached()) {
+            return parseCachedBounded(context, source, argumentNames);
+        }
         cleanupStaleEntries();
 
         CallTarget target;
@@ -70,6 +91,7 @@ final class PolyglotSourceCache {
             WeakSourceKey ref = new WeakSourceKey(sourceId, source, argumentNames, deadSources);
             target = sourceCache.get(ref);
             if (target == null) {
+                onMiss(context, source);
                 target = parseImpl(context, argumentNames, EngineAccessor.SOURCE.copySource(source));
                 CallTarget prev = sourceCache.putIfAbsent(ref, target);
                 if (prev != null) {
@@ -78,6 +100,8 @@ final class PolyglotSourceCache {
                      */
                     target = prev;
                 }
+            } else {
+                hits.incrementAndGet();
             }
         } else {
             target = parseImpl(context, argumentNames, source);
@@ -85,6 +109,52 @@ final class PolyglotSourceCache {
         return target;
     }
 
+    /**
+     * Looks up parsed sources by their content based identifier, independent of whether the
+     * {@link Source} object that was parsed first is still alive. Memory is capped by evicting the
+     * least recently used entry.
+     */
+    private CallTarget parseCachedBounded(PolyglotLanguageContext context, Source source, String[] argumentNames) {
+        SourceKey key = new SourceKey(EngineAccessor.SOURCE.getSourceIdentifier(source), argumentNames);
+        CallTarget target;
+        synchronized (boundedCache) {
+            target = boundedCache.get(key);
+        }
+        if (target != null) {
+            hits.incrementAndGet();
+            return target;
+        }
+        onMiss(context, source);
+        // parse outside of the lock, other sources may be parsed concurrently
+        target = parseImpl(context, argumentNames, EngineAccessor.SOURCE.copySource(source));
+        synchronized (boundedCache) {
+            CallTarget prev = boundedCache.putIfAbsent(key, target);
+            if (prev != null) {
+                // Parsed twice -> discard the one not in the cache.
+                target = prev;
+            }
+        }
+        return target;
+    }
+
+    private void onMiss(PolyglotLanguageContext context, Source source) {
+        long missCount = misses.incrementAndGet();
+        PolyglotCodeSharingStatistics sharingStatistics = context.getEngine().codeSharingStatistics;
+        if (sharingStatistics != null) {
+            sharingStatistics.onParse(context.getLanguageInstance(), source);
+        }
+        if (trace) {
+            LOG.log(Level.INFO, "Miss {0} (hits: {1}, misses: {2}, evictions: {3})", new Object[]{source.getName(), hits.get(), missCount, evictions.get()});
+        }
+    }
+
+    private void onEvict(SourceKey key) {
+        long evictionCount = evictions.incrementAndGet();
+        if (trace) {
+            LOG.log(Level.INFO, "Evict {0} (hits: {1}, misses: {2}, evictions: {3})", new Object[]{key.key, hits.get(), misses.get(), evictionCount});
+        }
+    }
+
     private static CallTarget parseImpl(PolyglotLanguageContext context, String[] argumentNames, Source source) {
         if (!EngineAccessor.SOURCE.isLegacySource(source)) {
             validateSource(context, source);
@@ -169,6 +239,56 @@ final class PolyglotSourceCache {
         }
     }
 
+    private final class BoundedSourceCache extends LinkedHashMap<SourceKey, CallTarget> {
+
+        private static final long serialVersionUID = 1L;
+        private final int maxSize;
+
+        BoundedSourceCache(int maxSize) {
+            super(Math.min(maxSize, 16), 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SourceKey, CallTarget> eldest) {
+            if (size() > maxSize) {
+                onEvict(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class SourceKey {
+
+        final Object key;
+        private final String[] arguments;
+
+        SourceKey(Object key, String[] arguments) {
+            this.key = key;
+            this.arguments = arguments != null && arguments.length == 0 ? null : arguments;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + key.hashCode();
+            result = prime * result + Arrays.hashCode(arguments);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof SourceKey) {
+                SourceKey other = (SourceKey) obj;
+                return key.equals(other.key) && Arrays.equals(arguments, other.arguments);
+            } else {
+                return false;
+            }
+        }
+    }
+
     private static final class WeakSourceKey extends WeakReference<Source> {
 
         final Object key;
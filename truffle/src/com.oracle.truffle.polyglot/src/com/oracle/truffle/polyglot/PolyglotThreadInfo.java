@@ -57,7 +57,12 @@ final class PolyglotThreadInfo {
     private final PolyglotContextImpl context;
     private final Reference<Thread> thread;
 
-    private int enteredCount;
+    /*
+     * Volatile as attached threads enter without holding the context lock. Close reads the count
+     * after publishing closingThread or cancelling, the fast-path enter re-checks both after
+     * incrementing it.
+     */
+    private volatile int enteredCount;
     final LinkedList<Object> explicitContextStack = new LinkedList<>();
     volatile boolean cancelled;
     private volatile long lastEntered;
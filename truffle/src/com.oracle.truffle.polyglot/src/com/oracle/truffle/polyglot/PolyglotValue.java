@@ -90,6 +90,7 @@ import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.CanInstantiateNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.CanInvokeNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetArrayElementNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetArrayElementsNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetArraySizeNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetMemberKeysNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetMemberNodeGen;
@@ -112,6 +113,7 @@ import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.RemoveArrayElementNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.RemoveMemberNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.SetArrayElementNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.SetArrayElementsNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.ThrowExceptionNodeGen;
 
 abstract class PolyglotValue extends AbstractValueImpl {
@@ -197,6 +199,49 @@ abstract class PolyglotValue extends AbstractValueImpl {
         throw unsupported(context, receiver, "getArraySize()", "hasArrayElements()");
     }
 
+    @Override
+    public void getArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length) {
+        try {
+            getArrayElementsUnsupported(languageContext, receiver);
+        } catch (Throwable e) {
+            throw PolyglotImpl.guestToHostException((languageContext), e);
+        }
+    }
+
+    @TruffleBoundary
+    static void getArrayElementsUnsupported(PolyglotLanguageContext context, Object receiver) {
+        throw unsupported(context, receiver, "getArrayElements(long, Object, int, int)", "hasArrayElements()");
+    }
+
+    /**
+     * Reports a failed bulk read of an array. The elements could either not be converted to the
+     * component type or one of them exists but is not readable.
+     */
+    @TruffleBoundary
+    static RuntimeException readArrayElementsFailed(PolyglotLanguageContext context, Object receiver, long index, int length, Class<?> componentType) {
+        InteropLibrary arrays = InteropLibrary.getFactory().getUncached(receiver);
+        for (long i = index; i < index + length; i++) {
+            if (!arrays.isArrayElementReadable(receiver, i)) {
+                throw unsupported(context, receiver, String.format("getArrayElements(long, Object, int, int) of the unreadable index %s", i), null);
+            }
+        }
+        throw invalidArrayElements(context, receiver, index, length, componentType);
+    }
+
+    @Override
+    public void setArrayElements(Object receiver, long index, Object source, int sourceOffset, int length) {
+        try {
+            setArrayElementsUnsupported(languageContext, receiver);
+        } catch (Throwable e) {
+            throw PolyglotImpl.guestToHostException((languageContext), e);
+        }
+    }
+
+    @TruffleBoundary
+    static void setArrayElementsUnsupported(PolyglotLanguageContext context, Object receiver) {
+        throw unsupported(context, receiver, "setArrayElements(long, Object, int, int)", "hasArrayElements()");
+    }
+
     @Override
     public Value getMember(Object receiver, String key) {
         try {
@@ -734,6 +779,13 @@ abstract class PolyglotValue extends AbstractValueImpl {
                                         getValueInfo(context, value), getValueInfo(context, receiver), identifier));
     }
 
+    @TruffleBoundary
+    protected static RuntimeException invalidArrayElements(PolyglotLanguageContext context, Object receiver, long index, int length, Class<?> componentType) {
+        throw PolyglotEngineException.classCast(
+                        String.format("Invalid array elements in range [%s, %s + %s) for array %s and Java type '%s'.",
+                                        index, index, length, getValueInfo(context, receiver), componentType.getTypeName()));
+    }
+
     @TruffleBoundary
     protected static RuntimeException invalidMemberKey(PolyglotLanguageContext context, Object receiver, String identifier) {
         String message = String.format("Invalid member key '%s' for object %s.", identifier, getValueInfo(context, receiver));
@@ -967,6 +1019,8 @@ abstract class PolyglotValue extends AbstractValueImpl {
         final CallTarget setArrayElement;
         final CallTarget removeArrayElement;
         final CallTarget getArraySize;
+        final CallTarget getArrayElements;
+        final CallTarget setArrayElements;
         final CallTarget hasMembers;
         final CallTarget hasMember;
         final CallTarget getMember;
@@ -1021,6 +1075,8 @@ abstract class PolyglotValue extends AbstractValueImpl {
             this.setArrayElement = createTarget(SetArrayElementNodeGen.create(this));
             this.removeArrayElement = createTarget(RemoveArrayElementNodeGen.create(this));
             this.getArraySize = createTarget(GetArraySizeNodeGen.create(this));
+            this.getArrayElements = createTarget(GetArrayElementsNodeGen.create(this));
+            this.setArrayElements = createTarget(SetArrayElementsNodeGen.create(this));
             this.hasMember = createTarget(HasMemberNodeGen.create(this));
             this.getMember = createTarget(GetMemberNodeGen.create(this));
             this.putMember = createTarget(PutMemberNodeGen.create(this));
@@ -1585,6 +1641,89 @@ abstract class PolyglotValue extends AbstractValueImpl {
 
         }
 
+        abstract static class GetArrayElementsNode extends InteropNode {
+
+            protected GetArrayElementsNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class, null, Integer.class, Integer.class};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getArrayElements";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary arrays,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidIndex) {
+                long index = (long) args[ARGUMENT_OFFSET];
+                Object destination = args[ARGUMENT_OFFSET + 1];
+                int destinationOffset = (int) args[ARGUMENT_OFFSET + 2];
+                int length = (int) args[ARGUMENT_OFFSET + 3];
+                try {
+                    arrays.readArrayElements(receiver, index, destination, destinationOffset, length);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    if (arrays.hasArrayElements(receiver)) {
+                        throw readArrayElementsFailed(context, receiver, index, length, destination.getClass().getComponentType());
+                    }
+                    getArrayElementsUnsupported(context, receiver);
+                } catch (InvalidArrayIndexException e) {
+                    invalidIndex.enter();
+                    throw invalidArrayIndex(context, receiver, e.getInvalidIndex());
+                }
+                return null;
+            }
+        }
+
+        abstract static class SetArrayElementsNode extends InteropNode {
+
+            protected SetArrayElementsNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class, null, Integer.class, Integer.class};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "setArrayElements";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary arrays,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidIndex,
+                            @Cached BranchProfile invalidValue) {
+                long index = (long) args[ARGUMENT_OFFSET];
+                Object source = args[ARGUMENT_OFFSET + 1];
+                int sourceOffset = (int) args[ARGUMENT_OFFSET + 2];
+                int length = (int) args[ARGUMENT_OFFSET + 3];
+                try {
+                    arrays.writeArrayElements(receiver, index, source, sourceOffset, length);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    setArrayElementsUnsupported(context, receiver);
+                } catch (UnsupportedTypeException e) {
+                    invalidValue.enter();
+                    throw invalidArrayElements(context, receiver, index, length, source.getClass().getComponentType());
+                } catch (InvalidArrayIndexException e) {
+                    invalidIndex.enter();
+                    throw invalidArrayIndex(context, receiver, e.getInvalidIndex());
+                }
+                return null;
+            }
+        }
+
         abstract static class GetArraySizeNode extends InteropNode {
 
             protected GetArraySizeNode(InteropCodeCache interop) {
@@ -2662,6 +2801,16 @@ abstract class PolyglotValue extends AbstractValueImpl {
             return (long) CALL_PROFILED.call(cache.getArraySize, languageContext, receiver);
         }
 
+        @Override
+        public void getArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length) {
+            CALL_PROFILED.call(cache.getArrayElements, languageContext, receiver, index, destination, destinationOffset, length);
+        }
+
+        @Override
+        public void setArrayElements(Object receiver, long index, Object source, int sourceOffset, int length) {
+            CALL_PROFILED.call(cache.setArrayElements, languageContext, receiver, index, source, sourceOffset, length);
+        }
+
         @Override
         public boolean hasMembers(Object receiver) {
             return (boolean) CALL_PROFILED.call(cache.hasMembers, languageContext, receiver);